@@ -1,15 +1,29 @@
 package com.mrivanplays.conversations.base;
 
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.metrics.ConversationMetrics;
+import com.mrivanplays.conversations.base.question.AsyncInputValidator;
+import com.mrivanplays.conversations.base.question.AsyncInputValidator.PendingInputPolicy;
 import com.mrivanplays.conversations.base.question.ChainedQuestion;
 import com.mrivanplays.conversations.base.question.ChainedQuestion.ComputeContext;
 import com.mrivanplays.conversations.base.question.InputValidator;
 import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
+import com.mrivanplays.conversations.base.store.ConversationStore;
+import com.mrivanplays.conversations.base.store.StoredConversation;
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
 import com.mrivanplays.conversations.base.timeout.TimeoutTask;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -36,8 +50,10 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
       Builder<MessageType, SenderType> newBuilder(Conversation<MessageType, SenderType> copy) {
     Builder<MessageType, SenderType> builder = new Builder<>();
     builder.conversationPartner = copy.getConversationPartner();
-    builder.questions = copy.questions;
+    builder.questions.copy(copy.questions, copy.questionGraph, copy.script);
+    builder.template = copy.template;
     builder.doneHandler = copy.doneHandler;
+    builder.doneExecutor = copy.doneExecutor;
     builder.timeoutScheduler = copy.timeoutScheduler;
     builder.conversationManager = copy.conversationManager;
     return builder;
@@ -47,13 +63,33 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
   private final SenderType conversationPartner;
   private final TimeoutScheduler timeoutScheduler;
   private final ChainedQuestion<MessageType, SenderType> questions;
+  private final QuestionGraph<MessageType, SenderType> questionGraph;
+  private final ConversationTemplate<MessageType, SenderType> template;
+  private final ConversationScript<MessageType, SenderType> script;
   private final Consumer<ConversationContext<MessageType, SenderType>> doneHandler;
-  private final Map<String, MessageType> inputs = new LinkedHashMap<>();
+  private final Executor doneExecutor;
+  private final ConversationMetrics metrics;
+  private final boolean timed;
+  private final ConversationListener<MessageType, SenderType>[] listeners;
+  private final ConversationStore<MessageType> store;
+  private final StoredConversation<MessageType> restoreFrom;
+  private final InputSlots<MessageType> inputs;
+  private final SerialExecutor serialExecutor;
+  // messages of a single step, which are sent together
+  private final List<MessageType> outbound = new ArrayList<>(2);
 
-  private boolean ended = false;
+  private volatile boolean ended = false;
+  private volatile boolean awaitingScriptInput = false;
 
-  private TimeoutTask lastTimeoutTask;
+  private TimeoutHandle timeoutHandle;
+  private int questionIndex;
   private Question<MessageType, SenderType> lastQuestion;
+  private ScriptedConversation<MessageType, SenderType> scriptedConversation;
+  private boolean validationInFlight;
+  private boolean held;
+  private long timeoutDeadline = -1;
+  private Queue<ConversationInput<MessageType>> pendingInputs;
+  private long questionSentAt;
 
   private Conversation(Builder<MessageType, SenderType> builder) {
     conversationManager =
@@ -61,15 +97,169 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
     conversationPartner =
         Objects.requireNonNull(builder.conversationPartner, "conversationPartner");
     doneHandler = Objects.requireNonNull(builder.doneHandler, "doneHandler");
-    this.questions = Objects.requireNonNull(builder.questions, "No questions specified");
+    if (builder.questions.isEmpty()) {
+      throw new NullPointerException("No questions specified");
+    }
+    this.questions = builder.questions.getQuestions();
+    this.questionGraph = builder.questions.getQuestionGraph();
+    this.template = builder.template;
+    this.script = builder.questions.getScript();
     this.timeoutScheduler = builder.timeoutScheduler;
+    this.inputs =
+        new InputSlots<>(
+            this.questionGraph != null
+                ? this.questionGraph.getQuestionCount()
+                : this.questions != null ? this.questions.getQuestionCount() : 4);
+    Executor workerPool = conversationManager.getWorkerPool();
+    this.serialExecutor =
+        workerPool != null ? new SerialExecutor(workerPool) : new SerialExecutor();
+    this.doneExecutor =
+        builder.doneExecutor != null
+            ? builder.doneExecutor
+            : conversationManager.getDefaultDoneExecutor();
+    this.metrics = conversationManager.getMetrics();
+    this.timed = this.metrics != ConversationMetrics.NOOP;
+    this.listeners = conversationManager.sampleListeners();
+    // only conversations built from an identified template can be restored
+    ConversationStore<MessageType> store = conversationManager.getStore();
+    this.store =
+        store != null && this.template != null && this.template.getIdentifier() != null
+            ? store
+            : null;
+    this.restoreFrom = builder.restoreFrom;
+    if (this.restoreFrom != null) {
+      if (this.template == null
+          || !this.restoreFrom.getTemplateIdentifier().equals(this.template.getIdentifier())) {
+        throw new IllegalArgumentException(
+            "The stored conversation was not built from the specified template.");
+      }
+      if (!this.restoreFrom
+          .getConversationPartner()
+          .equals(this.conversationPartner.getUniqueIdentifier())) {
+        throw new IllegalArgumentException(
+            "The stored conversation belongs to another conversation partner.");
+      }
+    }
   }
 
   /** Starts the conversation by sending the first question. */
   public void start() {
-    this.lastQuestion = this.questions.getFirstQuestion();
+    start(false);
+  }
+
+  // a conversation reclaimed on the same node carries on the one which got held, hence it is not
+  // started again as far as the metrics and listeners are concerned
+  void start(boolean reclaimed) {
+    if (this.script != null) {
+      this.scriptedConversation = new ScriptedConversation<>(this, this.script);
+      conversationManager.registerConversation(this);
+      metrics.conversationStarted();
+      if (listeners.length != 0) {
+        fire(listener -> listener.onStart(this));
+      }
+      this.scriptedConversation.start();
+      return;
+    }
+    boolean restored = this.restoreFrom != null && replay(this.restoreFrom);
+    if (!restored) {
+      firstQuestion();
+    }
     conversationManager.registerConversation(this);
-    handleQuestion(this.questions.getFirstQuestion());
+    // only recorded once registered, since registering fails if the partner is already into a
+    // conversation, whose records must be left alone
+    if (store != null && !restored) {
+      store.conversationStarted(
+          conversationPartner.getUniqueIdentifier(), this.template.getIdentifier());
+    }
+    if (!reclaimed) {
+      metrics.conversationStarted();
+      if (listeners.length != 0) {
+        fire(listener -> listener.onStart(this));
+      }
+    }
+    if (restored) {
+      if (store != null) {
+        // the store may not have recorded this conversation, e.g. if it was handed off
+        UUID uuid = conversationPartner.getUniqueIdentifier();
+        store.conversationStarted(uuid, this.template.getIdentifier());
+        for (StoredConversation.Answer<MessageType> answer : this.restoreFrom.getAnswers()) {
+          store.inputAccepted(uuid, answer.getQuestionIdentifier(), answer.getInput());
+        }
+      }
+      long timeoutDeadline = this.restoreFrom.getTimeoutDeadline();
+      execute(() -> resume(timeoutDeadline));
+    } else {
+      execute(() -> handleQuestion(this.lastQuestion));
+    }
+  }
+
+  private void firstQuestion() {
+    if (this.questionGraph != null) {
+      this.questionIndex = this.questionGraph.getStart();
+      this.lastQuestion = this.questionGraph.getQuestion(this.questionIndex);
+    } else {
+      this.questionIndex = 0;
+      this.lastQuestion = this.questions.getFirstQuestion();
+    }
+  }
+
+  private boolean replay(StoredConversation<MessageType> stored) {
+    if (this.questionGraph != null && stored.getQuestionIndex() != -1) {
+      int index = stored.getQuestionIndex();
+      if (index >= this.questionGraph.getQuestionCount()
+          || !this.questionGraph
+              .getQuestion(index)
+              .getIdentifier()
+              .equals(stored.getQuestionIdentifier())) {
+        return false;
+      }
+      for (StoredConversation.Answer<MessageType> answer : stored.getAnswers()) {
+        int slot = this.questionGraph.getIndex(answer.getQuestionIdentifier());
+        if (slot != QuestionGraph.END_INDEX) {
+          inputs.put(slot, answer.getQuestionIdentifier(), answer.getInput());
+        }
+      }
+      this.questionIndex = index;
+      this.lastQuestion = this.questionGraph.getQuestion(index);
+      return true;
+    }
+    // walks the stored answers through the questions, without sending or validating anything
+    firstQuestion();
+    for (StoredConversation.Answer<MessageType> answer : stored.getAnswers()) {
+      if (this.lastQuestion == null
+          || !this.lastQuestion.getIdentifier().equals(answer.getQuestionIdentifier())) {
+        // the template has changed since
+        inputs.clear();
+        return false;
+      }
+      inputs.put(this.questionIndex, answer.getQuestionIdentifier(), answer.getInput());
+      this.lastQuestion = nextQuestion(answer.getInput(), null);
+    }
+    if (this.lastQuestion == null
+        || (stored.getQuestionIdentifier() != null
+            && !this.lastQuestion.getIdentifier().equals(stored.getQuestionIdentifier()))) {
+      inputs.clear();
+      return false;
+    }
+    return true;
+  }
+
+  private void resume(long timeoutDeadline) {
+    if (ended) {
+      return;
+    }
+    Question<MessageType, SenderType> question = this.lastQuestion;
+    if (timeoutDeadline != -1 && question.getTimeout() != -1 && timeoutScheduler != null) {
+      // the time the conversation was down for counts towards the timeout
+      long remaining = timeoutDeadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        timeOut(question);
+      } else {
+        handleQuestion(question, remaining, TimeUnit.MILLISECONDS);
+      }
+      return;
+    }
+    handleQuestion(question);
   }
 
   /**
@@ -81,6 +271,15 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
     return ended;
   }
 
+  /**
+   * Returns the {@link ConversationTemplate} this conversation was built from. Could be null.
+   *
+   * @return template
+   */
+  public ConversationTemplate<MessageType, SenderType> getTemplate() {
+    return template;
+  }
+
   /**
    * Returns the conversation partner of this conversation.
    *
@@ -91,83 +290,553 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
   }
 
   /**
-   * Handles the specified {@code message} input.
+   * Handles the specified {@code message} input. If the parent {@link ConversationManager} has a
+   * {@link ConversationManager#setWorkerPool(Executor) worker pool} set, the input is handled
+   * asynchronously, in order with any other work for this conversation. Otherwise, it is handled on
+   * the calling thread, unless another thread is doing work for this conversation at the time, in
+   * which case that thread handles it right after.
    *
    * @param message input to handle
    */
   public void acceptInput(MessageType message) {
-    if (lastTimeoutTask != null) {
-      if (lastTimeoutTask.hasCalled()) {
-        ended = true;
-        conversationManager.unregisterConversation(conversationPartner.getUniqueIdentifier());
-      } else {
-        lastTimeoutTask.cancel();
+    if (serialExecutor.tryEnter()) {
+      // nobody else is doing work for this conversation, so skip the queue
+      try {
+        handleInput(message, null);
+      } finally {
+        serialExecutor.exit();
       }
+    } else {
+      serialExecutor.execute(() -> handleInput(message, null));
     }
-    if (ended) {
+  }
+
+  /**
+   * Handles the specified {@code input}, the same way as {@link #acceptInput(Object)} does. The
+   * message form of the input is only built if a validator, listener, handler or the question
+   * definition asks for it.
+   *
+   * @param input input to handle
+   */
+  public void acceptInput(ConversationInput<MessageType> input) {
+    Objects.requireNonNull(input, "input");
+    if (serialExecutor.tryEnter()) {
+      try {
+        handleInput(null, input);
+      } finally {
+        serialExecutor.exit();
+      }
+    } else {
+      serialExecutor.execute(() -> handleInput(null, input));
+    }
+  }
+
+  private void execute(Runnable task) {
+    serialExecutor.execute(task);
+  }
+
+  // exactly one of message and input is non-null: inputs which come in already built aren't
+  // wrapped, so that the common path doesn't allocate
+  private void handleInput(MessageType message, ConversationInput<MessageType> input) {
+    if (ended || held) {
+      return;
+    }
+    if (validationInFlight) {
+      if (this.lastQuestion.getPendingInputPolicy() == PendingInputPolicy.QUEUE) {
+        if (pendingInputs == null) {
+          pendingInputs = new ArrayDeque<>();
+        }
+        pendingInputs.offer(input != null ? input : ConversationInput.of(message));
+      }
+      return;
+    }
+    if (script != null && !awaitingScriptInput) {
+      // the script is not waiting for an answer to anything
+      return;
+    }
+    TimeoutHandle timeoutHandle = this.timeoutHandle;
+    if (timeoutHandle != null && timeoutHandle.task != null && timeoutHandle.task.hasCalled()) {
+      // the timeout is either running or queued to run, it will end this conversation
+      return;
+    }
+    if (timed) {
+      metrics.responseTime(this.lastQuestion.getIdentifier(), System.nanoTime() - questionSentAt);
+    }
+    if (this.lastQuestion.getAsyncInputValidator() != null) {
+      validateAsync(this.lastQuestion.getAsyncInputValidator(), message, input);
       return;
     }
     if (this.lastQuestion.getInputValidator() != null) {
+      long validationStartedAt = timed ? System.nanoTime() : 0;
+      InputValidator<MessageType> validator = this.lastQuestion.getInputValidator();
       InputValidator.ValidationResult<MessageType> validationResult =
-          this.lastQuestion.getInputValidator().validate(message);
+          input != null ? validator.validate(input) : validator.validate(message);
+      if (timed) {
+        metrics.validationTime(
+            this.lastQuestion.getIdentifier(), System.nanoTime() - validationStartedAt);
+      }
       if (!validationResult.isSuccessful()) {
-        conversationPartner.sendMessage(validationResult.getErrorMessage());
-        if (validationResult.shallAskQuestionAgain()) {
-          conversationPartner.sendMessage(this.lastQuestion.getMessage());
-        } else if (validationResult.shallCallDoneState()) {
-          ended = true;
-          conversationManager.unregisterConversation(conversationPartner.getUniqueIdentifier());
-          doneHandler.accept(
-              ConversationContext.of(
-                  conversationPartner,
-                  inputs,
-                  EndState.INPUT_VALIDATION_HANDLER_FAIL,
-                  this.lastQuestion.getIdentifier()));
-        }
+        handleInvalidInput(message, input, validationResult);
         return;
       }
     }
-    inputs.put(this.lastQuestion.getIdentifier(), message);
-    Question<MessageType, SenderType> nextQuestion =
-        this.questions.getNextQuestion(
-            new ComputeContext<>(this.lastQuestion, message, this.conversationPartner));
+    handleValidInput(message, input);
+  }
+
+  private void validateAsync(
+      AsyncInputValidator<MessageType> validator,
+      MessageType message,
+      ConversationInput<MessageType> input) {
+    Question<MessageType, SenderType> question = this.lastQuestion;
+    long validationStartedAt = timed ? System.nanoTime() : 0;
+    CompletionStage<InputValidator.ValidationResult<MessageType>> stage =
+        validator.validate(messageOf(message, input));
+    validationInFlight = true;
+    stage.whenComplete(
+        (result, error) ->
+            execute(
+                () ->
+                    handleValidated(
+                        question, message, input, validationStartedAt, result, error)));
+  }
+
+  private void handleValidated(
+      Question<MessageType, SenderType> question,
+      MessageType message,
+      ConversationInput<MessageType> input,
+      long validationStartedAt,
+      InputValidator.ValidationResult<MessageType> result,
+      Throwable error) {
+    validationInFlight = false;
+    if (timed) {
+      metrics.validationTime(question.getIdentifier(), System.nanoTime() - validationStartedAt);
+    }
+    if (ended || held || question != this.lastQuestion) {
+      return;
+    }
+    if (error == null && result == null) {
+      error = new NullPointerException("validation result");
+    }
+    if (error != null) {
+      end(EndState.UNKNOWN, question.getIdentifier());
+      Thread current = Thread.currentThread();
+      current.getUncaughtExceptionHandler().uncaughtException(current, error);
+      return;
+    }
+    if (result.isSuccessful()) {
+      handleValidInput(message, input);
+    } else {
+      handleInvalidInput(message, input, result);
+    }
+    if (pendingInputs != null) {
+      ConversationInput<MessageType> pending;
+      while (!validationInFlight && (pending = pendingInputs.poll()) != null) {
+        handleInput(null, pending);
+      }
+    }
+  }
+
+  private void handleInvalidInput(
+      MessageType message,
+      ConversationInput<MessageType> input,
+      InputValidator.ValidationResult<MessageType> validationResult) {
+    Question<MessageType, SenderType> question = this.lastQuestion;
+    metrics.validationFailed(question.getIdentifier());
+    if (listeners.length != 0) {
+      fireValidationFailed(question, messageOf(message, input), validationResult);
+    }
+    if (validationResult.shallAskQuestionAgain()) {
+      // the error and the question go out together
+      outbound.add(validationResult.getErrorMessage());
+      outbound.add(renderQuestion(this.lastQuestion));
+      try {
+        conversationPartner.sendMessages(outbound);
+      } finally {
+        outbound.clear();
+      }
+      if (listeners.length != 0) {
+        fireReask(question);
+      }
+      if (timed) {
+        questionSentAt = System.nanoTime();
+      }
+      return;
+    }
+    conversationPartner.sendMessage(validationResult.getErrorMessage());
+    if (validationResult.shallCallDoneState()) {
+      end(EndState.INPUT_VALIDATION_HANDLER_FAIL, this.lastQuestion.getIdentifier());
+    }
+  }
+
+  private void handleValidInput(MessageType message, ConversationInput<MessageType> input) {
+    // scripts have no definition to take the slot from
+    int slot = script == null ? this.questionIndex : -1;
+    if (input != null) {
+      inputs.putInput(slot, this.lastQuestion.getIdentifier(), input);
+    } else {
+      inputs.put(slot, this.lastQuestion.getIdentifier(), message);
+    }
+    if (store != null) {
+      store.inputAccepted(
+          conversationPartner.getUniqueIdentifier(),
+          this.lastQuestion.getIdentifier(),
+          messageOf(message, input));
+    }
+    if (listeners.length != 0) {
+      fireInputAccepted(this.lastQuestion, messageOf(message, input));
+    }
+    if (script != null) {
+      // the script may take its time until the next question, so this one shall not time out
+      awaitingScriptInput = false;
+      cancelTimeout();
+      scriptedConversation.deliver(messageOf(message, input));
+      return;
+    }
+    Question<MessageType, SenderType> nextQuestion = nextQuestion(message, input);
     if (nextQuestion == null) {
-      ended = true;
-      conversationManager.unregisterConversation(conversationPartner.getUniqueIdentifier());
-      doneHandler.accept(
-          ConversationContext.of(conversationPartner, inputs, EndState.SUCCESS, null));
+      end(EndState.SUCCESS, null);
     } else {
       this.lastQuestion = nextQuestion;
       handleQuestion(nextQuestion);
     }
   }
 
-  private void handleQuestion(Question<MessageType, SenderType> question) {
-    conversationPartner.sendMessage(question.getMessage());
-    if (question.getTimeout() != -1 && timeoutScheduler != null) {
-      lastTimeoutTask =
-          timeoutScheduler.schedule(
-              () -> {
-                doneHandler.accept(
-                    ConversationContext.of(
-                        conversationPartner, inputs, EndState.TIMEOUT, question.getIdentifier()));
-                if (question.getWhenTimeout() != null) {
-                  question.getWhenTimeout().accept(conversationPartner);
-                }
-              },
-              question.getTimeout(),
-              question.getTimeoutUnit());
+  private static <MessageType> MessageType messageOf(
+      MessageType message, ConversationInput<MessageType> input) {
+    return message != null ? message : input.getMessage();
+  }
+
+  private Question<MessageType, SenderType> nextQuestion(
+      MessageType message, ConversationInput<MessageType> input) {
+    if (this.questionGraph != null) {
+      // transitions match against the message form
+      int next = this.questionGraph.transition(this.questionIndex, messageOf(message, input));
+      if (next == QuestionGraph.END_INDEX) {
+        return null;
+      }
+      this.questionIndex = next;
+      return this.questionGraph.getQuestion(next);
     }
+    if (this.questionIndex + 1 >= this.questions.getQuestionCount()) {
+      return null;
+    }
+    ComputeContext<MessageType, SenderType> context =
+        input != null
+            ? new ComputeContext<>(this.lastQuestion, input, this.conversationPartner)
+            : new ComputeContext<>(this.lastQuestion, message, this.conversationPartner);
+    Question<MessageType, SenderType> next =
+        this.questions.getQuestion(this.questionIndex + 1, context);
+    if (next != null) {
+      this.questionIndex++;
+    }
+    return next;
   }
 
-  void callDoneState(EndState endState) {
+  void ask(Question<MessageType, SenderType> question) {
+    execute(
+        () -> {
+          if (ended) {
+            scriptedConversation.wake();
+            return;
+          }
+          this.lastQuestion = question;
+          // the answer may come in as soon as the question is sent
+          awaitingScriptInput = true;
+          handleQuestion(question);
+          if (!awaitingScriptInput) {
+            // it was answered on another thread before the timeout got scheduled
+            cancelTimeout();
+          }
+        });
+  }
+
+  void scriptDone(Throwable error) {
+    execute(
+        () -> {
+          if (ended) {
+            return;
+          }
+          if (error == null) {
+            end(EndState.SUCCESS, null);
+          } else {
+            end(EndState.UNKNOWN, lastQuestionIdentifier());
+          }
+        });
+  }
+
+  private String lastQuestionIdentifier() {
+    return this.lastQuestion != null ? this.lastQuestion.getIdentifier() : null;
+  }
+
+  private void sendQuestion(Question<MessageType, SenderType> question) {
+    if (question.getMessageTemplate() != null) {
+      conversationPartner.sendMessage(renderQuestion(question));
+    } else {
+      conversationPartner.sendQuestion(question);
+    }
+  }
+
+  private MessageType renderQuestion(Question<MessageType, SenderType> question) {
+    MessageTemplate<MessageType, SenderType> template = question.getMessageTemplate();
+    if (template != null) {
+      return template.render(conversationPartner, inputs::get);
+    }
+    return conversationPartner.renderQuestion(question);
+  }
+
+  private void handleQuestion(Question<MessageType, SenderType> question) {
+    handleQuestion(question, question.getTimeout(), question.getTimeoutUnit());
+  }
+
+  private void handleQuestion(
+      Question<MessageType, SenderType> question, long timeout, TimeUnit timeoutUnit) {
     if (ended) {
       return;
     }
+    sendQuestion(question);
+    if (listeners.length != 0) {
+      fireQuestionSent(question);
+    }
+    if (timed) {
+      questionSentAt = System.nanoTime();
+    }
+    long timeoutDeadline = -1;
+    if (timeout != -1 && timeoutScheduler != null) {
+      scheduleTimeout(timeout, timeoutUnit);
+      timeoutDeadline = System.currentTimeMillis() + timeoutUnit.toMillis(timeout);
+    } else {
+      cancelTimeout();
+    }
+    this.timeoutDeadline = timeoutDeadline;
+    if (store != null) {
+      store.questionAsked(
+          conversationPartner.getUniqueIdentifier(), question.getIdentifier(), timeoutDeadline);
+    }
+  }
+
+  private void scheduleTimeout(long time, TimeUnit timeUnit) {
+    // the same timeout task is reused throughout the conversation, if the scheduler supports it
+    TimeoutHandle handle = this.timeoutHandle;
+    if (handle != null) {
+      if (handle.task != null && handle.task.reschedule(time, timeUnit)) {
+        return;
+      }
+      cancelTimeout();
+    }
+    handle = new TimeoutHandle();
+    this.timeoutHandle = handle;
+    metrics.timeoutStarted();
+    handle.task = timeoutScheduler.schedule(handle, time, timeUnit);
+  }
+
+  private void handleTimeout(TimeoutHandle handle) {
+    // a handle which got replaced fired right as its question got answered
+    if (ended || handle != this.timeoutHandle) {
+      return;
+    }
+    this.timeoutHandle = null;
+    metrics.timeoutStopped();
+    timeOut(this.lastQuestion);
+  }
+
+  private void timeOut(Question<MessageType, SenderType> question) {
+    if (listeners.length != 0) {
+      fire(listener -> listener.onTimeout(this, question));
+    }
+    end(EndState.TIMEOUT, question.getIdentifier());
+    if (question.getWhenTimeout() != null) {
+      question.getWhenTimeout().accept(conversationPartner);
+    }
+  }
+
+  private void cancelTimeout() {
+    TimeoutHandle handle = this.timeoutHandle;
+    if (handle != null) {
+      this.timeoutHandle = null;
+      metrics.timeoutStopped();
+      if (handle.task != null) {
+        handle.task.cancel();
+      }
+    }
+  }
+
+  private void end(EndState endState, String questionIdentifierEndedOn) {
+    end(endState, questionIdentifierEndedOn, true);
+  }
+
+  private void end(EndState endState, String questionIdentifierEndedOn, boolean callDoneHandler) {
     ended = true;
-    doneHandler.accept(
-        ConversationContext.of(
-            conversationPartner, inputs, endState, this.lastQuestion.getIdentifier()));
+    awaitingScriptInput = false;
+    cancelTimeout();
+    conversationManager.unregisterConversation(this);
+    if (store != null) {
+      store.conversationEnded(conversationPartner.getUniqueIdentifier());
+    }
+    metrics.conversationEnded(endState);
+    if (listeners.length != 0) {
+      fire(listener -> listener.onEnd(this, endState));
+    }
+    if (scriptedConversation != null) {
+      scriptedConversation.wake();
+    }
+    if (!callDoneHandler) {
+      return;
+    }
+    ConversationContext<MessageType, SenderType> context =
+        ConversationContext.of(conversationPartner, inputs, endState, questionIdentifierEndedOn);
+    if (doneExecutor == null) {
+      doneHandler.accept(context);
+    } else {
+      doneExecutor.execute(() -> doneHandler.accept(context));
+    }
+  }
+
+  private void fire(Consumer<ConversationListener<MessageType, SenderType>> event) {
+    for (ConversationListener<MessageType, SenderType> listener : listeners) {
+      try {
+        event.accept(listener);
+      } catch (Throwable t) {
+        listenerFailed(t);
+      }
+    }
+  }
+
+  // the events fired for every input call the listeners directly, rather than through a
+  // capturing lambda, so that observing conversations doesn't allocate per input
+
+  private void fireQuestionSent(Question<MessageType, SenderType> question) {
+    for (ConversationListener<MessageType, SenderType> listener : listeners) {
+      try {
+        listener.onQuestionSent(this, question);
+      } catch (Throwable t) {
+        listenerFailed(t);
+      }
+    }
+  }
+
+  private void fireInputAccepted(Question<MessageType, SenderType> question, MessageType input) {
+    for (ConversationListener<MessageType, SenderType> listener : listeners) {
+      try {
+        listener.onInputAccepted(this, question, input);
+      } catch (Throwable t) {
+        listenerFailed(t);
+      }
+    }
+  }
+
+  private void fireValidationFailed(
+      Question<MessageType, SenderType> question,
+      MessageType input,
+      InputValidator.ValidationResult<MessageType> validationResult) {
+    for (ConversationListener<MessageType, SenderType> listener : listeners) {
+      try {
+        listener.onValidationFailed(this, question, input, validationResult);
+      } catch (Throwable t) {
+        listenerFailed(t);
+      }
+    }
+  }
+
+  private void fireReask(Question<MessageType, SenderType> question) {
+    for (ConversationListener<MessageType, SenderType> listener : listeners) {
+      try {
+        listener.onReask(this, question);
+      } catch (Throwable t) {
+        listenerFailed(t);
+      }
+    }
+  }
+
+  private static void listenerFailed(Throwable t) {
+    Thread current = Thread.currentThread();
+    current.getUncaughtExceptionHandler().uncaughtException(current, t);
+  }
+
+  void callDoneState(EndState endState) {
+    execute(
+        () -> {
+          if (ended) {
+            return;
+          }
+          end(endState, lastQuestionIdentifier());
+        });
+  }
+
+  boolean canHandOff() {
+    return script == null && template != null && template.getIdentifier() != null;
+  }
+
+  TimeoutScheduler getTimeoutScheduler() {
+    return timeoutScheduler;
+  }
+
+  CompletionStage<StoredConversation<MessageType>> hold() {
+    CompletableFuture<StoredConversation<MessageType>> state = new CompletableFuture<>();
+    execute(
+        () -> {
+          if (ended || held) {
+            state.complete(null);
+            return;
+          }
+          // the partner is gone, but the conversation is not over until the grace window is
+          held = true;
+          cancelTimeout();
+          conversationManager.unregisterConversation(this);
+          List<StoredConversation.Answer<MessageType>> answers =
+              new ArrayList<>(inputs.count());
+          inputs.forEach(
+              (identifier, input) ->
+                  answers.add(new StoredConversation.Answer<>(identifier, input)));
+          state.complete(
+              new StoredConversation<>(
+                  conversationPartner.getUniqueIdentifier(),
+                  template.getIdentifier(),
+                  answers,
+                  lastQuestionIdentifier(),
+                  questionGraph != null ? questionIndex : -1,
+                  timeoutDeadline));
+        });
+    return state;
+  }
+
+  CompletionStage<Void> handedOff() {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+    execute(
+        () -> {
+          if (!ended) {
+            // the conversation goes on elsewhere, which is where its done handler gets called
+            end(EndState.PARTNER_DISCONNECT, lastQuestionIdentifier(), false);
+          }
+          done.complete(null);
+        });
+    return done;
+  }
+
+  CompletionStage<Boolean> reclaimed() {
+    CompletableFuture<Boolean> done = new CompletableFuture<>();
+    execute(
+        () -> {
+          if (ended) {
+            done.complete(false);
+            return;
+          }
+          // the conversation goes on in the one reclaiming it, on this node, which takes over its
+          // records, hence it ends without a trace. holding it already stopped the timeout and
+          // unregistered it
+          ended = true;
+          done.complete(true);
+        });
+    return done;
+  }
+
+  private final class TimeoutHandle implements Runnable {
+
+    private TimeoutTask task;
+
+    @Override
+    public void run() {
+      execute(() -> handleTimeout(this));
+    }
   }
 
   /**
@@ -182,8 +851,10 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
     private ConversationManager<MessageType, SenderType> conversationManager;
     private TimeoutScheduler timeoutScheduler;
     private Consumer<ConversationContext<MessageType, SenderType>> doneHandler;
-    private ChainedQuestion<MessageType, SenderType> questions;
-    private boolean chainedCalled = false;
+    private Executor doneExecutor;
+    private final QuestionSource<MessageType, SenderType> questions = new QuestionSource<>();
+    private ConversationTemplate<MessageType, SenderType> template;
+    private StoredConversation<MessageType> restoreFrom;
 
     private Builder() {}
 
@@ -213,6 +884,23 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
       return this;
     }
 
+    /**
+     * Specify the {@link Executor} the done handler runs on. The conversation is still unregistered
+     * straight away, on the thread which ended it, but the handler runs on the specified executor,
+     * keeping heavy result processing, e.g. database writes, off the chat, network or main server
+     * threads. If not specified, the {@link ConversationManager#setDefaultDoneExecutor(Executor)
+     * manager's default} is used, and if there isn't one, the handler runs on the thread which
+     * ended the conversation.
+     *
+     * @param executor done handler executor
+     * @return this instance for chaining
+     * @see #whenDone(Consumer)
+     */
+    public Builder<MessageType, SenderType> whenDoneAsync(Executor executor) {
+      this.doneExecutor = Objects.requireNonNull(executor, "executor");
+      return this;
+    }
+
     /**
      * Specify the conversation partner of the built conversation.
      *
@@ -237,6 +925,29 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
       return this;
     }
 
+    /**
+     * Specify a {@link ConversationTemplate} to build the conversation from. The questions are
+     * taken from the template, as well as the done handler and the {@link TimeoutScheduler} if
+     * the template has them specified. The template is shared, not copied.
+     *
+     * @param val template
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if questions have already been specified
+     */
+    public Builder<MessageType, SenderType> fromTemplate(
+        ConversationTemplate<MessageType, SenderType> val) {
+      Objects.requireNonNull(val, "template");
+      this.questions.fromTemplate(val);
+      this.template = val;
+      if (val.getDoneHandler() != null) {
+        this.doneHandler = val.getDoneHandler();
+      }
+      if (val.getTimeoutScheduler() != null) {
+        this.timeoutScheduler = val.getTimeoutScheduler();
+      }
+      return this;
+    }
+
     /**
      * Specify a {@link ChainedQuestion} to be sent to the conversation partner.
      *
@@ -249,12 +960,7 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
      */
     public Builder<MessageType, SenderType> chainedQuestions(
         ChainedQuestion<MessageType, SenderType> val) {
-      if (this.questions != null) {
-        throw new IllegalArgumentException(
-            "Questions cannot be chained since withQuestion has already been called. Either choose chained or non-chained questions.");
-      }
-      this.questions = val;
-      this.chainedCalled = true;
+      questions.chainedQuestions(val);
       return this;
     }
 
@@ -269,15 +975,42 @@ public final class Conversation<MessageType, SenderType extends ConversationPart
      *     simultaneously.
      */
     public Builder<MessageType, SenderType> withQuestion(Question<MessageType, SenderType> val) {
-      if (questions == null) {
-        questions = new ChainedQuestion<>(val);
-      } else {
-        if (chainedCalled) {
-          throw new IllegalArgumentException(
-              "Questions are chained. withQuestion does not work when chainedQuestions is already been called");
-        }
-        questions.addQuestion(($) -> val);
-      }
+      questions.withQuestion(val);
+      return this;
+    }
+
+    /**
+     * Specify a {@link QuestionGraph} to walk the conversation partner through.
+     *
+     * @param val question graph
+     * @return this instance for chaining
+     * @see QuestionGraph
+     * @throws IllegalArgumentException if questions have already been specified. Question graphs
+     *     cannot be combined with chained or non-chained questions.
+     */
+    public Builder<MessageType, SenderType> withQuestionGraph(
+        QuestionGraph<MessageType, SenderType> val) {
+      questions.withQuestionGraph(val);
+      return this;
+    }
+
+    /**
+     * Specify a {@link ConversationScript} to run the conversation by, instead of questions.
+     *
+     * @param val script
+     * @return this instance for chaining
+     * @see ConversationScript
+     * @throws IllegalArgumentException if questions have already been specified. Scripts cannot
+     *     be combined with questions.
+     */
+    public Builder<MessageType, SenderType> withScript(
+        ConversationScript<MessageType, SenderType> val) {
+      questions.withScript(val);
+      return this;
+    }
+
+    Builder<MessageType, SenderType> restoreFrom(StoredConversation<MessageType> val) {
+      this.restoreFrom = val;
       return this;
     }
 
@@ -1,11 +1,16 @@
 package com.mrivanplays.conversations.base;
 
 import com.mrivanplays.conversations.base.question.Question;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
  * Represents a ended {@link Conversation}'s context.
  *
+ * <p>A context is an immutable snapshot of the conversation's inputs, hence it is safe to pass it
+ * to other threads.
+ *
  * @author MrIvanPlays
  */
 public final class ConversationContext<
@@ -15,7 +20,7 @@ public final class ConversationContext<
    * Create a new {@link ConversationContext}
    *
    * @param conversationPartner conversation partner
-   * @param inputs question answers
+   * @param inputs question answers. copied
    * @param endState how did the conversation end
    * @param questionIdentifierEndedOn the question on which the conversation ended by a timeout on.
    *     could be null
@@ -29,23 +34,50 @@ public final class ConversationContext<
           Map<String, MessageType> inputs,
           EndState endState,
           String questionIdentifierEndedOn) {
+    String[] identifiers = new String[inputs.size()];
+    Object[] values = new Object[inputs.size()];
+    int i = 0;
+    for (Map.Entry<String, MessageType> input : inputs.entrySet()) {
+      identifiers[i] = input.getKey();
+      values[i++] = input.getValue();
+    }
+    return new ConversationContext<>(
+        conversationPartner, identifiers, values, null, endState, questionIdentifierEndedOn);
+  }
+
+  static <MessageType, SenderType extends ConversationPartner<MessageType>>
+      ConversationContext<MessageType, SenderType> of(
+          SenderType conversationPartner,
+          InputSlots<MessageType> inputs,
+          EndState endState,
+          String questionIdentifierEndedOn) {
+    String[] identifiers = new String[inputs.count()];
+    Object[] values = new Object[identifiers.length];
+    ConversationInput<MessageType>[] views = inputs.copyInto(identifiers, values);
     return new ConversationContext<>(
-        conversationPartner, inputs, endState, questionIdentifierEndedOn);
+        conversationPartner, identifiers, values, views, endState, questionIdentifierEndedOn);
   }
 
   private final SenderType conversationPartner;
   private final EndState endState;
   private final String questionIdentifierEndedOn;
-  private final Map<String, MessageType> inputs;
+  private final String[] identifiers;
+  private final Object[] values;
+  // inputs which came in as a ConversationInput, at the position of their value. null if none
+  private final ConversationInput<MessageType>[] views;
 
   private ConversationContext(
       SenderType conversationPartner,
-      Map<String, MessageType> inputs,
+      String[] identifiers,
+      Object[] values,
+      ConversationInput<MessageType>[] views,
       EndState endState,
       String questionIdentifierEndedOn) {
     this.conversationPartner = conversationPartner;
     this.endState = endState;
-    this.inputs = inputs;
+    this.identifiers = identifiers;
+    this.values = values;
+    this.views = views;
     this.questionIdentifierEndedOn = questionIdentifierEndedOn;
   }
 
@@ -66,7 +98,60 @@ public final class ConversationContext<
    *     question (or this question) has their timeout triggered.
    */
   public MessageType getInput(String questionIdentifier) {
-    return inputs.get(questionIdentifier);
+    int i = indexOf(questionIdentifier);
+    return i != -1 ? messageAt(i) : null;
+  }
+
+  /**
+   * Returns the answer of the {@link Question}, matching the specified {@code questionIdentifier},
+   * in whichever form it is needed. Unlike {@link #getInput(String)}, this doesn't build the
+   * message form of an answer which came in raw.
+   *
+   * @param questionIdentifier question identifier
+   * @return answer. could be null, in the same cases {@link #getInput(String)} could return null.
+   */
+  @SuppressWarnings("unchecked")
+  public ConversationInput<MessageType> getConversationInput(String questionIdentifier) {
+    int i = indexOf(questionIdentifier);
+    if (i == -1) {
+      return null;
+    }
+    if (views != null && views[i] != null) {
+      return views[i];
+    }
+    return ConversationInput.of((MessageType) values[i]);
+  }
+
+  private int indexOf(String questionIdentifier) {
+    // the latest input wins, if a question got asked more than once
+    for (int i = identifiers.length - 1; i >= 0; i--) {
+      if (identifiers[i].equals(questionIdentifier)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  private MessageType messageAt(int i) {
+    if (views != null && views[i] != null) {
+      return views[i].getMessage();
+    }
+    return (MessageType) values[i];
+  }
+
+  /**
+   * Returns all the answers, mapped by the identifiers of their {@link Question questions}, in the
+   * order the questions were first answered. The returned map is a copy, and can't be modified.
+   *
+   * @return answers
+   */
+  public Map<String, MessageType> getInputs() {
+    Map<String, MessageType> inputs = new LinkedHashMap<>(identifiers.length * 2);
+    for (int i = 0; i < identifiers.length; i++) {
+      inputs.put(identifiers[i], messageAt(i));
+    }
+    return Collections.unmodifiableMap(inputs);
   }
 
   /**
@@ -0,0 +1,104 @@
+package com.mrivanplays.conversations.base;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Represents an input of a {@link Conversation}, in whichever forms it is needed.
+ *
+ * <p>Chat messages come in as raw strings, whilst the message type of a conversation is often a
+ * rich one, e.g. a component, which takes parsing to build. An input created through {@link
+ * #ofRaw(String, Function)} keeps the raw string and only parses it once the message form is
+ * asked for, at most once, so that validators and handlers which only need the raw text don't pay
+ * for a parse and serialize round trip.
+ *
+ * <p>Inputs are immutable, hence safe to share between threads.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ * @see ConversationManager#tryAcceptInput(java.util.UUID, String, Function)
+ */
+public final class ConversationInput<MessageType> {
+
+  /**
+   * Creates a new {@link ConversationInput} of the specified, already built, {@code message}. The
+   * input has no raw form.
+   *
+   * @param message message
+   * @param <MessageType> message type generic
+   * @return input
+   */
+  public static <MessageType> ConversationInput<MessageType> of(MessageType message) {
+    return new ConversationInput<>(null, null, Objects.requireNonNull(message, "message"));
+  }
+
+  /**
+   * Creates a new {@link ConversationInput} of the specified {@code raw} string, which is turned
+   * into the message form by the specified {@code parser} on first use.
+   *
+   * @param raw raw input
+   * @param parser parser of the raw input into the message form
+   * @param <MessageType> message type generic
+   * @return input
+   */
+  public static <MessageType> ConversationInput<MessageType> ofRaw(
+      String raw, Function<? super String, ? extends MessageType> parser) {
+    return new ConversationInput<>(
+        Objects.requireNonNull(raw, "raw"), Objects.requireNonNull(parser, "parser"), null);
+  }
+
+  private final String raw;
+  private Function<? super String, ? extends MessageType> parser;
+  private volatile MessageType message;
+
+  private ConversationInput(
+      String raw, Function<? super String, ? extends MessageType> parser, MessageType message) {
+    this.raw = raw;
+    this.parser = parser;
+    this.message = message;
+  }
+
+  /**
+   * Returns the raw form of this input. Null if this input was created from a message.
+   *
+   * @return raw input or null
+   */
+  public String getRaw() {
+    return raw;
+  }
+
+  /**
+   * Returns the message form of this input, parsing the raw form if it hasn't been yet.
+   *
+   * @return message
+   */
+  public MessageType getMessage() {
+    MessageType message = this.message;
+    if (message == null) {
+      synchronized (this) {
+        message = this.message;
+        if (message == null) {
+          message = Objects.requireNonNull(parser.apply(raw), "parsed message");
+          this.message = message;
+          // not needed anymore
+          this.parser = null;
+        }
+      }
+    }
+    return message;
+  }
+
+  /**
+   * Returns whether the message form of this input has been built.
+   *
+   * @return whether parsed
+   */
+  public boolean isParsed() {
+    return message != null;
+  }
+
+  @Override
+  public String toString() {
+    return raw != null ? raw : String.valueOf(message);
+  }
+}
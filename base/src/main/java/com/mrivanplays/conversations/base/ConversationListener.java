@@ -0,0 +1,92 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+
+/**
+ * Represents a listener of {@link Conversation} lifecycle events. Registered through {@link
+ * ConversationManager#addListener(ConversationListener)}.
+ *
+ * <p>The methods are called on the threads the conversations do their work on, in order for each
+ * conversation. Exceptions thrown by listeners are reported to the thread's uncaught exception
+ * handler and do not affect the conversation. All methods do nothing by default.
+ *
+ * @param <MessageType> message type generic
+ * @param <SenderType> sender type (partner type) generic
+ * @author MrIvanPlays
+ */
+public interface ConversationListener<
+    MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  /**
+   * Called when a conversation starts.
+   *
+   * @param conversation conversation
+   */
+  default void onStart(Conversation<MessageType, SenderType> conversation) {}
+
+  /**
+   * Called when a question is sent to the conversation partner.
+   *
+   * @param conversation conversation
+   * @param question question sent
+   */
+  default void onQuestionSent(
+      Conversation<MessageType, SenderType> conversation,
+      Question<MessageType, SenderType> question) {}
+
+  /**
+   * Called when an input is accepted as the answer of a question.
+   *
+   * @param conversation conversation
+   * @param question question answered
+   * @param input input
+   */
+  default void onInputAccepted(
+      Conversation<MessageType, SenderType> conversation,
+      Question<MessageType, SenderType> question,
+      MessageType input) {}
+
+  /**
+   * Called when an input fails the validation of a question.
+   *
+   * @param conversation conversation
+   * @param question question the input is for
+   * @param input input
+   * @param result validation result
+   */
+  default void onValidationFailed(
+      Conversation<MessageType, SenderType> conversation,
+      Question<MessageType, SenderType> question,
+      MessageType input,
+      ValidationResult<MessageType> result) {}
+
+  /**
+   * Called when a question is sent again, after an input failed its validation.
+   *
+   * @param conversation conversation
+   * @param question question sent again
+   */
+  default void onReask(
+      Conversation<MessageType, SenderType> conversation,
+      Question<MessageType, SenderType> question) {}
+
+  /**
+   * Called when a question times out, right before the conversation ends.
+   *
+   * @param conversation conversation
+   * @param question question timed out
+   */
+  default void onTimeout(
+      Conversation<MessageType, SenderType> conversation,
+      Question<MessageType, SenderType> question) {}
+
+  /**
+   * Called when a conversation ends, before the done handler is called.
+   *
+   * @param conversation conversation
+   * @param endState how did the conversation end
+   */
+  default void onEnd(Conversation<MessageType, SenderType> conversation, EndState endState) {}
+}
@@ -1,19 +1,522 @@
 package com.mrivanplays.conversations.base;
 
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
-import java.util.HashMap;
-import java.util.Map;
+import com.mrivanplays.conversations.base.handoff.ConversationStateCodec;
+import com.mrivanplays.conversations.base.handoff.ConversationTransport;
+import com.mrivanplays.conversations.base.metrics.ConversationMetrics;
+import com.mrivanplays.conversations.base.store.ConversationStore;
+import com.mrivanplays.conversations.base.store.MessageCodec;
+import com.mrivanplays.conversations.base.store.StoredConversation;
+import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.TimeoutTask;
+import com.mrivanplays.conversations.base.util.UuidMap;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Represents a manager of {@link Conversation conversations}
  *
+ * <p>The manager is safe to use from multiple threads at once e.g. async chat threads, the main
+ * thread and timeout threads. Registrations are atomic per conversation partner and do not contend
+ * on a single global lock.
+ *
  * @author MrIvanPlays
  */
 public class ConversationManager<MessageType, SenderType extends ConversationPartner<MessageType>> {
 
-  private final Map<UUID, Conversation<MessageType, SenderType>> conversations = new HashMap<>();
+  private final UuidMap<Conversation<MessageType, SenderType>> conversations = new UuidMap<>();
+
+  private volatile Executor workerPool;
+  private volatile Executor defaultDoneExecutor;
+  private volatile ConversationMetrics metrics = ConversationMetrics.NOOP;
+  private volatile ConversationStore<MessageType> store;
+  private final UuidMap<Held<MessageType, SenderType>> held = new UuidMap<>();
+  private volatile long disconnectGraceMillis = 0;
+  private volatile Transport<MessageType> transport;
+  private final Object listenersLock = new Object();
+  private volatile Listeners<MessageType, SenderType> listeners = new Listeners<>(0);
+
+  /**
+   * Specify a shared worker pool, on which the work of each {@link Conversation} is executed. Every
+   * conversation started after this call processes its inputs, timeouts, disconnects and done
+   * handler calls strictly in order, one at a time, whilst different conversations run in parallel
+   * on the pool. Specifying {@code null} makes conversations do their work on the calling thread,
+   * which is the default.
+   *
+   * @param workerPool shared worker pool or null
+   */
+  public void setWorkerPool(Executor workerPool) {
+    this.workerPool = workerPool;
+  }
+
+  /**
+   * Returns the shared worker pool conversations do their work on. Could be null.
+   *
+   * @return worker pool or null
+   * @see #setWorkerPool(Executor)
+   */
+  public Executor getWorkerPool() {
+    return workerPool;
+  }
+
+  /**
+   * Specify the default {@link Executor} the done handlers of conversations, started after this
+   * call, run on. Conversations which have their own executor specified through {@link
+   * Conversation.Builder#whenDoneAsync(Executor)} use their own instead. Specifying {@code null}
+   * makes done handlers run on the thread which ended the conversation, which is the default.
+   *
+   * @param defaultDoneExecutor default done handler executor or null
+   */
+  public void setDefaultDoneExecutor(Executor defaultDoneExecutor) {
+    this.defaultDoneExecutor = defaultDoneExecutor;
+  }
+
+  /**
+   * Returns the default {@link Executor} done handlers run on. Could be null.
+   *
+   * @return default done handler executor or null
+   * @see #setDefaultDoneExecutor(Executor)
+   */
+  public Executor getDefaultDoneExecutor() {
+    return defaultDoneExecutor;
+  }
+
+  /**
+   * Specify the {@link ConversationMetrics} conversations, started after this call, report to.
+   * Specifying {@code null} disables metrics, which is the default.
+   *
+   * @param metrics metrics or null
+   */
+  public void setMetrics(ConversationMetrics metrics) {
+    this.metrics = metrics != null ? metrics : ConversationMetrics.NOOP;
+  }
+
+  /**
+   * Returns the {@link ConversationMetrics} conversations report to. If metrics are disabled, this
+   * returns {@link ConversationMetrics#NOOP}.
+   *
+   * @return metrics
+   */
+  public ConversationMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Specify the {@link ConversationStore} conversations, started after this call, are recorded to,
+   * so that they can be restored after a restart through {@link
+   * #restoreConversations(BiFunction)}. Only conversations built from a {@link
+   * ConversationTemplate} with an identifier are recorded. Specifying {@code null} disables
+   * recording, which is the default.
+   *
+   * @param store store or null
+   */
+  public void setStore(ConversationStore<MessageType> store) {
+    this.store = store;
+  }
+
+  /**
+   * Returns the {@link ConversationStore} conversations are recorded to. Could be null.
+   *
+   * @return store or null
+   * @see #setStore(ConversationStore)
+   */
+  public ConversationStore<MessageType> getStore() {
+    return store;
+  }
+
+  /**
+   * Restores the conversations of the {@link #setStore(ConversationStore) store} which were in
+   * progress when it was last shut down. For every stored conversation, the specified {@code
+   * builders} function is called with the unique id of its conversation partner and the identifier
+   * of the template it was built from, and shall return a {@link Conversation.Builder} with the
+   * partner, the template, and anything else the conversation needs, specified. The conversation
+   * then continues from the question it was on, with the inputs it had, and with whatever was left
+   * of the question's timeout, unless that ran out whilst it was down, in which case it times out.
+   * If the function returns {@code null}, e.g. because the partner is not online, the
+   * conversation stays stored, so that it can be restored later on through {@link
+   * #restoreConversation(UUID, Function)}.
+   *
+   * @param builders conversation builder function
+   * @return the amount of conversations restored
+   * @throws IllegalStateException if there's no store
+   * @throws IllegalArgumentException if a returned builder has a different partner or template
+   *     than the stored conversation, or if the partner is already into a conversation
+   */
+  public int restoreConversations(
+      BiFunction<UUID, String, Conversation.Builder<MessageType, SenderType>> builders) {
+    Objects.requireNonNull(builders, "builders");
+    ConversationStore<MessageType> store = requireStore();
+    int restored = 0;
+    for (StoredConversation<MessageType> conversation : store.getStoredConversations()) {
+      Conversation.Builder<MessageType, SenderType> builder =
+          builders.apply(
+              conversation.getConversationPartner(), conversation.getTemplateIdentifier());
+      if (restore(store, conversation, builder)) {
+        restored++;
+      }
+    }
+    return restored;
+  }
+
+  /**
+   * Restores the stored conversation of the specified {@link UUID} {@code conversationPartner}, if
+   * any, e.g. when the partner joins. The specified {@code builders} function is called with the
+   * identifier of the template the conversation was built from.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param builders conversation builder function
+   * @return whether a conversation was restored
+   * @throws IllegalStateException if there's no store
+   * @throws IllegalArgumentException if the returned builder has a different partner or template
+   *     than the stored conversation, or if the partner is already into a conversation
+   * @see #restoreConversations(BiFunction)
+   */
+  public boolean restoreConversation(
+      UUID conversationPartner,
+      Function<String, Conversation.Builder<MessageType, SenderType>> builders) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(builders, "builders");
+    ConversationStore<MessageType> store = requireStore();
+    StoredConversation<MessageType> conversation = store.getStoredConversation(conversationPartner);
+    if (conversation == null) {
+      return false;
+    }
+    return restore(store, conversation, builders.apply(conversation.getTemplateIdentifier()));
+  }
+
+  private boolean restore(
+      ConversationStore<MessageType> store,
+      StoredConversation<MessageType> stored,
+      Conversation.Builder<MessageType, SenderType> builder) {
+    if (builder == null) {
+      return false;
+    }
+    Conversation<MessageType, SenderType> conversation =
+        builder.parentManager(this).restoreFrom(stored).build();
+    // checked before the stored conversation is taken, as it would otherwise be lost when starting
+    // the conversation fails
+    if (hasActiveConversation(stored.getConversationPartner())) {
+      throw new IllegalArgumentException("Cannot have 2 conversations at the same time.");
+    }
+    // another thread may be restoring it at the same time
+    if (store.takeStoredConversation(stored.getConversationPartner()) == null) {
+      return false;
+    }
+    conversation.start();
+    return true;
+  }
+
+  private ConversationStore<MessageType> requireStore() {
+    ConversationStore<MessageType> store = this.store;
+    if (store == null) {
+      throw new IllegalStateException("No store specified");
+    }
+    return store;
+  }
+
+  /**
+   * Specify for how long the conversation of a partner who disconnected is held, before it ends
+   * with {@link EndState#PARTNER_DISCONNECT}. If the partner reconnects within the window, the
+   * conversation can be continued through {@link #reclaimConversation(UUID, Function)}. Only
+   * conversations built from a {@link ConversationTemplate} with an identifier, and with a {@link
+   * TimeoutScheduler} to time the window with, are held. The default is 0, ending conversations as
+   * soon as their partner disconnects.
+   *
+   * @param time grace window
+   * @param timeUnit the time unit of the grace window
+   * @see #partnerDisconnected(UUID)
+   */
+  public void setDisconnectGracePeriod(long time, TimeUnit timeUnit) {
+    Objects.requireNonNull(timeUnit, "timeUnit");
+    if (time < 0) {
+      throw new IllegalArgumentException("time must not be negative");
+    }
+    this.disconnectGraceMillis = timeUnit.toMillis(time);
+  }
+
+  /**
+   * Specify the {@link ConversationTransport} the conversations held after their partner
+   * disconnected are offered to other nodes through, so that a partner who reconnects through
+   * another node continues their conversation there. Specifying {@code null} keeps held
+   * conversations to this node, which is the default.
+   *
+   * @param transport transport or null
+   * @param codec codec of the inputs. Ignored if the transport is null
+   * @see #setDisconnectGracePeriod(long, TimeUnit)
+   */
+  public void setTransport(ConversationTransport transport, MessageCodec<MessageType> codec) {
+    if (transport == null) {
+      this.transport = null;
+      return;
+    }
+    this.transport =
+        new Transport<>(
+            transport, new ConversationStateCodec<>(Objects.requireNonNull(codec, "codec")));
+  }
+
+  /**
+   * Returns the {@link ConversationTransport} held conversations are offered through. Could be
+   * null.
+   *
+   * @return transport or null
+   */
+  public ConversationTransport getTransport() {
+    Transport<MessageType> transport = this.transport;
+    return transport != null ? transport.transport : null;
+  }
+
+  /**
+   * Handles the disconnect of the specified {@link UUID} {@code conversationPartner}. Their
+   * conversation, if any, is either held for the {@link #setDisconnectGracePeriod(long, TimeUnit)
+   * grace window}, or ended with {@link EndState#PARTNER_DISCONNECT} straight away.
+   *
+   * @param conversationPartner conversation partner unique id
+   */
+  public void partnerDisconnected(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Conversation<MessageType, SenderType> conversation = activeConversation(conversationPartner);
+    if (conversation == null) {
+      return;
+    }
+    long graceMillis = this.disconnectGraceMillis;
+    TimeoutScheduler scheduler = conversation.getTimeoutScheduler();
+    if (graceMillis == 0 || scheduler == null || !conversation.canHandOff()) {
+      unregisterConversation(conversationPartner, EndState.PARTNER_DISCONNECT);
+      return;
+    }
+    Held<MessageType, SenderType> previous = held.get(conversationPartner);
+    if (previous != null && previous.conversation == conversation) {
+      // already being held
+      return;
+    }
+    Transport<MessageType> transport = this.transport;
+    CompletableFuture<StoredConversation<MessageType>> state = new CompletableFuture<>();
+    // published before the conversation is held, so that a reconnect in between waits for it
+    Held<MessageType, SenderType> holder =
+        new Held<>(conversationPartner, conversation, state, transport);
+    previous = held.put(conversationPartner, holder);
+    if (previous != null) {
+      // can't have 2 conversations at the same time, so the older one is over
+      previous.displaced = true;
+      previous.cancel();
+      previous.conversation.callDoneState(EndState.PARTNER_DISCONNECT);
+    }
+    conversation
+        .hold()
+        .whenComplete(
+            (stored, error) -> {
+              try {
+                if (stored == null || holder.displaced) {
+                  // ended before it could be held, or a newer one took its place
+                  held.remove(conversationPartner, holder);
+                  return;
+                }
+                if (transport != null) {
+                  transport.transport.offer(conversationPartner, transport.codec.encode(stored));
+                }
+                holder.graceTask =
+                    scheduler.schedule(() -> expire(holder), graceMillis, TimeUnit.MILLISECONDS);
+              } finally {
+                // completed once offered, so that a reclaim withdraws it afterwards
+                state.complete(stored);
+              }
+            });
+  }
+
+  private void expire(Held<MessageType, SenderType> holder) {
+    UUID conversationPartner = holder.conversationPartner;
+    if (!held.remove(conversationPartner, holder)) {
+      // reclaimed on this node
+      return;
+    }
+    if (holder.transport == null) {
+      holder.conversation.callDoneState(EndState.PARTNER_DISCONNECT);
+      return;
+    }
+    holder
+        .transport
+        .transport
+        .withdraw(conversationPartner)
+        .whenComplete(
+            (withdrawn, error) -> {
+              if (error == null && !withdrawn) {
+                // another node claimed it
+                holder.conversation.handedOff();
+              } else {
+                holder.conversation.callDoneState(EndState.PARTNER_DISCONNECT);
+              }
+            });
+  }
+
+  /**
+   * Continues the conversation of the specified {@link UUID} {@code conversationPartner}, which got
+   * held when they disconnected, either from this node or, if there's a {@link
+   * #setTransport(ConversationTransport, MessageCodec) transport}, from another one. Call this when
+   * the partner connects. The specified {@code builders} function is called with the identifier of
+   * the template the conversation was built from, and shall return a {@link Conversation.Builder}
+   * with the partner, the template, and anything else the conversation needs, specified. The
+   * conversation then continues from the question it was on, with the inputs it had. If the
+   * function returns {@code null}, the conversation is discarded. A conversation held on this node
+   * is over before the one continuing it starts, and it is not recorded as ended.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param builders conversation builder function
+   * @return a stage completing with whether a conversation was continued
+   */
+  public CompletionStage<Boolean> reclaimConversation(
+      UUID conversationPartner,
+      Function<String, Conversation.Builder<MessageType, SenderType>> builders) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(builders, "builders");
+    Held<MessageType, SenderType> holder = held.get(conversationPartner);
+    if (holder != null && held.remove(conversationPartner, holder)) {
+      return holder.state.thenCompose(state -> reclaim(holder, state, builders));
+    }
+    Transport<MessageType> transport = this.transport;
+    if (transport == null) {
+      return CompletableFuture.completedFuture(false);
+    }
+    return transport
+        .transport
+        .claim(conversationPartner)
+        .thenApply(state -> state != null && resume(transport.codec.decode(state), builders));
+  }
+
+  private CompletionStage<Boolean> reclaim(
+      Held<MessageType, SenderType> holder,
+      StoredConversation<MessageType> state,
+      Function<String, Conversation.Builder<MessageType, SenderType>> builders) {
+    if (state == null) {
+      // the conversation ended before it could be held
+      return CompletableFuture.completedFuture(false);
+    }
+    holder.cancel();
+    CompletionStage<Boolean> owned =
+        holder.transport != null
+            ? holder.transport.transport.withdraw(holder.conversationPartner)
+            : CompletableFuture.completedFuture(true);
+    return owned.thenCompose(
+        withdrawn -> {
+          Conversation.Builder<MessageType, SenderType> builder =
+              withdrawn ? builders.apply(state.getTemplateIdentifier()) : null;
+          if (builder == null) {
+            // either another node claimed it, or it is discarded
+            return holder.conversation.handedOff().thenApply($ -> false);
+          }
+          // the held conversation is over before the one continuing it starts, so that it can't
+          // touch the records of the latter
+          return holder
+              .conversation
+              .reclaimed()
+              .thenApply(
+                  reclaimed -> {
+                    if (!reclaimed) {
+                      return false;
+                    }
+                    builder.parentManager(this).restoreFrom(state).build().start(true);
+                    return true;
+                  });
+        });
+  }
+
+  private boolean resume(
+      StoredConversation<MessageType> state,
+      Function<String, Conversation.Builder<MessageType, SenderType>> builders) {
+    Conversation.Builder<MessageType, SenderType> builder =
+        builders.apply(state.getTemplateIdentifier());
+    if (builder == null) {
+      return false;
+    }
+    builder.parentManager(this).restoreFrom(state).build().start();
+    return true;
+  }
+
+  /**
+   * Adds the specified {@link ConversationListener} to conversations started after this call.
+   *
+   * @param listener listener
+   */
+  public void addListener(ConversationListener<MessageType, SenderType> listener) {
+    addListener(listener, 1);
+  }
+
+  /**
+   * Adds the specified {@link ConversationListener} to the specified fraction of conversations
+   * started after this call. Whether a conversation is listened to is decided once, when it is
+   * created, so that the listener sees either all or none of its events. Conversations which are
+   * not listened to by any listener pay nothing for listeners.
+   *
+   * @param listener listener
+   * @param sampleRate fraction of conversations to listen to, greater than 0 and up to 1
+   * @throws IllegalArgumentException if the sample rate is out of range
+   */
+  public void addListener(
+      ConversationListener<MessageType, SenderType> listener, double sampleRate) {
+    Objects.requireNonNull(listener, "listener");
+    if (!(sampleRate > 0 && sampleRate <= 1)) {
+      throw new IllegalArgumentException("sampleRate must be greater than 0 and up to 1");
+    }
+    synchronized (listenersLock) {
+      Listeners<MessageType, SenderType> current = this.listeners;
+      Listeners<MessageType, SenderType> updated = new Listeners<>(current.listeners.length + 1);
+      System.arraycopy(current.listeners, 0, updated.listeners, 0, current.listeners.length);
+      System.arraycopy(current.sampleRates, 0, updated.sampleRates, 0, current.listeners.length);
+      updated.listeners[current.listeners.length] = listener;
+      updated.sampleRates[current.listeners.length] = sampleRate;
+      this.listeners = updated.compute();
+    }
+  }
+
+  /**
+   * Removes the specified {@link ConversationListener} from conversations started after this call.
+   *
+   * @param listener listener
+   */
+  public void removeListener(ConversationListener<MessageType, SenderType> listener) {
+    Objects.requireNonNull(listener, "listener");
+    synchronized (listenersLock) {
+      Listeners<MessageType, SenderType> current = this.listeners;
+      int remaining = 0;
+      for (ConversationListener<MessageType, SenderType> registered : current.listeners) {
+        if (registered != listener) {
+          remaining++;
+        }
+      }
+      Listeners<MessageType, SenderType> updated = new Listeners<>(remaining);
+      for (int i = 0, j = 0; i < current.listeners.length; i++) {
+        if (current.listeners[i] != listener) {
+          updated.listeners[j] = current.listeners[i];
+          updated.sampleRates[j++] = current.sampleRates[i];
+        }
+      }
+      this.listeners = updated.compute();
+    }
+  }
+
+  ConversationListener<MessageType, SenderType>[] sampleListeners() {
+    Listeners<MessageType, SenderType> listeners = this.listeners;
+    if (!listeners.sampled) {
+      return listeners.listeners;
+    }
+    ConversationListener<MessageType, SenderType>[] sampled = listeners.listeners.clone();
+    int count = 0;
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < sampled.length; i++) {
+      if (listeners.sampleRates[i] >= 1 || random.nextDouble() < listeners.sampleRates[i]) {
+        sampled[count++] = sampled[i];
+      }
+    }
+    return count == sampled.length ? sampled : Arrays.copyOf(sampled, count);
+  }
 
   /**
    * Registers a new {@link Conversation}. In 99% of the use cases you wouldn't need to use this
@@ -26,18 +529,22 @@ public class ConversationManager<MessageType, SenderType extends ConversationPar
   public void registerConversation(Conversation<MessageType, SenderType> conversation)
       throws IllegalArgumentException {
     Objects.requireNonNull(conversation, "conversation");
-    if (conversations.containsKey(conversation.getConversationPartner().getUniqueIdentifier())) {
+    UUID conversationPartner = conversation.getConversationPartner().getUniqueIdentifier();
+    while (true) {
       Conversation<MessageType, SenderType> convo =
-          conversations.get(conversation.getConversationPartner().getUniqueIdentifier());
-      if (convo != null && !convo.hasEnded()) {
+          conversations.putIfAbsent(conversationPartner, conversation);
+      if (convo == null || convo == conversation) {
+        return;
+      }
+      if (!convo.hasEnded()) {
         throw new IllegalArgumentException("Cannot have 2 conversations at the same time.");
-      } else if (convo == null) {
-        conversations.remove(conversation.getConversationPartner().getUniqueIdentifier());
-      } else {
-        conversations.remove(conversation.getConversationPartner().getUniqueIdentifier());
+      }
+      // the previous conversation has ended, but it is still registered. swap it out, unless
+      // another thread was faster than us, in which case we try again.
+      if (conversations.replace(conversationPartner, convo, conversation)) {
+        return;
       }
     }
-    conversations.put(conversation.getConversationPartner().getUniqueIdentifier(), conversation);
   }
 
   /**
@@ -56,12 +563,14 @@ public class ConversationManager<MessageType, SenderType extends ConversationPar
     if (conversation == null) {
       return;
     }
-    if (conversation.hasEnded()) {
-      conversations.remove(conversationPartner);
-      return;
+    // only the thread which actually removes the conversation is allowed to end it
+    if (conversations.remove(conversationPartner, conversation) && !conversation.hasEnded()) {
+      conversation.callDoneState(endState);
     }
-    conversation.callDoneState(endState);
-    conversations.remove(conversationPartner);
+  }
+
+  void unregisterConversation(Conversation<MessageType, SenderType> conversation) {
+    conversations.remove(conversation.getConversationPartner().getUniqueIdentifier(), conversation);
   }
 
   /**
@@ -73,17 +582,32 @@ public class ConversationManager<MessageType, SenderType extends ConversationPar
    */
   public boolean hasActiveConversation(UUID conversationPartner) {
     Objects.requireNonNull(conversationPartner, "conversationPartner");
-    if (conversations.containsKey(conversationPartner)) {
-      Conversation<MessageType, SenderType> convo = conversations.get(conversationPartner);
-      if (!convo.hasEnded()) {
-        return true;
-      } else {
-        unregisterConversation(conversationPartner);
-        return false;
-      }
-    } else {
-      return false;
+    return activeConversation(conversationPartner) != null;
+  }
+
+  /**
+   * Returns whether there is at least one ongoing {@link Conversation} into this manager. This is
+   * a single volatile read.
+   *
+   * @return whether there are any conversations
+   */
+  public boolean hasActiveConversations() {
+    return !conversations.isEmpty();
+  }
+
+  private Conversation<MessageType, SenderType> activeConversation(UUID conversationPartner) {
+    if (conversations.isEmpty()) {
+      return null;
     }
+    Conversation<MessageType, SenderType> conversation = conversations.get(conversationPartner);
+    if (conversation == null) {
+      return null;
+    }
+    if (conversation.hasEnded()) {
+      unregisterConversation(conversation);
+      return null;
+    }
+    return conversation;
   }
 
   /**
@@ -92,17 +616,146 @@ public class ConversationManager<MessageType, SenderType extends ConversationPar
    *
    * @param conversationPartner conversation partner
    * @param message message
+   * @see #tryAcceptInput(UUID, Object)
    */
   public void acceptInput(UUID conversationPartner, MessageType message) {
+    tryAcceptInput(conversationPartner, message);
+  }
+
+  /**
+   * Handles the specified {@code message} input for the specified {@link UUID} {@code
+   * conversationPartner}'s {@link Conversation} if any, and returns whether it was consumed. This
+   * does a single lookup, and if there are no conversations into this manager at all, it returns
+   * straight away.
+   *
+   * @param conversationPartner conversation partner
+   * @param message message
+   * @return whether the input was consumed by a conversation
+   */
+  public boolean tryAcceptInput(UUID conversationPartner, MessageType message) {
     Objects.requireNonNull(conversationPartner, "conversationPartner");
     Objects.requireNonNull(message, "message");
-    Conversation<MessageType, SenderType> conversation = conversations.get(conversationPartner);
-    if (conversation != null) {
-      if (!conversation.hasEnded()) {
-        conversation.acceptInput(message);
-      } else {
-        unregisterConversation(conversationPartner);
+    Conversation<MessageType, SenderType> conversation = activeConversation(conversationPartner);
+    if (conversation == null) {
+      return false;
+    }
+    conversation.acceptInput(message);
+    return true;
+  }
+
+  /**
+   * Handles the message input, supplied by the specified {@code message} {@link Supplier}, for the
+   * specified {@link UUID} {@code conversationPartner}'s {@link Conversation} if any, and returns
+   * whether it was consumed. The supplier is only called if there is a conversation to handle the
+   * input, so that messages which are costly to convert are not converted for nothing.
+   *
+   * @param conversationPartner conversation partner
+   * @param message message supplier
+   * @return whether the input was consumed by a conversation
+   * @see #tryAcceptInput(UUID, Object)
+   */
+  public boolean tryAcceptInput(
+      UUID conversationPartner, Supplier<? extends MessageType> message) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(message, "message");
+    Conversation<MessageType, SenderType> conversation = activeConversation(conversationPartner);
+    if (conversation == null) {
+      return false;
+    }
+    conversation.acceptInput(Objects.requireNonNull(message.get(), "message"));
+    return true;
+  }
+
+  /**
+   * Handles the specified {@code raw} input for the specified {@link UUID} {@code
+   * conversationPartner}'s {@link Conversation} if any, and returns whether it was consumed. The
+   * input is handed to the conversation as a {@link ConversationInput}, hence the specified {@code
+   * parser} is called at most once, and only if something asks for the message form of the input.
+   *
+   * @param conversationPartner conversation partner
+   * @param raw raw input
+   * @param parser parser of the raw input into the message form
+   * @return whether the input was consumed by a conversation
+   * @see ConversationInput#ofRaw(String, Function)
+   */
+  public boolean tryAcceptInput(
+      UUID conversationPartner,
+      String raw,
+      Function<? super String, ? extends MessageType> parser) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(raw, "raw");
+    Objects.requireNonNull(parser, "parser");
+    Conversation<MessageType, SenderType> conversation = activeConversation(conversationPartner);
+    if (conversation == null) {
+      return false;
+    }
+    conversation.acceptInput(ConversationInput.ofRaw(raw, parser));
+    return true;
+  }
+
+  private static final class Held<
+      MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+    private final UUID conversationPartner;
+    private final Conversation<MessageType, SenderType> conversation;
+    // completes with null if the conversation ended before it could be held
+    private final CompletableFuture<StoredConversation<MessageType>> state;
+    private final Transport<MessageType> transport;
+    private volatile TimeoutTask graceTask;
+    private volatile boolean displaced;
+
+    Held(
+        UUID conversationPartner,
+        Conversation<MessageType, SenderType> conversation,
+        CompletableFuture<StoredConversation<MessageType>> state,
+        Transport<MessageType> transport) {
+      this.conversationPartner = conversationPartner;
+      this.conversation = conversation;
+      this.state = state;
+      this.transport = transport;
+    }
+
+    void cancel() {
+      TimeoutTask graceTask = this.graceTask;
+      if (graceTask != null) {
+        graceTask.cancel();
+      }
+    }
+  }
+
+  private static final class Transport<MessageType> {
+
+    private final ConversationTransport transport;
+    private final ConversationStateCodec<MessageType> codec;
+
+    Transport(ConversationTransport transport, ConversationStateCodec<MessageType> codec) {
+      this.transport = transport;
+      this.codec = codec;
+    }
+  }
+
+  private static final class Listeners<
+      MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+    private final ConversationListener<MessageType, SenderType>[] listeners;
+    private final double[] sampleRates;
+    private boolean sampled;
+
+    @SuppressWarnings("unchecked")
+    Listeners(int size) {
+      this.listeners = (ConversationListener<MessageType, SenderType>[])
+          new ConversationListener<?, ?>[size];
+      this.sampleRates = new double[size];
+    }
+
+    Listeners<MessageType, SenderType> compute() {
+      for (double sampleRate : sampleRates) {
+        if (sampleRate < 1) {
+          sampled = true;
+          break;
+        }
       }
+      return this;
     }
   }
 }
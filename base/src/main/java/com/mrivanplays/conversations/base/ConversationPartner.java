@@ -1,5 +1,7 @@
 package com.mrivanplays.conversations.base;
 
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,4 +25,43 @@ public interface ConversationPartner<MessageType> {
    */
   void sendMessage(MessageType message);
 
+  /**
+   * Sends the specified {@code messages} to this conversation partner, in order. This is called
+   * with the messages a conversation produces in a single step, e.g. a validation error and the
+   * question asked again, so that partners which can send them together, e.g. in a single packet,
+   * shall override this. By default, every message is sent through {@link #sendMessage(Object)}.
+   *
+   * <p>The list is reused by the conversation, hence it shall not be kept past this call.
+   *
+   * @param messages messages to send
+   */
+  default void sendMessages(List<MessageType> messages) {
+    for (int i = 0; i < messages.size(); i++) {
+      sendMessage(messages.get(i));
+    }
+  }
+
+  /**
+   * Returns the message of the specified {@code question}, as it is to be sent to this conversation
+   * partner. By default, this is {@link Question#getMessage()}. Partners which can cache work done
+   * on question messages, e.g. their rendered form, shall override this, since unlike other
+   * messages, question messages are sent over and over again. Questions with a {@link
+   * Question#getMessageTemplate() message template} are rendered for the partner instead.
+   *
+   * @param question question to render the message of
+   * @return question message
+   */
+  default MessageType renderQuestion(Question<MessageType, ?> question) {
+    return question.getMessage();
+  }
+
+  /**
+   * Sends the message of the specified {@code question} to this conversation partner. By default,
+   * this sends {@link #renderQuestion(Question)} through {@link #sendMessage(Object)}.
+   *
+   * @param question question to send the message of
+   */
+  default void sendQuestion(Question<MessageType, ?> question) {
+    sendMessage(renderQuestion(question));
+  }
 }
@@ -0,0 +1,35 @@
+package com.mrivanplays.conversations.base;
+
+/**
+ * Represents a conversation, written as a linear script rather than as a chain of questions.
+ *
+ * <pre>{@code
+ * ConversationScript<String, Partner> script = convo -> {
+ *   String name = convo.ask(Question.of("name", "What's your name?"));
+ *   String age = convo.ask(Question.of("age", "How old are you, " + name + "?"));
+ *   // ...
+ * };
+ * }</pre>
+ *
+ * <p>Each script runs on its own thread, which is parked while waiting for an answer. On java 21
+ * and newer these are virtual threads, so a parked conversation costs a few kilobytes and
+ * thousands of conversations can wait at once. On older java versions, platform threads are used.
+ *
+ * @author MrIvanPlays
+ * @see ScriptedConversation
+ * @see Conversation.Builder#withScript(ConversationScript)
+ */
+@FunctionalInterface
+public interface ConversationScript<
+    MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  /**
+   * Runs the script. When this returns, the conversation ends successfully. If this throws while
+   * the conversation is still ongoing, the conversation ends with {@link
+   * ConversationContext.EndState#UNKNOWN}.
+   *
+   * @param conversation the conversation to ask questions in
+   * @throws Exception if anything goes wrong
+   */
+  void run(ScriptedConversation<MessageType, SenderType> conversation) throws Exception;
+}
@@ -0,0 +1,211 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import java.util.function.Consumer;
+
+/**
+ * Represents an immutable, reusable definition of a {@link Conversation}.
+ *
+ * <p>A template is meant to be built once (e.g. when your plugin enables) and then shared by any
+ * number of conversations, running at the same time. Conversations started from a template only
+ * keep track of their position into it, rather than copying it.
+ *
+ * @param <MessageType> message type generic
+ * @param <SenderType> sender type (partner type) generic
+ * @author MrIvanPlays
+ * @see Conversation.Builder#fromTemplate(ConversationTemplate)
+ */
+public final class ConversationTemplate<
+    MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  /**
+   * Creates a new {@link ConversationTemplate.Builder}
+   *
+   * @param <MessageType> message type generic
+   * @param <SenderType> sender type (partner type) generic
+   * @return builder
+   */
+  public static <MessageType, SenderType extends ConversationPartner<MessageType>>
+      Builder<MessageType, SenderType> newBuilder() {
+    return new Builder<>();
+  }
+
+  private final String identifier;
+  private final ChainedQuestion<MessageType, SenderType> questions;
+  private final QuestionGraph<MessageType, SenderType> questionGraph;
+  private final Consumer<ConversationContext<MessageType, SenderType>> doneHandler;
+  private final TimeoutScheduler timeoutScheduler;
+
+  private ConversationTemplate(Builder<MessageType, SenderType> builder) {
+    this.identifier = builder.identifier;
+    if (builder.questions.isEmpty()) {
+      throw new NullPointerException("No questions specified");
+    }
+    ChainedQuestion<MessageType, SenderType> questions = builder.questions.getQuestions();
+    this.questions = questions != null ? questions.immutableCopy() : null;
+    this.questionGraph = builder.questions.getQuestionGraph();
+    this.doneHandler = builder.doneHandler;
+    this.timeoutScheduler = builder.timeoutScheduler;
+  }
+
+  /**
+   * Returns the identifier of this template. Could be null.
+   *
+   * @return identifier
+   */
+  public String getIdentifier() {
+    return identifier;
+  }
+
+  /**
+   * Returns the questions of this template. The returned {@link ChainedQuestion} is immutable.
+   * This is null if the template walks a {@link #getQuestionGraph() question graph}.
+   *
+   * @return questions or null
+   */
+  public ChainedQuestion<MessageType, SenderType> getQuestions() {
+    return questions;
+  }
+
+  /**
+   * Returns the {@link QuestionGraph} of this template. This is null if the template walks {@link
+   * #getQuestions() chained questions}.
+   *
+   * @return question graph or null
+   */
+  public QuestionGraph<MessageType, SenderType> getQuestionGraph() {
+    return questionGraph;
+  }
+
+  /**
+   * Returns the done handler of this template. Could be null, in which case it shall be specified
+   * for every conversation built from this template.
+   *
+   * @return done handler
+   */
+  public Consumer<ConversationContext<MessageType, SenderType>> getDoneHandler() {
+    return doneHandler;
+  }
+
+  /**
+   * Returns the {@link TimeoutScheduler} of this template. Could be null.
+   *
+   * @return timeout scheduler
+   */
+  public TimeoutScheduler getTimeoutScheduler() {
+    return timeoutScheduler;
+  }
+
+  /**
+   * Represents a builder of {@link ConversationTemplate}
+   *
+   * @author MrIvanPlays
+   */
+  public static final class Builder<
+      MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+    private String identifier;
+    private final QuestionSource<MessageType, SenderType> questions = new QuestionSource<>();
+    private Consumer<ConversationContext<MessageType, SenderType>> doneHandler;
+    private TimeoutScheduler timeoutScheduler;
+
+    private Builder() {}
+
+    /**
+     * Specify the identifier of the built template.
+     *
+     * @param val identifier
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withIdentifier(String val) {
+      identifier = val;
+      return this;
+    }
+
+    /**
+     * Specify the handler when a conversation, built from this template, ends. This can be
+     * overridden per conversation.
+     *
+     * @param doneHandler done handler
+     * @return this instance for chaining
+     * @see ConversationContext
+     */
+    public Builder<MessageType, SenderType> whenDone(
+        Consumer<ConversationContext<MessageType, SenderType>> doneHandler) {
+      this.doneHandler = doneHandler;
+      return this;
+    }
+
+    /**
+     * Specify the {@link TimeoutScheduler} of the built template. This can be overridden per
+     * conversation.
+     *
+     * @param scheduler timeout scheduler
+     * @return this instance for chaining
+     * @see TimeoutScheduler
+     */
+    public Builder<MessageType, SenderType> withTimeoutScheduler(TimeoutScheduler scheduler) {
+      this.timeoutScheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Specify a {@link ChainedQuestion} to be sent to the conversation partner. An immutable copy
+     * of it is taken when the template is built.
+     *
+     * @param val chained question object
+     * @return this instance for chaining
+     * @see Question
+     * @see ChainedQuestion
+     * @throws IllegalArgumentException if {@link #withQuestion(Question)} has already been called.
+     *     Chained and non-chained questions are not supported and both cannot work simultaneously.
+     */
+    public Builder<MessageType, SenderType> chainedQuestions(
+        ChainedQuestion<MessageType, SenderType> val) {
+      questions.chainedQuestions(val);
+      return this;
+    }
+
+    /**
+     * Specify a {@link Question} to be sent to the conversation partner.
+     *
+     * @param val question
+     * @return this instance for chaining
+     * @see Question
+     * @throws IllegalArgumentException if {@link #chainedQuestions(ChainedQuestion)} has already
+     *     been called. Chained and non-chained questions are not supported and both cannot work
+     *     simultaneously.
+     */
+    public Builder<MessageType, SenderType> withQuestion(Question<MessageType, SenderType> val) {
+      questions.withQuestion(val);
+      return this;
+    }
+
+    /**
+     * Specify a {@link QuestionGraph} to walk the conversation partner through.
+     *
+     * @param val question graph
+     * @return this instance for chaining
+     * @see QuestionGraph
+     * @throws IllegalArgumentException if questions have already been specified. Question graphs
+     *     cannot be combined with chained or non-chained questions.
+     */
+    public Builder<MessageType, SenderType> withQuestionGraph(
+        QuestionGraph<MessageType, SenderType> val) {
+      questions.withQuestionGraph(val);
+      return this;
+    }
+
+    /**
+     * Builds this builder into a {@link ConversationTemplate}
+     *
+     * @return conversation template
+     */
+    public ConversationTemplate<MessageType, SenderType> build() {
+      return new ConversationTemplate<>(this);
+    }
+  }
+}
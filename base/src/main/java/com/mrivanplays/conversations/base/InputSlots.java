@@ -0,0 +1,158 @@
+package com.mrivanplays.conversations.base;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Represents a flat storage of the inputs of a {@link Conversation}, with one slot per question of
+ * the conversation definition: the position into the chain of questions, or the node index into
+ * the question graph.
+ *
+ * <p>Inputs are iterated in the order their questions were first answered, rather than in slot
+ * order, which differs for question graphs.
+ *
+ * <p>Inputs which came in through a {@link ConversationInput} are kept as such, so that their
+ * message form is only built once asked for.
+ *
+ * <p>Not thread safe. Only the thread doing the work of the conversation touches it.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+final class InputSlots<MessageType> {
+
+  private String[] identifiers;
+  private Object[] values;
+  // allocated on the first input kept as a ConversationInput; the value of such a slot is the
+  // input itself
+  private ConversationInput<MessageType>[] views;
+  // the filled slots, in the order they were first filled
+  private int[] order;
+  private int size;
+  private int count;
+
+  InputSlots(int slots) {
+    this.identifiers = new String[Math.max(slots, 1)];
+    this.values = new Object[this.identifiers.length];
+    this.order = new int[this.identifiers.length];
+  }
+
+  /**
+   * Stores the input of the question with the specified identifier into the specified slot, or,
+   * if the slot is negative (e.g. for scripts, which have no definition), into the slot of the
+   * previous input of the same question or a new one.
+   */
+  void put(int slot, String identifier, MessageType value) {
+    slot = store(slot, identifier, value);
+    if (views != null) {
+      views[slot] = null;
+    }
+  }
+
+  /** Stores the specified {@code input} the same way as {@link #put(int, String, Object)} does. */
+  void putInput(int slot, String identifier, ConversationInput<MessageType> input) {
+    slot = store(slot, identifier, input);
+    if (views == null) {
+      views = newViews(identifiers.length);
+    }
+    views[slot] = input;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <MessageType> ConversationInput<MessageType>[] newViews(int length) {
+    return (ConversationInput<MessageType>[]) new ConversationInput<?>[length];
+  }
+
+  private int store(int slot, String identifier, Object value) {
+    if (slot < 0) {
+      slot = lastSlotOf(identifier);
+      if (slot == -1) {
+        slot = size;
+      }
+    }
+    if (slot >= identifiers.length) {
+      int capacity = Math.max(slot + 1, identifiers.length << 1);
+      identifiers = Arrays.copyOf(identifiers, capacity);
+      values = Arrays.copyOf(values, capacity);
+      order = Arrays.copyOf(order, capacity);
+      if (views != null) {
+        views = Arrays.copyOf(views, capacity);
+      }
+    }
+    if (values[slot] == null) {
+      order[count++] = slot;
+    }
+    identifiers[slot] = identifier;
+    values[slot] = value;
+    if (slot >= size) {
+      size = slot + 1;
+    }
+    return slot;
+  }
+
+  MessageType get(String identifier) {
+    int slot = lastSlotOf(identifier);
+    return slot != -1 ? messageAt(slot) : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private MessageType messageAt(int slot) {
+    if (views != null && views[slot] != null) {
+      return views[slot].getMessage();
+    }
+    return (MessageType) values[slot];
+  }
+
+  private int lastSlotOf(String identifier) {
+    // backwards, since a chain may ask a question with the same identifier more than once, in
+    // which case the latest input wins
+    for (int i = size - 1; i >= 0; i--) {
+      if (values[i] != null && identifiers[i].equals(identifier)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  int count() {
+    return count;
+  }
+
+  void clear() {
+    Arrays.fill(identifiers, 0, size, null);
+    Arrays.fill(values, 0, size, null);
+    if (views != null) {
+      Arrays.fill(views, 0, size, null);
+    }
+    size = 0;
+    count = 0;
+  }
+
+  void forEach(BiConsumer<String, MessageType> action) {
+    for (int i = 0; i < count; i++) {
+      int slot = order[i];
+      action.accept(identifiers[slot], messageAt(slot));
+    }
+  }
+
+  /**
+   * Copies the filled slots, in the order they were first filled, into the specified arrays of
+   * {@link #count()}. Returns the inputs kept as {@link ConversationInput}, at the same positions,
+   * or null if there are none.
+   */
+  ConversationInput<MessageType>[] copyInto(String[] identifiers, Object[] values) {
+    ConversationInput<MessageType>[] views = null;
+    for (int i = 0; i < count; i++) {
+      int slot = order[i];
+      if (this.views != null && this.views[slot] != null) {
+        if (views == null) {
+          views = newViews(identifiers.length);
+        }
+        views[i] = this.views[slot];
+      }
+      identifiers[i] = this.identifiers[slot];
+      values[i] = this.values[slot];
+    }
+    return views;
+  }
+}
@@ -0,0 +1,111 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.util.Objects;
+
+/**
+ * Represents the questions specified to a {@link Conversation.Builder} or a {@link
+ * ConversationTemplate.Builder}: either questions one by one, a {@link ChainedQuestion}, a {@link
+ * QuestionGraph} or a {@link ConversationScript}, which cannot be combined with one another.
+ *
+ * @param <MessageType> message type generic
+ * @param <SenderType> sender type (partner type) generic
+ * @author MrIvanPlays
+ */
+final class QuestionSource<MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  private ChainedQuestion<MessageType, SenderType> questions;
+  private QuestionGraph<MessageType, SenderType> questionGraph;
+  private ConversationScript<MessageType, SenderType> script;
+  // whether the chained question came from elsewhere, hence questions cannot be added to it
+  private boolean chainedCalled = false;
+
+  void chainedQuestions(ChainedQuestion<MessageType, SenderType> val) {
+    checkNoQuestionGraph();
+    if (this.questions != null) {
+      throw new IllegalArgumentException(
+          "Questions cannot be chained since withQuestion has already been called. Either choose chained or non-chained questions.");
+    }
+    this.questions = val;
+    this.chainedCalled = true;
+  }
+
+  void withQuestion(Question<MessageType, SenderType> val) {
+    checkNoQuestionGraph();
+    if (questions == null) {
+      questions = new ChainedQuestion<>(val);
+    } else {
+      if (chainedCalled) {
+        throw new IllegalArgumentException(
+            "Questions are chained. withQuestion does not work when chainedQuestions is already been called");
+      }
+      questions.addQuestion(($) -> val);
+    }
+  }
+
+  void withQuestionGraph(QuestionGraph<MessageType, SenderType> val) {
+    if (!isEmpty()) {
+      throw new IllegalArgumentException(
+          "Cannot use a question graph since questions have already been specified.");
+    }
+    this.questionGraph = Objects.requireNonNull(val, "questionGraph");
+  }
+
+  void withScript(ConversationScript<MessageType, SenderType> val) {
+    if (this.questions != null || this.questionGraph != null) {
+      throw new IllegalArgumentException(
+          "Cannot use a script since questions have already been specified.");
+    }
+    this.script = Objects.requireNonNull(val, "script");
+  }
+
+  void fromTemplate(ConversationTemplate<MessageType, SenderType> val) {
+    if (!isEmpty()) {
+      throw new IllegalArgumentException(
+          "Cannot use a template since questions have already been specified.");
+    }
+    this.questions = val.getQuestions();
+    this.questionGraph = val.getQuestionGraph();
+    this.chainedCalled = true;
+  }
+
+  void copy(
+      ChainedQuestion<MessageType, SenderType> questions,
+      QuestionGraph<MessageType, SenderType> questionGraph,
+      ConversationScript<MessageType, SenderType> script) {
+    this.questions = questions;
+    this.questionGraph = questionGraph;
+    this.script = script;
+    // the chained question is shared with what it is copied from
+    this.chainedCalled = questions != null;
+  }
+
+  private void checkNoQuestionGraph() {
+    if (this.questionGraph != null) {
+      throw new IllegalArgumentException(
+          "A question graph is already specified. Question graphs cannot be combined with other questions.");
+    }
+    if (this.script != null) {
+      throw new IllegalArgumentException(
+          "A script is already specified. Scripts cannot be combined with questions.");
+    }
+  }
+
+  boolean isEmpty() {
+    return questions == null && questionGraph == null && script == null;
+  }
+
+  ChainedQuestion<MessageType, SenderType> getQuestions() {
+    return questions;
+  }
+
+  QuestionGraph<MessageType, SenderType> getQuestionGraph() {
+    return questionGraph;
+  }
+
+  ConversationScript<MessageType, SenderType> getScript() {
+    return script;
+  }
+}
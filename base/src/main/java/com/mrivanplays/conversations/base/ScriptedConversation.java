@@ -0,0 +1,162 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.Question;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Represents the handle a {@link ConversationScript} asks its questions through.
+ *
+ * @author MrIvanPlays
+ */
+public final class ScriptedConversation<
+    MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  private static final ThreadFactory THREAD_FACTORY = createThreadFactory();
+
+  /**
+   * Returns whether scripts run on virtual threads, which is the case on java 21 and newer.
+   *
+   * @return whether virtual threads are used
+   */
+  public static boolean isVirtual() {
+    return !(THREAD_FACTORY instanceof PlatformThreadFactory);
+  }
+
+  private static ThreadFactory createThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Method name = builderClass.getMethod("name", String.class, long.class);
+      builder = name.invoke(builder, "Conversation Script #", 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // java 20 or older, or virtual threads are a preview feature which is not enabled
+      return new PlatformThreadFactory();
+    }
+  }
+
+  private final Conversation<MessageType, SenderType> conversation;
+  private final ConversationScript<MessageType, SenderType> script;
+
+  private volatile Thread thread;
+  private volatile MessageType answer;
+  // whether ask unwinds the script since it got interrupted. only accessed by the script thread
+  private boolean interrupted;
+
+  ScriptedConversation(
+      Conversation<MessageType, SenderType> conversation,
+      ConversationScript<MessageType, SenderType> script) {
+    this.conversation = conversation;
+    this.script = script;
+  }
+
+  /**
+   * Sends the specified {@link Question} to the conversation partner and waits for a valid answer.
+   * The answer is validated by the question's input validator, if any, and it is also available
+   * into the {@link ConversationContext} once the conversation ends.
+   *
+   * @param question question to ask
+   * @return answer
+   * @throws IllegalStateException if the conversation has ended, e.g. by a timeout or a
+   *     disconnect, if the script got interrupted whilst waiting for the answer, in which case the
+   *     conversation ends with {@link EndState#UNKNOWN}, or if not called from the script
+   */
+  public MessageType ask(Question<MessageType, SenderType> question) {
+    Objects.requireNonNull(question, "question");
+    if (Thread.currentThread() != thread) {
+      throw new IllegalStateException("Questions can only be asked from the script");
+    }
+    checkEnded();
+    answer = null;
+    conversation.ask(question);
+    while (true) {
+      MessageType answer = this.answer;
+      if (answer != null) {
+        this.answer = null;
+        return answer;
+      }
+      checkEnded();
+      LockSupport.park(this);
+      if (Thread.interrupted()) {
+        // parking returns straight away whilst interrupted, hence waiting on would spin
+        interrupted = true;
+        conversation.callDoneState(EndState.UNKNOWN);
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted whilst waiting for an answer");
+      }
+    }
+  }
+
+  private void checkEnded() {
+    if (conversation.hasEnded()) {
+      throw new IllegalStateException("Conversation has ended");
+    }
+  }
+
+  /**
+   * Returns the conversation partner of this conversation.
+   *
+   * @return conversation partner
+   */
+  public SenderType getConversationPartner() {
+    return conversation.getConversationPartner();
+  }
+
+  /**
+   * Returns the {@link Conversation} this script runs in.
+   *
+   * @return conversation
+   */
+  public Conversation<MessageType, SenderType> getConversation() {
+    return conversation;
+  }
+
+  void start() {
+    Thread thread = THREAD_FACTORY.newThread(this::run);
+    this.thread = thread;
+    thread.start();
+  }
+
+  private void run() {
+    try {
+      script.run(this);
+      conversation.scriptDone(null);
+    } catch (Throwable t) {
+      if (interrupted || conversation.hasEnded()) {
+        // thrown by ask to unwind the script
+        return;
+      }
+      conversation.scriptDone(t);
+      Thread current = Thread.currentThread();
+      current.getUncaughtExceptionHandler().uncaughtException(current, t);
+    }
+  }
+
+  void deliver(MessageType answer) {
+    this.answer = answer;
+    LockSupport.unpark(thread);
+  }
+
+  void wake() {
+    LockSupport.unpark(thread);
+  }
+
+  private static final class PlatformThreadFactory implements ThreadFactory {
+
+    private final AtomicLong counter = new AtomicLong();
+
+    @Override
+    public Thread newThread(Runnable task) {
+      Thread thread =
+          new Thread(
+              null, task, "Conversation Script #" + counter.getAndIncrement(), 256 * 1024);
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
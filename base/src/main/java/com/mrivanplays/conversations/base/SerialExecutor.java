@@ -0,0 +1,115 @@
+package com.mrivanplays.conversations.base;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents an {@link Executor} which runs the submitted tasks one at a time, in submission order,
+ * on a shared worker pool. Tasks of different serial executors sharing the same worker pool run in
+ * parallel.
+ *
+ * <p>Without a worker pool, tasks run on the submitting thread, unless another thread is already
+ * running tasks, in which case that thread runs them once it is done with its own.
+ *
+ * @author MrIvanPlays
+ */
+final class SerialExecutor implements Executor {
+
+  /** How much tasks to run before handing the worker thread back to the pool. */
+  private static final int BATCH_SIZE = 64;
+
+  private final Executor workerPool;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean(false);
+  private final Runnable drain = this::drain;
+
+  SerialExecutor() {
+    this.workerPool = null;
+  }
+
+  SerialExecutor(Executor workerPool) {
+    this.workerPool = Objects.requireNonNull(workerPool, "workerPool");
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    Objects.requireNonNull(task, "task");
+    tasks.offer(task);
+    schedule();
+  }
+
+  /**
+   * Tries to take over running tasks on the calling thread, so that a task can be run straight away
+   * without being submitted. Only possible without a worker pool, and if no other thread is
+   * running tasks at the time. If this returns true, {@link #exit()} must be called afterwards.
+   *
+   * @return whether the calling thread may run a task straight away
+   */
+  boolean tryEnter() {
+    return workerPool == null && scheduled.compareAndSet(false, true);
+  }
+
+  /** Runs the tasks submitted in the meantime, if any, and hands over running tasks. */
+  void exit() {
+    drainInline();
+  }
+
+  private void schedule() {
+    if (scheduled.compareAndSet(false, true)) {
+      if (workerPool == null) {
+        drainInline();
+        return;
+      }
+      try {
+        workerPool.execute(drain);
+      } catch (RuntimeException e) {
+        scheduled.set(false);
+        throw e;
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        Runnable task = tasks.poll();
+        if (task == null) {
+          break;
+        }
+        run(task);
+      }
+    } finally {
+      scheduled.set(false);
+      // a task could've been submitted after we saw an empty queue, but before we cleared the
+      // scheduled flag. in that case nobody else would pick it up.
+      if (!tasks.isEmpty()) {
+        schedule();
+      }
+    }
+  }
+
+  private void drainInline() {
+    do {
+      try {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+          run(task);
+        }
+      } finally {
+        scheduled.set(false);
+      }
+    } while (!tasks.isEmpty() && scheduled.compareAndSet(false, true));
+  }
+
+  private static void run(Runnable task) {
+    try {
+      task.run();
+    } catch (Throwable t) {
+      Thread current = Thread.currentThread();
+      current.getUncaughtExceptionHandler().uncaughtException(current, t);
+    }
+  }
+}
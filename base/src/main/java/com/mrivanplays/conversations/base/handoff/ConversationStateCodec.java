@@ -0,0 +1,141 @@
+package com.mrivanplays.conversations.base.handoff;
+
+import com.mrivanplays.conversations.base.store.MessageCodec;
+import com.mrivanplays.conversations.base.store.StoredConversation;
+import com.mrivanplays.conversations.base.store.StoredConversation.Answer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Represents an encoder of conversation state into a compact binary form, and back.
+ *
+ * <p>The state holds the template identifier, the question cursor, the inputs and the remaining
+ * timeout of the question last asked. The timeout is encoded relative to the time of encoding,
+ * rather than as a deadline, so that the clocks of the nodes the state travels between don't have
+ * to agree. Counts and lengths are encoded as variable length integers.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public final class ConversationStateCodec<MessageType> {
+
+  private static final int VERSION = 1;
+
+  private final MessageCodec<MessageType> codec;
+
+  /**
+   * Creates a new {@link ConversationStateCodec}
+   *
+   * @param codec codec of the inputs
+   */
+  public ConversationStateCodec(MessageCodec<MessageType> codec) {
+    this.codec = Objects.requireNonNull(codec, "codec");
+  }
+
+  /**
+   * Encodes the specified conversation {@code state}.
+   *
+   * @param state conversation state
+   * @return encoded state
+   */
+  public byte[] encode(StoredConversation<MessageType> state) {
+    Objects.requireNonNull(state, "state");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeByte(VERSION);
+      out.writeLong(state.getConversationPartner().getMostSignificantBits());
+      out.writeLong(state.getConversationPartner().getLeastSignificantBits());
+      out.writeUTF(state.getTemplateIdentifier());
+      out.writeBoolean(state.getQuestionIdentifier() != null);
+      if (state.getQuestionIdentifier() != null) {
+        out.writeUTF(state.getQuestionIdentifier());
+      }
+      // shifted by one, so that "unknown" and "none" encode to a single zero byte
+      writeVarLong(out, state.getQuestionIndex() + 1L);
+      long remaining =
+          state.getTimeoutDeadline() == -1
+              ? -1
+              : Math.max(state.getTimeoutDeadline() - System.currentTimeMillis(), 0);
+      writeVarLong(out, remaining + 1);
+      writeVarLong(out, state.getAnswers().size());
+      for (Answer<MessageType> answer : state.getAnswers()) {
+        out.writeUTF(answer.getQuestionIdentifier());
+        byte[] input = codec.encode(answer.getInput());
+        writeVarLong(out, input.length);
+        out.write(input);
+      }
+    } catch (IOException e) {
+      // can't happen, since it is all in memory
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Decodes a conversation state from the specified {@code bytes}, encoded by {@link
+   * #encode(StoredConversation)}.
+   *
+   * @param bytes encoded state
+   * @return conversation state
+   * @throws IllegalArgumentException if the bytes are not a valid encoded state
+   */
+  public StoredConversation<MessageType> decode(byte[] bytes) {
+    Objects.requireNonNull(bytes, "bytes");
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      int version = in.readUnsignedByte();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported state version " + version);
+      }
+      UUID conversationPartner = new UUID(in.readLong(), in.readLong());
+      String templateIdentifier = in.readUTF();
+      String questionIdentifier = in.readBoolean() ? in.readUTF() : null;
+      int questionIndex = (int) readVarLong(in) - 1;
+      long remaining = readVarLong(in) - 1;
+      int answerCount = (int) readVarLong(in);
+      List<Answer<MessageType>> answers = new ArrayList<>(answerCount);
+      for (int i = 0; i < answerCount; i++) {
+        String answeredQuestion = in.readUTF();
+        byte[] input = new byte[(int) readVarLong(in)];
+        in.readFully(input);
+        answers.add(new Answer<>(answeredQuestion, codec.decode(input)));
+      }
+      return new StoredConversation<>(
+          conversationPartner,
+          templateIdentifier,
+          answers,
+          questionIdentifier,
+          questionIndex,
+          remaining == -1 ? -1 : System.currentTimeMillis() + remaining);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Malformed conversation state", e);
+    }
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+}
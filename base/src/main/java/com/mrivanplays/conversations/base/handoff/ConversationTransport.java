@@ -0,0 +1,52 @@
+package com.mrivanplays.conversations.base.handoff;
+
+import com.mrivanplays.conversations.base.ConversationManager;
+import java.util.UUID;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Represents a transport, handing the state of conversations off between the nodes of a network,
+ * e.g. proxy instances, so that a partner who disconnects from one node and reconnects through
+ * another keeps their conversation. Set on a {@link ConversationManager} through {@link
+ * ConversationManager#setTransport(ConversationTransport,
+ * com.mrivanplays.conversations.base.store.MessageCodec)}.
+ *
+ * <p>Whenever a partner disconnects, their node offers the state of the partner's conversation.
+ * The offer is then either claimed, by whichever node the partner reconnects through, or withdrawn,
+ * by the offering node when its grace window runs out. Implementations must guarantee that exactly
+ * one of the two succeeds, so that a conversation is neither lost nor continued twice.
+ *
+ * @author MrIvanPlays
+ * @see LoopbackConversationTransport
+ * @see ConversationStateCodec
+ */
+public interface ConversationTransport {
+
+  /**
+   * Offers the specified conversation {@code state} of the specified conversation partner to the
+   * other nodes. Replaces any previous offer for the partner.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param state encoded conversation state
+   */
+  void offer(UUID conversationPartner, byte[] state);
+
+  /**
+   * Claims the offered conversation state of the specified conversation partner, from whichever
+   * node offered it.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @return a stage completing with the encoded conversation state, or with {@code null} if there
+   *     was no offer or it has already been claimed or withdrawn
+   */
+  CompletionStage<byte[]> claim(UUID conversationPartner);
+
+  /**
+   * Withdraws the offered conversation state of the specified conversation partner.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @return a stage completing with whether the offer was withdrawn, or with {@code false} if it
+   *     has already been claimed
+   */
+  CompletionStage<Boolean> withdraw(UUID conversationPartner);
+}
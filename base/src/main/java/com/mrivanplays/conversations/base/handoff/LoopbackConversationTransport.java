@@ -0,0 +1,53 @@
+package com.mrivanplays.conversations.base.handoff;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents an in-process {@link ConversationTransport}, handing conversations off between the
+ * conversation managers sharing the same instance. Useful for tests, and for multiple managers
+ * into the same process.
+ *
+ * @author MrIvanPlays
+ */
+public class LoopbackConversationTransport implements ConversationTransport {
+
+  private final Map<UUID, byte[]> offers = new ConcurrentHashMap<>();
+
+  /** {@inheritDoc} */
+  @Override
+  public void offer(UUID conversationPartner, byte[] state) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(state, "state");
+    offers.put(conversationPartner, state);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public CompletionStage<byte[]> claim(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    return CompletableFuture.completedFuture(offers.remove(conversationPartner));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public CompletionStage<Boolean> withdraw(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    return CompletableFuture.completedFuture(offers.remove(conversationPartner) != null);
+  }
+
+  /**
+   * Returns whether there's an offer for the specified conversation partner.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @return whether offered
+   */
+  public boolean isOffered(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    return offers.containsKey(conversationPartner);
+  }
+}
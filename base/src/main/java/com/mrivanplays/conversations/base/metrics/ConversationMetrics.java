@@ -0,0 +1,62 @@
+package com.mrivanplays.conversations.base.metrics;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.ConversationManager;
+
+/**
+ * Represents a receiver of {@link Conversation} lifecycle events, for monitoring purposes. Set on a
+ * {@link ConversationManager} through {@link ConversationManager#setMetrics(ConversationMetrics)}.
+ *
+ * <p>The methods are called on the threads the conversations do their work on, e.g. async chat
+ * threads, hence implementations should be cheap and shall not block. All methods do nothing by
+ * default.
+ *
+ * @author MrIvanPlays
+ * @see LongAdderConversationMetrics
+ */
+public interface ConversationMetrics {
+
+  /** Metrics which discard everything. This is the default. */
+  ConversationMetrics NOOP = new ConversationMetrics() {};
+
+  /** Called when a conversation starts. */
+  default void conversationStarted() {}
+
+  /**
+   * Called when a conversation ends.
+   *
+   * @param endState how did the conversation end
+   */
+  default void conversationEnded(EndState endState) {}
+
+  /**
+   * Called when an input fails the validation of the question with the specified identifier.
+   *
+   * @param questionIdentifier question identifier
+   */
+  default void validationFailed(String questionIdentifier) {}
+
+  /**
+   * Called when an input comes in, with the time passed since the question it answers was sent.
+   *
+   * @param questionIdentifier question identifier
+   * @param nanos response time in nanoseconds
+   */
+  default void responseTime(String questionIdentifier, long nanos) {}
+
+  /**
+   * Called when the input validator of a question is done, with the time it took. For async input
+   * validators, this is the time until the validation result is handled.
+   *
+   * @param questionIdentifier question identifier
+   * @param nanos validation time in nanoseconds
+   */
+  default void validationTime(String questionIdentifier, long nanos) {}
+
+  /** Called when a conversation starts waiting for a question's timeout. */
+  default void timeoutStarted() {}
+
+  /** Called when a conversation stops waiting for a question's timeout, fired or not. */
+  default void timeoutStopped() {}
+}
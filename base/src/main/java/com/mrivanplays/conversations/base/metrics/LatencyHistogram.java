@@ -0,0 +1,135 @@
+package com.mrivanplays.conversations.base.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a lock-free histogram of durations, in nanoseconds, with a fixed memory footprint.
+ *
+ * <p>Durations are counted into log-linear buckets: every power of two is split into 8 buckets,
+ * hence a percentile readout is at most 12.5% higher than the actual value. Durations up to about
+ * 73 minutes are told apart, longer ones are counted into the highest bucket. Recording is a single
+ * atomic increment, and the histogram takes up about 2.5 kilobytes.
+ *
+ * @author MrIvanPlays
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 41;
+  private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  /**
+   * Records the specified duration.
+   *
+   * @param nanos duration in nanoseconds
+   */
+  public void record(long nanos) {
+    buckets.incrementAndGet(indexOf(nanos));
+  }
+
+  /**
+   * Records the specified duration.
+   *
+   * @param duration duration
+   * @param unit duration time unit
+   */
+  public void record(long duration, TimeUnit unit) {
+    record(unit.toNanos(duration));
+  }
+
+  /**
+   * Returns the amount of recorded durations.
+   *
+   * @return count
+   */
+  public long getCount() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += buckets.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the duration, in nanoseconds, the specified {@code percentile} of the recorded
+   * durations are lower than or equal to. Returns 0 if nothing is recorded.
+   *
+   * @param percentile percentile, between 0 and 100
+   * @return duration in nanoseconds
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("percentile must be between 0 and 100");
+    }
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return highestValueOf(i);
+      }
+    }
+    return highestValueOf(BUCKETS - 1);
+  }
+
+  /**
+   * Returns the median duration in nanoseconds.
+   *
+   * @return p50 duration
+   */
+  public long getP50() {
+    return getValueAtPercentile(50);
+  }
+
+  /**
+   * Returns the 99th percentile duration in nanoseconds.
+   *
+   * @return p99 duration
+   */
+  public long getP99() {
+    return getValueAtPercentile(99);
+  }
+
+  /**
+   * Returns the 99.9th percentile duration in nanoseconds.
+   *
+   * @return p999 duration
+   */
+  public long getP999() {
+    return getValueAtPercentile(99.9);
+  }
+
+  static int indexOf(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) Math.max(nanos, 0);
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  static long highestValueOf(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
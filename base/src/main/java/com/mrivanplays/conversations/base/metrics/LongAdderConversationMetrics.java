@@ -0,0 +1,182 @@
+package com.mrivanplays.conversations.base.metrics;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a {@link ConversationMetrics} implementation counting with {@link LongAdder
+ * LongAdders}, so that conversations on different threads do not contend on the counters. Response
+ * and validation times are recorded per question identifier into {@link LatencyHistogram
+ * LatencyHistograms}.
+ *
+ * <p>The counters are cumulative. Rates, e.g. starts per second, are meant to be derived by sampling
+ * them periodically, as monitoring systems usually do.
+ *
+ * @author MrIvanPlays
+ */
+public class LongAdderConversationMetrics implements ConversationMetrics {
+
+  private static final EndState[] END_STATES = EndState.values();
+
+  private final LongAdder started = new LongAdder();
+  private final LongAdder[] ended = new LongAdder[END_STATES.length];
+  private final ConcurrentMap<String, LongAdder> validationFailures = new ConcurrentHashMap<>();
+  private final LongAdder pendingTimeouts = new LongAdder();
+  private final ConcurrentMap<String, LatencyHistogram> responseTimes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LatencyHistogram> validationTimes = new ConcurrentHashMap<>();
+
+  public LongAdderConversationMetrics() {
+    for (int i = 0; i < ended.length; i++) {
+      ended[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void conversationStarted() {
+    started.increment();
+  }
+
+  @Override
+  public void conversationEnded(EndState endState) {
+    ended[endState.ordinal()].increment();
+  }
+
+  @Override
+  public void validationFailed(String questionIdentifier) {
+    LongAdder failures = validationFailures.get(questionIdentifier);
+    if (failures == null) {
+      failures = validationFailures.computeIfAbsent(questionIdentifier, $ -> new LongAdder());
+    }
+    failures.increment();
+  }
+
+  @Override
+  public void responseTime(String questionIdentifier, long nanos) {
+    histogram(responseTimes, questionIdentifier).record(nanos);
+  }
+
+  @Override
+  public void validationTime(String questionIdentifier, long nanos) {
+    histogram(validationTimes, questionIdentifier).record(nanos);
+  }
+
+  private static LatencyHistogram histogram(
+      ConcurrentMap<String, LatencyHistogram> histograms, String questionIdentifier) {
+    LatencyHistogram histogram = histograms.get(questionIdentifier);
+    if (histogram == null) {
+      histogram = histograms.computeIfAbsent(questionIdentifier, $ -> new LatencyHistogram());
+    }
+    return histogram;
+  }
+
+  @Override
+  public void timeoutStarted() {
+    pendingTimeouts.increment();
+  }
+
+  @Override
+  public void timeoutStopped() {
+    pendingTimeouts.decrement();
+  }
+
+  /**
+   * Returns the amount of conversations started, but not yet ended.
+   *
+   * @return active conversation count
+   */
+  public long getActiveConversations() {
+    // read the ends first, so that a conversation ending in between is not counted as negative
+    long ended = getEnded();
+    return Math.max(0, started.sum() - ended);
+  }
+
+  /**
+   * Returns the amount of conversations started.
+   *
+   * @return started conversation count
+   */
+  public long getStarted() {
+    return started.sum();
+  }
+
+  /**
+   * Returns the amount of conversations ended.
+   *
+   * @return ended conversation count
+   */
+  public long getEnded() {
+    long sum = 0;
+    for (LongAdder adder : ended) {
+      sum += adder.sum();
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the amount of conversations ended with the specified {@link EndState}.
+   *
+   * @param endState end state
+   * @return ended conversation count
+   */
+  public long getEnded(EndState endState) {
+    return ended[endState.ordinal()].sum();
+  }
+
+  /**
+   * Returns the amount of validation failures of the question with the specified identifier.
+   *
+   * @param questionIdentifier question identifier
+   * @return validation failure count
+   */
+  public long getValidationFailures(String questionIdentifier) {
+    LongAdder failures = validationFailures.get(questionIdentifier);
+    return failures == null ? 0 : failures.sum();
+  }
+
+  /**
+   * Returns a snapshot of the amount of validation failures per question identifier.
+   *
+   * @return validation failures
+   */
+  public Map<String, Long> getValidationFailures() {
+    Map<String, Long> snapshot = new HashMap<>();
+    validationFailures.forEach((identifier, failures) -> snapshot.put(identifier, failures.sum()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Returns the histogram of the times taken to answer the question with the specified identifier,
+   * or null if it has never been answered.
+   *
+   * @param questionIdentifier question identifier
+   * @return response time histogram or null
+   */
+  public LatencyHistogram getResponseTimes(String questionIdentifier) {
+    return responseTimes.get(questionIdentifier);
+  }
+
+  /**
+   * Returns the histogram of the times taken to validate the inputs of the question with the
+   * specified identifier, or null if it has no input validator or has never been answered.
+   *
+   * @param questionIdentifier question identifier
+   * @return validation time histogram or null
+   */
+  public LatencyHistogram getValidationTimes(String questionIdentifier) {
+    return validationTimes.get(questionIdentifier);
+  }
+
+  /**
+   * Returns the amount of question timeouts conversations are waiting for.
+   *
+   * @return pending timeout count
+   */
+  public long getPendingTimeouts() {
+    return Math.max(0, pendingTimeouts.sum());
+  }
+}
@@ -0,0 +1,42 @@
+package com.mrivanplays.conversations.base.question;
+
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Represents a validator of a {@link Question} input, which completes its validation
+ * asynchronously, e.g. after a database lookup, rather than blocking the thread the input came
+ * from.
+ *
+ * <p>Whilst a validation is in flight, the question's timeout keeps running, and further inputs are
+ * either queued or rejected, as specified by the question's {@link PendingInputPolicy}. Queued
+ * inputs are handled in the order they came in, once the validation completes.
+ *
+ * @author MrIvanPlays
+ * @see InputValidator
+ */
+@FunctionalInterface
+public interface AsyncInputValidator<MessageType> {
+
+  /**
+   * Validates the {@code message} input and returns a {@link CompletionStage} of the {@link
+   * ValidationResult}. If the stage completes exceptionally, the conversation ends.
+   *
+   * @param message message to validate
+   * @return validation result stage
+   */
+  CompletionStage<ValidationResult<MessageType>> validate(MessageType message);
+
+  /**
+   * Represents an enum of policies of what to do with inputs, which come in whilst an input is
+   * being validated.
+   *
+   * @author MrIvanPlays
+   */
+  enum PendingInputPolicy {
+    /** Indicates that the inputs are handled in order, once the validation completes. */
+    QUEUE,
+    /** Indicates that the inputs are dropped. */
+    REJECT
+  }
+}
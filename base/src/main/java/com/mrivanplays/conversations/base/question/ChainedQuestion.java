@@ -1,9 +1,11 @@
 package com.mrivanplays.conversations.base.question;
 
+import com.mrivanplays.conversations.base.ConversationInput;
 import com.mrivanplays.conversations.base.ConversationPartner;
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
 import java.util.function.Function;
 
 /**
@@ -13,6 +15,10 @@ import java.util.function.Function;
  * the next questions can vary based on the {@link ConversationPartner conversation partner's}
  * input.
  *
+ * <p>Walking a chained question does not modify it, hence a single chained question can be shared
+ * by any number of conversations, as long as no questions are added to it whilst being used. See
+ * {@link #immutableCopy()} for a chained question which is safe to share.
+ *
  * @param <MessageType> message object type
  * @param <SenderType> conversation partner type
  * @see ComputeContext
@@ -21,12 +27,31 @@ public final class ChainedQuestion<
     MessageType, SenderType extends ConversationPartner<MessageType>> {
 
   private final Question<MessageType, SenderType> firstQuestion;
-  private Queue<
+  private final List<
           Function<ComputeContext<MessageType, SenderType>, Question<MessageType, SenderType>>>
-      questionsFunc = new ArrayDeque<>();
+      questionsFunc;
+  private final boolean immutable;
+  private int legacyCursor = 1;
 
   public ChainedQuestion(Question<MessageType, SenderType> firstQuestion) {
     this.firstQuestion = Objects.requireNonNull(firstQuestion, "firstQuestion");
+    this.questionsFunc = new ArrayList<>();
+    this.immutable = false;
+  }
+
+  private ChainedQuestion(ChainedQuestion<MessageType, SenderType> copy) {
+    this.firstQuestion = copy.firstQuestion;
+    this.questionsFunc = Collections.unmodifiableList(new ArrayList<>(copy.questionsFunc));
+    this.immutable = true;
+  }
+
+  /**
+   * Returns an immutable copy of this chained question. Questions cannot be added to the copy.
+   *
+   * @return immutable copy
+   */
+  public ChainedQuestion<MessageType, SenderType> immutableCopy() {
+    return immutable ? this : new ChainedQuestion<>(this);
   }
 
   /**
@@ -39,6 +64,38 @@ public final class ChainedQuestion<
     return this.firstQuestion;
   }
 
+  /**
+   * Returns the amount of questions into this chained question, including the first question.
+   *
+   * @return question count
+   */
+  public int getQuestionCount() {
+    return this.questionsFunc.size() + 1;
+  }
+
+  /**
+   * Computes the question at the specified {@code index} with the specified {@link ComputeContext
+   * compute context}. Index 0 is always the {@link #getFirstQuestion() first question}, for which
+   * the context may be null. This doesn't modify the chained question.
+   *
+   * @param index question index
+   * @param context compute context
+   * @return question, or null if there is no question at the specified index or the compute
+   *     method decided so
+   * @see ComputeContext
+   */
+  public Question<MessageType, SenderType> getQuestion(
+      int index, ComputeContext<MessageType, SenderType> context) {
+    if (index == 0) {
+      return this.firstQuestion;
+    }
+    if (index < 0 || index > this.questionsFunc.size()) {
+      return null;
+    }
+    Objects.requireNonNull(context, "context");
+    return this.questionsFunc.get(index - 1).apply(context);
+  }
+
   /**
    * Computes the next question with the specified {@link ComputeContext compute context}. If there
    * is no next question, this returns null.
@@ -46,14 +103,17 @@ public final class ChainedQuestion<
    * @param context compute context
    * @return next question or null
    * @see ComputeContext
+   * @deprecated this consumes the chained question, meaning it can be walked only once. Use {@link
+   *     #getQuestion(int, ComputeContext)} instead.
    */
+  @Deprecated
   public Question<MessageType, SenderType> getNextQuestion(
       ComputeContext<MessageType, SenderType> context) {
     Objects.requireNonNull(context, "context");
-    if (this.questionsFunc.isEmpty()) {
+    if (this.legacyCursor > this.questionsFunc.size()) {
       return null;
     }
-    return this.questionsFunc.poll().apply(context);
+    return getQuestion(this.legacyCursor++, context);
   }
 
   /**
@@ -70,11 +130,15 @@ public final class ChainedQuestion<
    *
    * @param func question compute {@link Function}
    * @return this instance for chaining
+   * @throws UnsupportedOperationException if this is an {@link #immutableCopy() immutable copy}
    */
   public ChainedQuestion<MessageType, SenderType> addQuestion(
       Function<ComputeContext<MessageType, SenderType>, Question<MessageType, SenderType>> func) {
     Objects.requireNonNull(func, "func");
-    this.questionsFunc.offer(func);
+    if (this.immutable) {
+      throw new UnsupportedOperationException("Cannot add questions to an immutable copy");
+    }
+    this.questionsFunc.add(func);
     return this;
   }
 
@@ -89,6 +153,7 @@ public final class ChainedQuestion<
 
     private final Question<MessageType, SenderType> previousQuestion;
     private final MessageType messageInput;
+    private final ConversationInput<MessageType> input;
     private final SenderType conversationPartner;
 
     /**
@@ -104,6 +169,24 @@ public final class ChainedQuestion<
         SenderType conversationPartner) {
       this.previousQuestion = Objects.requireNonNull(previousQuestion, "previousQuestion");
       this.messageInput = Objects.requireNonNull(messageInput, "messageInput");
+      this.input = null;
+      this.conversationPartner = Objects.requireNonNull(conversationPartner, "conversationPartner");
+    }
+
+    /**
+     * Construct a new compute context.
+     *
+     * @param previousQuestion the previous question asked. Cannot be null
+     * @param input the input for the previous question. Cannot be null.
+     * @param conversationPartner the conversation partner. Cannot be null
+     */
+    public ComputeContext(
+        Question<MessageType, SenderType> previousQuestion,
+        ConversationInput<MessageType> input,
+        SenderType conversationPartner) {
+      this.previousQuestion = Objects.requireNonNull(previousQuestion, "previousQuestion");
+      this.messageInput = null;
+      this.input = Objects.requireNonNull(input, "input");
       this.conversationPartner = Objects.requireNonNull(conversationPartner, "conversationPartner");
     }
 
@@ -122,7 +205,17 @@ public final class ChainedQuestion<
      * @return input message
      */
     public MessageType getInputMessage() {
-      return this.messageInput;
+      return this.messageInput != null ? this.messageInput : this.input.getMessage();
+    }
+
+    /**
+     * Returns the input, in whichever form it is needed. This is the answer of the {@link
+     * #getPreviousQuestion()}
+     *
+     * @return input
+     */
+    public ConversationInput<MessageType> getInput() {
+      return this.input != null ? this.input : ConversationInput.of(this.messageInput);
     }
 
     /**
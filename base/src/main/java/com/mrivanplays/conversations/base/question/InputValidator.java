@@ -1,5 +1,9 @@
 package com.mrivanplays.conversations.base.question;
 
+import com.mrivanplays.conversations.base.ConversationInput;
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * Represents a validator of a {@link Question} input.
  *
@@ -16,6 +20,43 @@ public interface InputValidator<MessageType> {
    */
   ValidationResult<MessageType> validate(MessageType message);
 
+  /**
+   * Validates the specified {@code input} and returns a {@link ValidationResult}. By default, this
+   * validates the message form of the input, building it if needed. Validators which can work with
+   * the raw form of the input shall override this, see {@link #ofInput(Function)}.
+   *
+   * @param input input to validate
+   * @return validation result
+   */
+  default ValidationResult<MessageType> validate(ConversationInput<MessageType> input) {
+    return validate(input.getMessage());
+  }
+
+  /**
+   * Creates a new {@link InputValidator}, validating the {@link ConversationInput} as a whole,
+   * which lets the specified {@code validator} pick the form of the input it needs, e.g. the raw
+   * form, without having the message form built.
+   *
+   * @param validator validator
+   * @param <MessageType> message type generic
+   * @return input validator
+   */
+  static <MessageType> InputValidator<MessageType> ofInput(
+      Function<? super ConversationInput<MessageType>, ValidationResult<MessageType>> validator) {
+    Objects.requireNonNull(validator, "validator");
+    return new InputValidator<MessageType>() {
+      @Override
+      public ValidationResult<MessageType> validate(MessageType message) {
+        return validator.apply(ConversationInput.of(message));
+      }
+
+      @Override
+      public ValidationResult<MessageType> validate(ConversationInput<MessageType> input) {
+        return validator.apply(input);
+      }
+    };
+  }
+
   /**
    * Represents a validation result. If successful, the error message would be null, if the error
    * message is not null then it's failed.
@@ -24,14 +65,17 @@ public interface InputValidator<MessageType> {
    */
   final class ValidationResult<MessageType> {
 
+    private static final ValidationResult<?> SUCCESS = new ValidationResult<>(null);
+
     /**
-     * Returns a single success result.
+     * Returns a single success result. The result is shared, hence this doesn't allocate.
      *
      * @param <MessageType> message type generic
      * @return success
      */
+    @SuppressWarnings("unchecked")
     public static <MessageType> ValidationResult<MessageType> success() {
-      return new ValidationResult<>(null);
+      return (ValidationResult<MessageType>) SUCCESS;
     }
 
     /**
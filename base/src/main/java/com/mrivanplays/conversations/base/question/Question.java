@@ -1,6 +1,8 @@
 package com.mrivanplays.conversations.base.question;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.question.AsyncInputValidator.PendingInputPolicy;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -45,28 +47,50 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
       Builder<MessageType, SenderType> newBuilder(Question<MessageType, SenderType> copy) {
     Builder<MessageType, SenderType> builder = new Builder<>();
     builder.identifier = copy.getIdentifier();
-    builder.message = copy.getMessage();
+    builder.messageTemplate = copy.getMessageTemplate();
+    if (builder.messageTemplate == null) {
+      builder.message = copy.getMessage();
+    }
     builder.timeout = copy.getTimeout();
     builder.timeoutUnit = copy.getTimeoutUnit();
     builder.whenTimeout = copy.getWhenTimeout();
     builder.inputValidator = copy.getInputValidator();
+    builder.asyncInputValidator = copy.getAsyncInputValidator();
+    builder.pendingInputPolicy = copy.getPendingInputPolicy();
     return builder;
   }
 
   private final String identifier;
   private final MessageType message;
+  private final MessageTemplate<MessageType, SenderType> messageTemplate;
   private long timeout;
   private TimeUnit timeoutUnit;
   private Consumer<SenderType> whenTimeout;
   private InputValidator<MessageType> inputValidator;
+  private AsyncInputValidator<MessageType> asyncInputValidator;
+  private PendingInputPolicy pendingInputPolicy;
 
   private Question(Builder<MessageType, SenderType> builder) {
     identifier = Objects.requireNonNull(builder.identifier, "identifier");
-    message = Objects.requireNonNull(builder.message, "message");
+    message = builder.message;
+    messageTemplate = builder.messageTemplate;
+    if (message == null && messageTemplate == null) {
+      throw new NullPointerException("message");
+    }
+    if (message != null && messageTemplate != null) {
+      throw new IllegalArgumentException(
+          "A question cannot have both a message and a message template.");
+    }
     timeout = builder.timeout;
     timeoutUnit = timeout != -1 ? Objects.requireNonNull(builder.timeoutUnit, "timeoutUnit") : null;
     whenTimeout = builder.whenTimeout;
     inputValidator = builder.inputValidator;
+    asyncInputValidator = builder.asyncInputValidator;
+    pendingInputPolicy = Objects.requireNonNull(builder.pendingInputPolicy, "pendingInputPolicy");
+    if (inputValidator != null && asyncInputValidator != null) {
+      throw new IllegalArgumentException(
+          "A question cannot have both an input validator and an async input validator.");
+    }
   }
 
   /**
@@ -79,12 +103,25 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
   }
 
   /**
-   * Returns the question message of this question.
+   * Returns the question message of this question. If the question has a {@link
+   * #getMessageTemplate() message template}, which is rendered for every conversation partner it is
+   * asked to, this is the template with every placeholder left as written.
    *
    * @return question message
    */
   public MessageType getMessage() {
-    return message;
+    return message != null ? message : messageTemplate.getUnrenderedMessage();
+  }
+
+  /**
+   * Returns the {@link MessageTemplate} the question message is rendered from, for every
+   * conversation partner it is asked to. Null if the question has a fixed {@link #getMessage()
+   * message}.
+   *
+   * @return message template or null
+   */
+  public MessageTemplate<MessageType, SenderType> getMessageTemplate() {
+    return messageTemplate;
   }
 
   /**
@@ -125,6 +162,26 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
     return inputValidator;
   }
 
+  /**
+   * Returns the {@link AsyncInputValidator}
+   *
+   * @return async input validator
+   * @see AsyncInputValidator
+   */
+  public AsyncInputValidator<MessageType> getAsyncInputValidator() {
+    return asyncInputValidator;
+  }
+
+  /**
+   * Returns the {@link PendingInputPolicy} of inputs coming in, whilst an input is being validated
+   * by the {@link #getAsyncInputValidator() async input validator}.
+   *
+   * @return pending input policy
+   */
+  public PendingInputPolicy getPendingInputPolicy() {
+    return pendingInputPolicy;
+  }
+
   /**
    * Represents a builder of {@link Question}
    *
@@ -135,10 +192,13 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
 
     private String identifier;
     private MessageType message;
+    private MessageTemplate<MessageType, SenderType> messageTemplate;
     private long timeout = -1;
     private TimeUnit timeoutUnit;
     private Consumer<SenderType> whenTimeout;
     private InputValidator<MessageType> inputValidator;
+    private AsyncInputValidator<MessageType> asyncInputValidator;
+    private PendingInputPolicy pendingInputPolicy = PendingInputPolicy.QUEUE;
 
     private Builder() {}
 
@@ -164,6 +224,19 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
       return this;
     }
 
+    /**
+     * Specify the {@link MessageTemplate} the message question is rendered from, instead of a fixed
+     * message.
+     *
+     * @param val message template
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withMessageTemplate(
+        MessageTemplate<MessageType, SenderType> val) {
+      messageTemplate = val;
+      return this;
+    }
+
     /**
      * Specify the timeout of this question.
      *
@@ -200,6 +273,34 @@ public final class Question<MessageType, SenderType extends ConversationPartner<
       return this;
     }
 
+    /**
+     * Specify the {@link AsyncInputValidator}. Inputs coming in whilst an input is being validated
+     * are queued.
+     *
+     * @param asyncInputValidator async input validator
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withAsyncInputValidator(
+        AsyncInputValidator<MessageType> asyncInputValidator) {
+      return withAsyncInputValidator(asyncInputValidator, PendingInputPolicy.QUEUE);
+    }
+
+    /**
+     * Specify the {@link AsyncInputValidator} and the {@link PendingInputPolicy} of inputs coming
+     * in whilst an input is being validated.
+     *
+     * @param asyncInputValidator async input validator
+     * @param pendingInputPolicy pending input policy
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withAsyncInputValidator(
+        AsyncInputValidator<MessageType> asyncInputValidator,
+        PendingInputPolicy pendingInputPolicy) {
+      this.asyncInputValidator = asyncInputValidator;
+      this.pendingInputPolicy = pendingInputPolicy;
+      return this;
+    }
+
     /**
      * Builds this builder into a {@link Question}
      *
@@ -0,0 +1,401 @@
+package com.mrivanplays.conversations.base.question;
+
+import com.mrivanplays.conversations.base.ConversationPartner;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Represents a compiled, immutable graph of {@link Question questions}.
+ *
+ * <p>The nodes of the graph are questions, and the edges are transitions, which decide which
+ * question to ask next based on the answer of the current one. A transition can be:
+ *
+ * <ul>
+ *   <li>keyed: the answer is mapped to a key with the node's key function, and the transition
+ *       registered for that key is taken
+ *   <li>conditional: the first transition whose {@link Predicate} matches the answer is taken
+ *   <li>default: taken if no other transition matched
+ * </ul>
+ *
+ * Transitions are evaluated in that order. If no transition matches, or the matching transition
+ * leads to {@link #END}, the conversation ends. Graphs can be composed, see {@link
+ * Builder#withSubGraph(QuestionGraph, String)}.
+ *
+ * <p>When built, the graph is compiled into an indexed transition table, so that moving from a
+ * question to another is an array lookup. A graph can be shared by any number of conversations.
+ *
+ * @param <MessageType> message object type
+ * @param <SenderType> conversation partner type
+ * @author MrIvanPlays
+ */
+public final class QuestionGraph<MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  /** Transition target identifier, which ends the conversation. */
+  public static final String END = "\0end";
+
+  /** Node index, returned by {@link #transition(int, Object)} when the conversation ends. */
+  public static final int END_INDEX = -1;
+
+  /**
+   * Creates a new {@link QuestionGraph.Builder}
+   *
+   * @param <MessageType> message type generic
+   * @param <SenderType> sender type (partner type) generic
+   * @return question graph builder
+   */
+  public static <MessageType, SenderType extends ConversationPartner<MessageType>>
+      Builder<MessageType, SenderType> newBuilder() {
+    return new Builder<>();
+  }
+
+  private final int start;
+  private final Question<MessageType, SenderType>[] nodes;
+  private final Map<String, Integer> indexes;
+
+  // keyed transitions
+  private final Function<MessageType, ?>[] keyFunctions;
+  private final Map<Object, Integer>[] keyedTargets;
+
+  // conditional transitions of node i are edgePredicates[edgeOffsets[i] .. edgeOffsets[i + 1])
+  private final int[] edgeOffsets;
+  private final Predicate<MessageType>[] edgePredicates;
+  private final int[] edgeTargets;
+
+  private final int[] defaultTargets;
+
+  private QuestionGraph(Builder<MessageType, SenderType> builder) {
+    if (builder.nodes.isEmpty()) {
+      throw new IllegalArgumentException("No questions specified");
+    }
+    int nodeCount = builder.nodes.size();
+    @SuppressWarnings("unchecked")
+    Question<MessageType, SenderType>[] nodes =
+        (Question<MessageType, SenderType>[]) new Question<?, ?>[nodeCount];
+    this.nodes = nodes;
+    this.indexes = new HashMap<>();
+    int i = 0;
+    for (Question<MessageType, SenderType> question : builder.nodes.values()) {
+      this.nodes[i] = question;
+      this.indexes.put(question.getIdentifier(), i);
+      i++;
+    }
+    String startIdentifier =
+        builder.start != null ? builder.start : builder.nodes.keySet().iterator().next();
+    this.start = indexOf(startIdentifier, "start");
+    for (String from : builder.transitions.keySet()) {
+      if (!this.indexes.containsKey(from)) {
+        throw new IllegalArgumentException(
+            "Transitions specified for unknown question '" + from + "'");
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    Function<MessageType, ?>[] keyFunctions =
+        (Function<MessageType, ?>[]) new Function<?, ?>[nodeCount];
+    @SuppressWarnings("unchecked")
+    Map<Object, Integer>[] keyedTargets = (Map<Object, Integer>[]) new Map<?, ?>[nodeCount];
+    this.keyFunctions = keyFunctions;
+    this.keyedTargets = keyedTargets;
+    this.edgeOffsets = new int[nodeCount + 1];
+    this.defaultTargets = new int[nodeCount];
+    List<Predicate<MessageType>> predicates = new ArrayList<>();
+    List<Integer> targets = new ArrayList<>();
+    for (i = 0; i < nodeCount; i++) {
+      String identifier = this.nodes[i].getIdentifier();
+      NodeTransitions<MessageType> transitions = builder.transitions.get(identifier);
+      this.edgeOffsets[i] = predicates.size();
+      this.defaultTargets[i] = END_INDEX;
+      if (transitions == null) {
+        continue;
+      }
+      if (!transitions.keyed.isEmpty()) {
+        if (transitions.keyFunction == null) {
+          throw new IllegalArgumentException(
+              "Question '" + identifier + "' has keyed transitions, but no key function");
+        }
+        Map<Object, Integer> keyed = new HashMap<>();
+        for (Map.Entry<Object, String> entry : transitions.keyed.entrySet()) {
+          keyed.put(entry.getKey(), indexOf(entry.getValue(), identifier));
+        }
+        this.keyFunctions[i] = transitions.keyFunction;
+        this.keyedTargets[i] = keyed;
+      }
+      for (int e = 0; e < transitions.predicates.size(); e++) {
+        predicates.add(transitions.predicates.get(e));
+        targets.add(indexOf(transitions.predicateTargets.get(e), identifier));
+      }
+      if (transitions.defaultTarget != null) {
+        this.defaultTargets[i] = indexOf(transitions.defaultTarget, identifier);
+      }
+    }
+    this.edgeOffsets[nodeCount] = predicates.size();
+    @SuppressWarnings("unchecked")
+    Predicate<MessageType>[] edgePredicates =
+        predicates.toArray((Predicate<MessageType>[]) new Predicate<?>[0]);
+    this.edgePredicates = edgePredicates;
+    this.edgeTargets = new int[targets.size()];
+    for (i = 0; i < this.edgeTargets.length; i++) {
+      this.edgeTargets[i] = targets.get(i);
+    }
+  }
+
+  private int indexOf(String identifier, String referencedBy) {
+    if (END.equals(identifier)) {
+      return END_INDEX;
+    }
+    Integer index = this.indexes.get(identifier);
+    if (index == null) {
+      throw new IllegalArgumentException(
+          "Unknown question '" + identifier + "' referenced by '" + referencedBy + "'");
+    }
+    return index;
+  }
+
+  /**
+   * Returns the index of the question the conversation starts with.
+   *
+   * @return start node index
+   */
+  public int getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the amount of questions into this graph.
+   *
+   * @return question count
+   */
+  public int getQuestionCount() {
+    return nodes.length;
+  }
+
+  /**
+   * Returns the {@link Question} at the specified node {@code index}.
+   *
+   * @param index node index
+   * @return question
+   */
+  public Question<MessageType, SenderType> getQuestion(int index) {
+    return nodes[index];
+  }
+
+  /**
+   * Returns the node index of the question with the specified {@code identifier}, or {@link
+   * #END_INDEX} if there is no such question.
+   *
+   * @param identifier question identifier
+   * @return node index
+   */
+  public int getIndex(String identifier) {
+    Integer index = indexes.get(identifier);
+    return index != null ? index : END_INDEX;
+  }
+
+  /**
+   * Returns the index of the question to ask after the question at the specified node {@code
+   * index} was answered with the specified {@code input}, or {@link #END_INDEX} if the
+   * conversation shall end.
+   *
+   * @param index node index of the answered question
+   * @param input the answer
+   * @return next node index
+   */
+  public int transition(int index, MessageType input) {
+    Function<MessageType, ?> keyFunction = keyFunctions[index];
+    if (keyFunction != null) {
+      Integer target = keyedTargets[index].get(keyFunction.apply(input));
+      if (target != null) {
+        return target;
+      }
+    }
+    for (int e = edgeOffsets[index], end = edgeOffsets[index + 1]; e < end; e++) {
+      if (edgePredicates[e].test(input)) {
+        return edgeTargets[e];
+      }
+    }
+    return defaultTargets[index];
+  }
+
+  private String identifierOf(int index, String endIdentifier) {
+    return index == END_INDEX ? endIdentifier : nodes[index].getIdentifier();
+  }
+
+  private static final class NodeTransitions<MessageType> {
+
+    private Function<MessageType, ?> keyFunction;
+    private final Map<Object, String> keyed = new LinkedHashMap<>();
+    private final List<Predicate<MessageType>> predicates = new ArrayList<>();
+    private final List<String> predicateTargets = new ArrayList<>();
+    private String defaultTarget;
+  }
+
+  /**
+   * Represents a builder of {@link QuestionGraph}
+   *
+   * @author MrIvanPlays
+   */
+  public static final class Builder<
+      MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+    private final Map<String, Question<MessageType, SenderType>> nodes = new LinkedHashMap<>();
+    private final Map<String, NodeTransitions<MessageType>> transitions = new HashMap<>();
+    private String start;
+
+    private Builder() {}
+
+    private NodeTransitions<MessageType> transitionsOf(String from) {
+      Objects.requireNonNull(from, "from");
+      return transitions.computeIfAbsent(from, $ -> new NodeTransitions<>());
+    }
+
+    /**
+     * Adds the specified {@link Question} as a node of the graph. Unless {@link
+     * #withStart(String)} is called, the first added question is the one the conversation starts
+     * with.
+     *
+     * @param question question
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if a question with the same identifier is already added
+     */
+    public Builder<MessageType, SenderType> withQuestion(
+        Question<MessageType, SenderType> question) {
+      Objects.requireNonNull(question, "question");
+      if (nodes.putIfAbsent(question.getIdentifier(), question) != null) {
+        throw new IllegalArgumentException(
+            "Duplicate question identifier '" + question.getIdentifier() + "'");
+      }
+      return this;
+    }
+
+    /**
+     * Specify the identifier of the question the conversation starts with.
+     *
+     * @param identifier question identifier
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withStart(String identifier) {
+      this.start = Objects.requireNonNull(identifier, "identifier");
+      return this;
+    }
+
+    /**
+     * Adds a conditional transition from the question {@code from} to the question {@code to},
+     * taken when the answer matches the specified {@link Predicate}. Conditional transitions are
+     * evaluated in the order they're added.
+     *
+     * @param from identifier of the answered question
+     * @param condition answer condition
+     * @param to identifier of the next question, or {@link #END}
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withTransition(
+        String from, Predicate<MessageType> condition, String to) {
+      NodeTransitions<MessageType> node = transitionsOf(from);
+      node.predicates.add(Objects.requireNonNull(condition, "condition"));
+      node.predicateTargets.add(Objects.requireNonNull(to, "to"));
+      return this;
+    }
+
+    /**
+     * Specify the function mapping answers of the question {@code from} to the keys of its {@link
+     * #withKeyedTransition(String, Object, String) keyed transitions}.
+     *
+     * @param from question identifier
+     * @param keyFunction answer to key function
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withKeyFunction(
+        String from, Function<MessageType, ?> keyFunction) {
+      transitionsOf(from).keyFunction = Objects.requireNonNull(keyFunction, "keyFunction");
+      return this;
+    }
+
+    /**
+     * Adds a keyed transition from the question {@code from} to the question {@code to}, taken when
+     * the answer maps to the specified {@code key}.
+     *
+     * @param from identifier of the answered question
+     * @param key answer key
+     * @param to identifier of the next question, or {@link #END}
+     * @return this instance for chaining
+     * @see #withKeyFunction(String, Function)
+     */
+    public Builder<MessageType, SenderType> withKeyedTransition(
+        String from, Object key, String to) {
+      transitionsOf(from)
+          .keyed
+          .put(Objects.requireNonNull(key, "key"), Objects.requireNonNull(to, "to"));
+      return this;
+    }
+
+    /**
+     * Specify the transition from the question {@code from} to the question {@code to}, taken when
+     * no other transition matched.
+     *
+     * @param from identifier of the answered question
+     * @param to identifier of the next question, or {@link #END}
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withDefaultTransition(String from, String to) {
+      transitionsOf(from).defaultTarget = Objects.requireNonNull(to, "to");
+      return this;
+    }
+
+    /**
+     * Adds all the questions and transitions of the specified {@code subGraph} to this graph.
+     * Transitions of the sub graph which would end the conversation lead to the question {@code
+     * exitTo} instead. The sub graph is entered by transitioning to the identifier of its {@link
+     * QuestionGraph#getStart() start} question.
+     *
+     * @param subGraph graph to add
+     * @param exitTo identifier of the question to continue with once the sub graph is done, or
+     *     {@link #END}
+     * @return this instance for chaining
+     * @throws IllegalArgumentException if the sub graph has questions with identifiers already
+     *     added to this graph
+     */
+    @SuppressWarnings("unchecked")
+    public Builder<MessageType, SenderType> withSubGraph(
+        QuestionGraph<MessageType, SenderType> subGraph, String exitTo) {
+      Objects.requireNonNull(subGraph, "subGraph");
+      Objects.requireNonNull(exitTo, "exitTo");
+      for (Question<MessageType, SenderType> question : subGraph.nodes) {
+        withQuestion(question);
+      }
+      for (int i = 0; i < subGraph.nodes.length; i++) {
+        String from = subGraph.nodes[i].getIdentifier();
+        if (subGraph.keyFunctions[i] != null) {
+          withKeyFunction(from, subGraph.keyFunctions[i]);
+          for (Map.Entry<Object, Integer> entry : subGraph.keyedTargets[i].entrySet()) {
+            withKeyedTransition(
+                from, entry.getKey(), subGraph.identifierOf(entry.getValue(), exitTo));
+          }
+        }
+        for (int e = subGraph.edgeOffsets[i]; e < subGraph.edgeOffsets[i + 1]; e++) {
+          withTransition(
+              from,
+              subGraph.edgePredicates[e],
+              subGraph.identifierOf(subGraph.edgeTargets[e], exitTo));
+        }
+        withDefaultTransition(from, subGraph.identifierOf(subGraph.defaultTargets[i], exitTo));
+      }
+      return this;
+    }
+
+    /**
+     * Compiles this builder into a {@link QuestionGraph}
+     *
+     * @return question graph
+     * @throws IllegalArgumentException if a transition references an unknown question
+     */
+    public QuestionGraph<MessageType, SenderType> build() {
+      return new QuestionGraph<>(this);
+    }
+  }
+}
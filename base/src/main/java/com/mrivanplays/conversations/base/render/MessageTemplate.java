@@ -0,0 +1,267 @@
+package com.mrivanplays.conversations.base.render;
+
+import com.mrivanplays.conversations.base.ConversationPartner;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Represents a message with placeholders, which are filled in for the {@link ConversationPartner}
+ * it is sent to, e.g. with the partner's name or with the inputs given to previous questions.
+ *
+ * <p>Placeholders are written as {@code {key}}, and <code>&#123;&#123;</code> stands for a literal
+ * <code>&#123;</code>. A placeholder is resolved by the resolver specified for its key through
+ * {@link Builder#withPlaceholder(String, Function)}, or, if there is none, by the input given to
+ * the question with the key as identifier. A placeholder without an input is left as written.
+ *
+ * <p>The template is compiled once, when built: the text between placeholders is parsed into
+ * messages by the {@link TemplateFormat}, hence rendering only resolves the placeholders and joins
+ * the parts together. Since the text between placeholders is parsed piece by piece, formatting
+ * (e.g. legacy color codes) does not carry over placeholders.
+ *
+ * <p>Templates are immutable, hence can be shared between any amount of conversations.
+ *
+ * @param <MessageType> message type generic
+ * @param <SenderType> sender type (partner type) generic
+ * @author MrIvanPlays
+ */
+public final class MessageTemplate<
+    MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+  /**
+   * Creates a new {@link MessageTemplate.Builder}, which compiles templates into the specified
+   * {@link TemplateFormat} {@code format}
+   *
+   * @param format template format
+   * @param <MessageType> message type generic
+   * @param <SenderType> sender type (partner type) generic
+   * @return message template builder
+   */
+  public static <MessageType, SenderType extends ConversationPartner<MessageType>>
+      Builder<MessageType, SenderType> newBuilder(TemplateFormat<MessageType> format) {
+    return new Builder<>(Objects.requireNonNull(format, "format"));
+  }
+
+  private final String template;
+  private final TemplateFormat<MessageType> format;
+  private final Part<MessageType, SenderType>[] parts;
+  private final MessageType unrenderedMessage;
+
+  private MessageTemplate(
+      String template,
+      TemplateFormat<MessageType> format,
+      Part<MessageType, SenderType>[] parts,
+      MessageType unrenderedMessage) {
+    this.template = template;
+    this.format = format;
+    this.parts = parts;
+    this.unrenderedMessage = unrenderedMessage;
+  }
+
+  /**
+   * Renders this template for the specified {@code conversationPartner}
+   *
+   * @param conversationPartner conversation partner
+   * @param inputs the inputs given to previous questions, by question identifier. Returns null for
+   *     questions which have no input
+   * @return message
+   */
+  public MessageType render(
+      SenderType conversationPartner, Function<String, ? extends MessageType> inputs) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(inputs, "inputs");
+    List<MessageType> messages = new ArrayList<>(parts.length);
+    for (Part<MessageType, SenderType> part : parts) {
+      messages.add(part.fill(conversationPartner, inputs));
+    }
+    return format.join(messages);
+  }
+
+  /**
+   * Returns the message of this template with every placeholder left as written, for when there is
+   * no conversation partner to render it for.
+   *
+   * @return unrendered message
+   */
+  public MessageType getUnrenderedMessage() {
+    return unrenderedMessage;
+  }
+
+  /**
+   * Returns the template, as written.
+   *
+   * @return template
+   */
+  public String getTemplate() {
+    return template;
+  }
+
+  private interface Part<MessageType, SenderType> {
+
+    MessageType fill(
+        SenderType conversationPartner, Function<String, ? extends MessageType> inputs);
+
+    MessageType unfilled();
+  }
+
+  private static final class Literal<MessageType, SenderType>
+      implements Part<MessageType, SenderType> {
+
+    private final MessageType message;
+
+    private Literal(MessageType message) {
+      this.message = message;
+    }
+
+    @Override
+    public MessageType fill(
+        SenderType conversationPartner, Function<String, ? extends MessageType> inputs) {
+      return message;
+    }
+
+    @Override
+    public MessageType unfilled() {
+      return message;
+    }
+  }
+
+  private static final class Placeholder<MessageType, SenderType>
+      implements Part<MessageType, SenderType> {
+
+    private final String key;
+    private final Function<? super SenderType, ? extends MessageType> resolver;
+    // the placeholder as written, for inputs which aren't there
+    private final MessageType unresolved;
+
+    private Placeholder(
+        String key,
+        Function<? super SenderType, ? extends MessageType> resolver,
+        MessageType unresolved) {
+      this.key = key;
+      this.resolver = resolver;
+      this.unresolved = unresolved;
+    }
+
+    @Override
+    public MessageType fill(
+        SenderType conversationPartner, Function<String, ? extends MessageType> inputs) {
+      if (resolver != null) {
+        return Objects.requireNonNull(resolver.apply(conversationPartner), key);
+      }
+      MessageType input = inputs.apply(key);
+      return input != null ? input : unresolved;
+    }
+
+    @Override
+    public MessageType unfilled() {
+      return unresolved;
+    }
+  }
+
+  /**
+   * Represents a builder of {@link MessageTemplate}
+   *
+   * @author MrIvanPlays
+   */
+  public static final class Builder<
+      MessageType, SenderType extends ConversationPartner<MessageType>> {
+
+    private final TemplateFormat<MessageType> format;
+    private final Map<String, Function<? super SenderType, ? extends MessageType>> placeholders =
+        new HashMap<>();
+    private String template;
+
+    private Builder(TemplateFormat<MessageType> format) {
+      this.format = format;
+    }
+
+    /**
+     * Specify the template.
+     *
+     * @param val template
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withTemplate(String val) {
+      template = val;
+      return this;
+    }
+
+    /**
+     * Specify the resolver of the placeholder with the specified {@code key}.
+     *
+     * @param key placeholder key
+     * @param resolver placeholder resolver
+     * @return this instance for chaining
+     */
+    public Builder<MessageType, SenderType> withPlaceholder(
+        String key, Function<? super SenderType, ? extends MessageType> resolver) {
+      Objects.requireNonNull(key, "key");
+      placeholders.put(key, Objects.requireNonNull(resolver, "resolver"));
+      return this;
+    }
+
+    /**
+     * Compiles this builder into a {@link MessageTemplate}
+     *
+     * @return message template
+     */
+    @SuppressWarnings("unchecked")
+    public MessageTemplate<MessageType, SenderType> build() {
+      Objects.requireNonNull(template, "template");
+      List<Part<MessageType, SenderType>> parts = new ArrayList<>();
+      StringBuilder text = new StringBuilder();
+      int i = 0;
+      while (i < template.length()) {
+        char c = template.charAt(i);
+        if (c == '{' && i + 1 < template.length() && template.charAt(i + 1) == '{') {
+          text.append('{');
+          i += 2;
+          continue;
+        }
+        int end = c == '{' ? placeholderEnd(i) : -1;
+        if (end == -1) {
+          text.append(c);
+          i++;
+          continue;
+        }
+        if (text.length() != 0) {
+          parts.add(new Literal<>(format.parse(text.toString())));
+          text.setLength(0);
+        }
+        String key = template.substring(i + 1, end);
+        Function<? super SenderType, ? extends MessageType> resolver = placeholders.get(key);
+        MessageType unresolved = format.parse(template.substring(i, end + 1));
+        parts.add(new Placeholder<>(key, resolver, unresolved));
+        i = end + 1;
+      }
+      if (text.length() != 0) {
+        parts.add(new Literal<>(format.parse(text.toString())));
+      }
+      List<MessageType> unfilled = new ArrayList<>(parts.size());
+      for (Part<MessageType, SenderType> part : parts) {
+        unfilled.add(part.unfilled());
+      }
+      return new MessageTemplate<>(
+          template,
+          format,
+          parts.toArray((Part<MessageType, SenderType>[]) new Part<?, ?>[0]),
+          format.join(unfilled));
+    }
+
+    private int placeholderEnd(int start) {
+      for (int i = start + 1; i < template.length(); i++) {
+        char c = template.charAt(i);
+        if (c == '}') {
+          return i == start + 1 ? -1 : i;
+        }
+        if (c == '{') {
+          return -1;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.mrivanplays.conversations.base.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Represents a coalescer of the messages sent to conversation partners, which joins the messages a
+ * partner is sent between two {@link #flush() flushes} into a single message, one per line, so
+ * that they go out as a single packet rather than one packet each.
+ *
+ * <p>Every partner has its own {@link Buffer}, whilst the platform flushes the coalescer once per
+ * tick. When coalescing is disabled, which is the default, messages are sent straight away, each
+ * on its own.
+ *
+ * <p>The coalescer is safe to use from multiple threads at once.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public final class OutboundCoalescer<MessageType> {
+
+  private final TemplateFormat<MessageType> format;
+  private final MessageType separator;
+  private final Queue<Buffer<MessageType>> dirty = new ConcurrentLinkedQueue<>();
+  private volatile boolean enabled;
+
+  /**
+   * Creates a new {@link OutboundCoalescer}, which joins messages through the specified {@link
+   * TemplateFormat} {@code format}
+   *
+   * @param format format to join messages with
+   */
+  public OutboundCoalescer(TemplateFormat<MessageType> format) {
+    this.format = Objects.requireNonNull(format, "format");
+    this.separator = format.parse("\n");
+  }
+
+  /**
+   * Specify whether messages are held until the next {@link #flush()}. Disabling flushes the
+   * messages held.
+   *
+   * @param enabled whether to coalesce
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+    if (!enabled) {
+      flush();
+    }
+  }
+
+  /**
+   * Returns whether messages are held until the next {@link #flush()}.
+   *
+   * @return whether coalescing
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Sends the specified {@code message} to the partner of the specified {@code buffer}.
+   *
+   * @param buffer buffer of the partner
+   * @param message message to send
+   */
+  public void send(Buffer<MessageType> buffer, MessageType message) {
+    Objects.requireNonNull(message, "message");
+    if (!enabled) {
+      buffer.sink.accept(message);
+      return;
+    }
+    buffer.messages.add(message);
+    schedule(buffer);
+  }
+
+  /**
+   * Sends the specified {@code messages} to the partner of the specified {@code buffer}.
+   *
+   * @param buffer buffer of the partner
+   * @param messages messages to send
+   */
+  public void sendAll(Buffer<MessageType> buffer, List<MessageType> messages) {
+    if (messages.isEmpty()) {
+      return;
+    }
+    if (!enabled) {
+      for (int i = 0; i < messages.size(); i++) {
+        buffer.sink.accept(messages.get(i));
+      }
+      return;
+    }
+    buffer.messages.addAll(messages);
+    schedule(buffer);
+  }
+
+  private void schedule(Buffer<MessageType> buffer) {
+    if (buffer.scheduled.compareAndSet(false, true)) {
+      dirty.add(buffer);
+    }
+    if (!enabled) {
+      // disabled in the meantime, hence there may be no flush coming
+      flush();
+    }
+  }
+
+  /** Sends the messages held for every partner, joined into one message per partner. */
+  public void flush() {
+    Buffer<MessageType> buffer;
+    while ((buffer = dirty.poll()) != null) {
+      // cleared before draining, so that messages coming in whilst draining schedule the buffer
+      // again rather than getting stuck
+      buffer.scheduled.set(false);
+      List<MessageType> messages = new ArrayList<>();
+      MessageType message;
+      while ((message = buffer.messages.poll()) != null) {
+        messages.add(message);
+      }
+      if (!messages.isEmpty()) {
+        buffer.sink.accept(join(messages));
+      }
+    }
+  }
+
+  /**
+   * Joins the specified {@code messages} into a single message, one per line.
+   *
+   * @param messages messages to join
+   * @return message
+   */
+  public MessageType join(List<MessageType> messages) {
+    if (messages.size() == 1) {
+      return messages.get(0);
+    }
+    List<MessageType> parts = new ArrayList<>(messages.size() * 2 - 1);
+    for (int i = 0; i < messages.size(); i++) {
+      if (i != 0) {
+        parts.add(separator);
+      }
+      parts.add(messages.get(i));
+    }
+    return format.join(parts);
+  }
+
+  /**
+   * Represents the messages held for a single conversation partner.
+   *
+   * @param <MessageType> message type generic
+   */
+  public static final class Buffer<MessageType> {
+
+    private final Consumer<? super MessageType> sink;
+    private final Queue<MessageType> messages = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Creates a new {@link Buffer}
+     *
+     * @param sink the consumer which actually sends messages to the partner
+     */
+    public Buffer(Consumer<? super MessageType> sink) {
+      this.sink = Objects.requireNonNull(sink, "sink");
+    }
+  }
+}
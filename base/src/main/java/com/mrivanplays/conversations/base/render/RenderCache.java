@@ -0,0 +1,116 @@
+package com.mrivanplays.conversations.base.render;
+
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Represents a cache of the rendered forms of {@link Question} messages, keyed by the question and
+ * a render key, e.g. the locale of the conversation partner.
+ *
+ * <p>Question messages don't change, whilst the same question gets asked to a lot of conversation
+ * partners, hence rendering it once per render key, rather than once per send, saves the work of
+ * rendering it over and over again. Questions are compared by identity.
+ *
+ * <p>The cache holds up to a fixed amount of questions. Questions asked once the cache is full are
+ * rendered on every send, as they would be without a cache, so that questions built on the fly
+ * don't fill up the memory. The cache shall be {@link #clear() cleared} whenever what the renderer
+ * renders with changes, e.g. when translations are reloaded.
+ *
+ * <p>The cache is safe to use from multiple threads at once.
+ *
+ * @param <MessageType> message type generic
+ * @param <KeyType> render key type generic
+ * @author MrIvanPlays
+ */
+public final class RenderCache<MessageType, KeyType> {
+
+  /** The amount of questions a cache holds by default. */
+  public static final int DEFAULT_MAX_QUESTIONS = 1024;
+
+  private final Map<Question<MessageType, ?>, Map<KeyType, MessageType>> rendered =
+      new ConcurrentHashMap<>();
+  private final BiFunction<? super MessageType, ? super KeyType, ? extends MessageType> renderer;
+  private final int maxQuestions;
+
+  /**
+   * Creates a new {@link RenderCache}, holding up to {@link #DEFAULT_MAX_QUESTIONS} questions.
+   *
+   * @param renderer message renderer
+   */
+  public RenderCache(
+      BiFunction<? super MessageType, ? super KeyType, ? extends MessageType> renderer) {
+    this(renderer, DEFAULT_MAX_QUESTIONS);
+  }
+
+  /**
+   * Creates a new {@link RenderCache}
+   *
+   * @param renderer message renderer
+   * @param maxQuestions the amount of questions to hold at most
+   */
+  public RenderCache(
+      BiFunction<? super MessageType, ? super KeyType, ? extends MessageType> renderer,
+      int maxQuestions) {
+    this.renderer = Objects.requireNonNull(renderer, "renderer");
+    if (maxQuestions < 0) {
+      throw new IllegalArgumentException("maxQuestions cannot be negative");
+    }
+    this.maxQuestions = maxQuestions;
+  }
+
+  /**
+   * Returns the message of the specified {@code question}, rendered with the specified {@code
+   * key}. The message is only rendered if it wasn't already for the key.
+   *
+   * @param question question
+   * @param key render key
+   * @return rendered message
+   */
+  public MessageType render(Question<MessageType, ?> question, KeyType key) {
+    Objects.requireNonNull(question, "question");
+    Objects.requireNonNull(key, "key");
+    Map<KeyType, MessageType> byKey = rendered.get(question);
+    if (byKey == null) {
+      if (rendered.size() >= maxQuestions) {
+        return renderer.apply(question.getMessage(), key);
+      }
+      // a couple of locales per question is the common case
+      byKey = rendered.computeIfAbsent(question, $ -> new ConcurrentHashMap<>(4));
+    }
+    MessageType message = byKey.get(key);
+    if (message == null) {
+      message = Objects.requireNonNull(renderer.apply(question.getMessage(), key), "rendered");
+      MessageType raced = byKey.putIfAbsent(key, message);
+      if (raced != null) {
+        message = raced;
+      }
+    }
+    return message;
+  }
+
+  /**
+   * Removes the rendered forms of the message of the specified {@code question}.
+   *
+   * @param question question
+   */
+  public void invalidate(Question<MessageType, ?> question) {
+    rendered.remove(Objects.requireNonNull(question, "question"));
+  }
+
+  /** Removes all rendered messages. */
+  public void clear() {
+    rendered.clear();
+  }
+
+  /**
+   * Returns the amount of questions which have rendered forms cached.
+   *
+   * @return amount of questions
+   */
+  public int size() {
+    return rendered.size();
+  }
+}
@@ -0,0 +1,157 @@
+package com.mrivanplays.conversations.base.render;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Represents the format of the messages a {@link MessageTemplate} is compiled into: how the text
+ * of the template is turned into messages, and how the parts of a message are put together.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public interface TemplateFormat<MessageType> {
+
+  /**
+   * Returns the format of plain {@link String} messages.
+   *
+   * @return plain format
+   */
+  static TemplateFormat<String> plain() {
+    return PlainFormat.INSTANCE;
+  }
+
+  /**
+   * Creates a new {@link TemplateFormat}, which parses text with the specified {@code parser} and
+   * puts the parts of a message together with the specified {@code joiner}.
+   *
+   * @param parser text parser
+   * @param joiner message parts joiner
+   * @param <MessageType> message type generic
+   * @return format
+   */
+  static <MessageType> TemplateFormat<MessageType> of(
+      Function<String, MessageType> parser, Function<List<MessageType>, MessageType> joiner) {
+    return new FunctionFormat<>(
+        Objects.requireNonNull(parser, "parser"), Objects.requireNonNull(joiner, "joiner"));
+  }
+
+  /**
+   * Creates a new {@link TemplateFormat} of array messages, e.g. arrays of components, which parses
+   * text with the specified {@code parser} and puts the parts of a message together by
+   * concatenating them.
+   *
+   * @param parser text parser
+   * @param arrayFactory creates arrays of the specified length
+   * @param <T> array element type generic
+   * @return format
+   */
+  static <T> TemplateFormat<T[]> ofArrays(
+      Function<String, T[]> parser, IntFunction<T[]> arrayFactory) {
+    return new ArrayFormat<>(
+        Objects.requireNonNull(parser, "parser"),
+        Objects.requireNonNull(arrayFactory, "arrayFactory"));
+  }
+
+  /**
+   * Parses the specified {@code text} of a template into a message. This is called once, when the
+   * template is compiled.
+   *
+   * @param text text
+   * @return message
+   */
+  MessageType parse(String text);
+
+  /**
+   * Puts the specified {@code parts} together into a single message. This is called every time
+   * the template is rendered.
+   *
+   * @param parts message parts
+   * @return message
+   */
+  MessageType join(List<MessageType> parts);
+
+  /** The format of {@link #of(Function, Function)} */
+  final class FunctionFormat<MessageType> implements TemplateFormat<MessageType> {
+
+    private final Function<String, MessageType> parser;
+    private final Function<List<MessageType>, MessageType> joiner;
+
+    private FunctionFormat(
+        Function<String, MessageType> parser, Function<List<MessageType>, MessageType> joiner) {
+      this.parser = parser;
+      this.joiner = joiner;
+    }
+
+    @Override
+    public MessageType parse(String text) {
+      return parser.apply(text);
+    }
+
+    @Override
+    public MessageType join(List<MessageType> parts) {
+      return joiner.apply(parts);
+    }
+  }
+
+  /** The format of {@link #ofArrays(Function, IntFunction)} */
+  final class ArrayFormat<T> implements TemplateFormat<T[]> {
+
+    private final Function<String, T[]> parser;
+    private final IntFunction<T[]> arrayFactory;
+
+    private ArrayFormat(Function<String, T[]> parser, IntFunction<T[]> arrayFactory) {
+      this.parser = parser;
+      this.arrayFactory = arrayFactory;
+    }
+
+    @Override
+    public T[] parse(String text) {
+      return parser.apply(text);
+    }
+
+    @Override
+    public T[] join(List<T[]> parts) {
+      int length = 0;
+      for (int i = 0; i < parts.size(); i++) {
+        length += parts.get(i).length;
+      }
+      T[] message = arrayFactory.apply(length);
+      int position = 0;
+      for (int i = 0; i < parts.size(); i++) {
+        T[] part = parts.get(i);
+        System.arraycopy(part, 0, message, position, part.length);
+        position += part.length;
+      }
+      return message;
+    }
+  }
+
+  /** The format of {@link #plain()} */
+  final class PlainFormat implements TemplateFormat<String> {
+
+    private static final PlainFormat INSTANCE = new PlainFormat();
+
+    private PlainFormat() {}
+
+    @Override
+    public String parse(String text) {
+      return text;
+    }
+
+    @Override
+    public String join(List<String> parts) {
+      int length = 0;
+      for (int i = 0; i < parts.size(); i++) {
+        length += parts.get(i).length();
+      }
+      StringBuilder message = new StringBuilder(length);
+      for (int i = 0; i < parts.size(); i++) {
+        message.append(parts.get(i));
+      }
+      return message.toString();
+    }
+  }
+}
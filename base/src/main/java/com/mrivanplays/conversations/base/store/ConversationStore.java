@@ -0,0 +1,93 @@
+package com.mrivanplays.conversations.base.store;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.ConversationTemplate;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Represents a persistent store of in-progress {@link Conversation conversations}, so that they
+ * survive restarts. Set on a {@link ConversationManager} through {@link
+ * ConversationManager#setStore(ConversationStore)}. Only conversations built from a {@link
+ * ConversationTemplate} with an identifier are stored, since the template is what they are
+ * restored from.
+ *
+ * <p>The recording methods are called on the threads the conversations do their work on, e.g.
+ * async chat threads, hence implementations shall not do any I/O on the calling thread.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ * @see JournalConversationStore
+ * @see ConversationManager#restoreConversations(java.util.function.BiFunction)
+ */
+public interface ConversationStore<MessageType> {
+
+  /**
+   * Records that the specified conversation partner started a conversation from the template with
+   * the specified identifier. Anything stored for the partner before is discarded.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param templateIdentifier template identifier
+   */
+  void conversationStarted(UUID conversationPartner, String templateIdentifier);
+
+  /**
+   * Records that the specified conversation partner got asked the question with the specified
+   * identifier.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param questionIdentifier question identifier
+   * @param timeoutDeadline the time, in milliseconds since the epoch, at which the question times
+   *     out, or -1 if it doesn't
+   */
+  void questionAsked(UUID conversationPartner, String questionIdentifier, long timeoutDeadline);
+
+  /**
+   * Records that the specified conversation partner answered the question with the specified
+   * identifier with the specified, valid, {@code input}.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param questionIdentifier question identifier
+   * @param input accepted input
+   */
+  void inputAccepted(UUID conversationPartner, String questionIdentifier, MessageType input);
+
+  /**
+   * Records that the conversation of the specified conversation partner ended, so that it is no
+   * longer stored.
+   *
+   * @param conversationPartner conversation partner unique id
+   */
+  void conversationEnded(UUID conversationPartner);
+
+  /**
+   * Returns the conversations which were in progress when this store was opened, and which have
+   * been neither restored nor ended since.
+   *
+   * @return stored conversations
+   */
+  Collection<StoredConversation<MessageType>> getStoredConversations();
+
+  /**
+   * Returns the stored conversation of the specified conversation partner, if any.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @return stored conversation or null
+   * @see #getStoredConversations()
+   */
+  StoredConversation<MessageType> getStoredConversation(UUID conversationPartner);
+
+  /**
+   * Removes the stored conversation of the specified conversation partner from the {@link
+   * #getStoredConversations() stored conversations}, since it is being restored, and returns it.
+   * The conversation's records are kept, as the restored conversation goes on recording to them.
+   *
+   * @param conversationPartner conversation partner unique id
+   * @return stored conversation or null if there isn't one or another thread took it
+   */
+  StoredConversation<MessageType> takeStoredConversation(UUID conversationPartner);
+
+  /** Flushes anything recorded and releases the resources of this store, if any. */
+  default void shutdown() {}
+}
@@ -0,0 +1,474 @@
+package com.mrivanplays.conversations.base.store;
+
+import com.mrivanplays.conversations.base.store.StoredConversation.Answer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Represents a {@link ConversationStore} implementation, which appends records to a local,
+ * memory-mapped journal file.
+ *
+ * <p>Recording only enqueues the record, which is then written by a single writer thread. The
+ * writer wakes up once per flush interval, appends everything enqueued since and syncs the file
+ * once for the whole batch, so a crash loses at most the records of the last flush interval. Every
+ * record is checksummed, so that a record which was torn by a crash is detected and dropped when
+ * the journal is opened, along with anything after it.
+ *
+ * <p>When the journal is opened, and whenever more than half of it is taken by records of
+ * conversations which have ended, it is compacted: it is rewritten with only the records of the
+ * conversations still in progress, and atomically swapped in place of the old one.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public class JournalConversationStore<MessageType> implements ConversationStore<MessageType> {
+
+  private static final byte RECORD_START = 1;
+  private static final byte RECORD_ASK = 2;
+  private static final byte RECORD_ANSWER = 3;
+  private static final byte RECORD_END = 4;
+
+  // record length and checksum
+  private static final int HEADER_SIZE = 8;
+  private static final int REGION_SIZE = 1 << 20;
+
+  private final Path file;
+  private final MessageCodec<MessageType> codec;
+  private final long flushIntervalNanos;
+  private final Queue<Op<MessageType>> ops = new ConcurrentLinkedQueue<>();
+  private final Map<UUID, StoredConversation<MessageType>> stored = new ConcurrentHashMap<>();
+  private final Thread writer;
+
+  private volatile boolean shutdown = false;
+
+  // owned by the writer thread once it has started
+  private final Map<UUID, Journaled> live = new LinkedHashMap<>();
+  private final CRC32 crc = new CRC32();
+  private FileChannel channel;
+  private MappedByteBuffer region;
+  private long position;
+  private long liveBytes;
+
+  /**
+   * Opens the journal at the specified file, creating it if it doesn't exist, flushing it every
+   * 100 milliseconds.
+   *
+   * @param file journal file
+   * @param codec codec of the stored inputs
+   * @throws IOException if the journal could not be opened
+   */
+  public JournalConversationStore(Path file, MessageCodec<MessageType> codec)
+      throws IOException {
+    this(file, codec, 100, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Opens the journal at the specified file, creating it if it doesn't exist.
+   *
+   * @param file journal file
+   * @param codec codec of the stored inputs
+   * @param flushInterval the interval at which the journal is written and synced
+   * @param flushUnit the time unit of the flush interval
+   * @throws IOException if the journal could not be opened
+   */
+  public JournalConversationStore(
+      Path file, MessageCodec<MessageType> codec, long flushInterval, TimeUnit flushUnit)
+      throws IOException {
+    this.file = Objects.requireNonNull(file, "file").toAbsolutePath();
+    this.codec = Objects.requireNonNull(codec, "codec");
+    Objects.requireNonNull(flushUnit, "flushUnit");
+    if (flushInterval <= 0) {
+      throw new IllegalArgumentException("flushInterval must be positive");
+    }
+    this.flushIntervalNanos = flushUnit.toNanos(flushInterval);
+    if (this.file.getParent() != null) {
+      Files.createDirectories(this.file.getParent());
+    }
+    replay();
+    compact();
+    this.writer = new Thread(this::write, "Conversations Journal Writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void conversationStarted(UUID conversationPartner, String templateIdentifier) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(templateIdentifier, "templateIdentifier");
+    if (shutdown) {
+      return;
+    }
+    stored.remove(conversationPartner);
+    ops.offer(new Op<>(RECORD_START, conversationPartner, templateIdentifier, -1, null));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void questionAsked(
+      UUID conversationPartner, String questionIdentifier, long timeoutDeadline) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(questionIdentifier, "questionIdentifier");
+    if (shutdown) {
+      return;
+    }
+    ops.offer(new Op<>(RECORD_ASK, conversationPartner, questionIdentifier, timeoutDeadline, null));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void inputAccepted(
+      UUID conversationPartner, String questionIdentifier, MessageType input) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    Objects.requireNonNull(questionIdentifier, "questionIdentifier");
+    Objects.requireNonNull(input, "input");
+    if (shutdown) {
+      return;
+    }
+    ops.offer(new Op<>(RECORD_ANSWER, conversationPartner, questionIdentifier, -1, input));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void conversationEnded(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    if (shutdown) {
+      return;
+    }
+    stored.remove(conversationPartner);
+    ops.offer(new Op<>(RECORD_END, conversationPartner, null, -1, null));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Collection<StoredConversation<MessageType>> getStoredConversations() {
+    return Collections.unmodifiableCollection(stored.values());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public StoredConversation<MessageType> getStoredConversation(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    return stored.get(conversationPartner);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public StoredConversation<MessageType> takeStoredConversation(UUID conversationPartner) {
+    Objects.requireNonNull(conversationPartner, "conversationPartner");
+    return stored.remove(conversationPartner);
+  }
+
+  /**
+   * Writes and syncs everything recorded so far, then closes the journal. Anything recorded
+   * afterwards is discarded, hence shutting the store down before the server ends the
+   * conversations in progress, e.g. by disconnecting their partners, keeps them stored. Blocks
+   * until the writer thread is done.
+   */
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    LockSupport.unpark(writer);
+    boolean interrupted = false;
+    while (writer.isAlive()) {
+      try {
+        writer.join();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void write() {
+    while (true) {
+      // read before draining, so that everything enqueued before the shutdown gets written
+      boolean stop = shutdown;
+      boolean wrote = false;
+      Op<MessageType> op;
+      while ((op = ops.poll()) != null) {
+        try {
+          append(encode(op));
+        } catch (Throwable t) {
+          report(t);
+        }
+        wrote = true;
+      }
+      if (wrote) {
+        try {
+          region.force();
+          if (position >= REGION_SIZE && liveBytes < position / 2) {
+            compact();
+          }
+        } catch (Throwable t) {
+          report(t);
+        }
+      }
+      if (stop) {
+        break;
+      }
+      LockSupport.parkNanos(this, flushIntervalNanos);
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      report(e);
+    }
+  }
+
+  private void append(byte[] record) throws IOException {
+    if (region.remaining() < record.length) {
+      region.force();
+      long size = Math.max(REGION_SIZE, record.length);
+      region = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+    }
+    region.put(record);
+    position += record.length;
+    apply(record);
+  }
+
+  private void replay() throws IOException {
+    if (!Files.exists(file)) {
+      return;
+    }
+    try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+      while (buffer.remaining() >= HEADER_SIZE) {
+        int length = buffer.getInt(buffer.position());
+        int checksum = buffer.getInt(buffer.position() + 4);
+        if (length <= 0 || length > buffer.remaining() - HEADER_SIZE) {
+          // either the zeroed tail of the last region or a torn record
+          break;
+        }
+        byte[] record = new byte[HEADER_SIZE + length];
+        buffer.get(record);
+        crc.reset();
+        crc.update(record, HEADER_SIZE, length);
+        if ((int) crc.getValue() != checksum) {
+          break;
+        }
+        apply(record);
+      }
+    }
+    for (Map.Entry<UUID, Journaled> entry : live.entrySet()) {
+      StoredConversation<MessageType> conversation = restore(entry.getKey(), entry.getValue());
+      if (conversation != null) {
+        stored.put(entry.getKey(), conversation);
+      }
+    }
+    // conversations which could not be decoded get dropped by the compaction
+    live.keySet().retainAll(stored.keySet());
+    liveBytes = 0;
+    for (Journaled journaled : live.values()) {
+      liveBytes += journaled.size;
+    }
+  }
+
+  private StoredConversation<MessageType> restore(UUID conversationPartner, Journaled journaled) {
+    try {
+      String templateIdentifier = readString(payload(journaled.start));
+      List<Answer<MessageType>> answers = new ArrayList<>(journaled.answers.size());
+      for (byte[] record : journaled.answers) {
+        ByteBuffer payload = payload(record);
+        String questionIdentifier = readString(payload);
+        byte[] input = new byte[payload.getInt()];
+        payload.get(input);
+        answers.add(new Answer<>(questionIdentifier, codec.decode(input)));
+      }
+      String questionIdentifier = null;
+      long timeoutDeadline = -1;
+      if (journaled.ask != null) {
+        ByteBuffer payload = payload(journaled.ask);
+        questionIdentifier = readString(payload);
+        timeoutDeadline = payload.getLong();
+      }
+      return new StoredConversation<>(
+          conversationPartner, templateIdentifier, answers, questionIdentifier, timeoutDeadline);
+    } catch (Throwable t) {
+      report(t);
+      return null;
+    }
+  }
+
+  private void compact() throws IOException {
+    Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+    try (FileChannel out =
+        FileChannel.open(
+            compacted,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      for (Journaled journaled : live.values()) {
+        writeFully(out, journaled.start);
+        for (byte[] record : journaled.answers) {
+          writeFully(out, record);
+        }
+        if (journaled.ask != null) {
+          writeFully(out, journaled.ask);
+        }
+      }
+      out.force(true);
+    }
+    Files.move(
+        compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    if (channel != null) {
+      channel.close();
+    }
+    channel =
+        FileChannel.open(
+            file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    position = liveBytes;
+    region = channel.map(FileChannel.MapMode.READ_WRITE, position, REGION_SIZE);
+  }
+
+  private static void writeFully(FileChannel out, byte[] record) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  private void apply(byte[] record) {
+    ByteBuffer payload = ByteBuffer.wrap(record, HEADER_SIZE, record.length - HEADER_SIZE);
+    byte type = payload.get();
+    UUID conversationPartner = new UUID(payload.getLong(), payload.getLong());
+    if (type == RECORD_START) {
+      Journaled previous = live.put(conversationPartner, new Journaled(record));
+      if (previous != null) {
+        liveBytes -= previous.size;
+      }
+      liveBytes += record.length;
+      return;
+    }
+    Journaled journaled =
+        type == RECORD_END ? live.remove(conversationPartner) : live.get(conversationPartner);
+    if (journaled == null) {
+      return;
+    }
+    if (type == RECORD_END) {
+      liveBytes -= journaled.size;
+    } else if (type == RECORD_ANSWER) {
+      journaled.answers.add(record);
+      journaled.size += record.length;
+      liveBytes += record.length;
+    } else if (type == RECORD_ASK) {
+      long previousSize = journaled.ask != null ? journaled.ask.length : 0;
+      journaled.ask = record;
+      journaled.size += record.length - previousSize;
+      liveBytes += record.length - previousSize;
+    }
+  }
+
+  private byte[] encode(Op<MessageType> op) {
+    byte[] identifier =
+        op.identifier != null ? op.identifier.getBytes(StandardCharsets.UTF_8) : null;
+    byte[] input = op.input != null ? codec.encode(op.input) : null;
+    int length = 1 + 16;
+    if (identifier != null) {
+      length += 4 + identifier.length;
+    }
+    if (op.type == RECORD_ASK) {
+      length += 8;
+    }
+    if (input != null) {
+      length += 4 + input.length;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + length);
+    buffer.putInt(length).putInt(0);
+    buffer.put(op.type);
+    buffer.putLong(op.conversationPartner.getMostSignificantBits());
+    buffer.putLong(op.conversationPartner.getLeastSignificantBits());
+    if (identifier != null) {
+      buffer.putInt(identifier.length).put(identifier);
+    }
+    if (op.type == RECORD_ASK) {
+      buffer.putLong(op.timeoutDeadline);
+    }
+    if (input != null) {
+      buffer.putInt(input.length).put(input);
+    }
+    byte[] record = buffer.array();
+    crc.reset();
+    crc.update(record, HEADER_SIZE, length);
+    buffer.putInt(4, (int) crc.getValue());
+    return record;
+  }
+
+  private static ByteBuffer payload(byte[] record) {
+    // skips the header, the record type and the conversation partner
+    return ByteBuffer.wrap(record, HEADER_SIZE + 1 + 16, record.length - HEADER_SIZE - 1 - 16);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void report(Throwable t) {
+    Thread current = Thread.currentThread();
+    current
+        .getUncaughtExceptionHandler()
+        .uncaughtException(
+            current, t instanceof IOException ? new UncheckedIOException((IOException) t) : t);
+  }
+
+  private static final class Journaled {
+
+    private final byte[] start;
+    private final List<byte[]> answers = new ArrayList<>();
+    private byte[] ask;
+    private long size;
+
+    private Journaled(byte[] start) {
+      this.start = start;
+      this.size = start.length;
+    }
+  }
+
+  private static final class Op<MessageType> {
+
+    private final byte type;
+    private final UUID conversationPartner;
+    private final String identifier;
+    private final long timeoutDeadline;
+    private final MessageType input;
+
+    private Op(
+        byte type,
+        UUID conversationPartner,
+        String identifier,
+        long timeoutDeadline,
+        MessageType input) {
+      this.type = type;
+      this.conversationPartner = conversationPartner;
+      this.identifier = identifier;
+      this.timeoutDeadline = timeoutDeadline;
+      this.input = input;
+    }
+  }
+}
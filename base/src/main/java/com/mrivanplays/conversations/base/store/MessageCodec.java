@@ -0,0 +1,55 @@
+package com.mrivanplays.conversations.base.store;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a converter of messages to bytes and back, used by {@link ConversationStore stores}
+ * which persist conversation inputs.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public interface MessageCodec<MessageType> {
+
+  /**
+   * Returns a {@link MessageCodec} for {@link String} messages, encoding them as UTF-8.
+   *
+   * @return string codec
+   */
+  static MessageCodec<String> utf8() {
+    return StringCodec.INSTANCE;
+  }
+
+  /**
+   * Encodes the specified {@code message} to bytes.
+   *
+   * @param message message
+   * @return encoded message
+   */
+  byte[] encode(MessageType message);
+
+  /**
+   * Decodes a message from the specified {@code bytes}, encoded by {@link #encode(Object)}.
+   *
+   * @param bytes encoded message
+   * @return message
+   */
+  MessageType decode(byte[] bytes);
+
+  final class StringCodec implements MessageCodec<String> {
+
+    private static final StringCodec INSTANCE = new StringCodec();
+
+    private StringCodec() {}
+
+    @Override
+    public byte[] encode(String message) {
+      return message.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(byte[] bytes) {
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.mrivanplays.conversations.base.store;
+
+import com.mrivanplays.conversations.base.ConversationTemplate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Represents a conversation, which was in progress when a {@link ConversationStore} last stored
+ * it, and which can be restored.
+ *
+ * @param <MessageType> message type generic
+ * @author MrIvanPlays
+ */
+public final class StoredConversation<MessageType> {
+
+  private final UUID conversationPartner;
+  private final String templateIdentifier;
+  private final List<Answer<MessageType>> answers;
+  private final String questionIdentifier;
+  private final int questionIndex;
+  private final long timeoutDeadline;
+
+  /**
+   * Creates a new {@link StoredConversation}
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param templateIdentifier identifier of the template the conversation was built from
+   * @param answers accepted inputs, in the order they were accepted
+   * @param questionIdentifier identifier of the question last asked. could be null
+   * @param timeoutDeadline the time, in milliseconds since the epoch, at which the question last
+   *     asked times out, or -1 if it doesn't
+   */
+  public StoredConversation(
+      UUID conversationPartner,
+      String templateIdentifier,
+      List<Answer<MessageType>> answers,
+      String questionIdentifier,
+      long timeoutDeadline) {
+    this(conversationPartner, templateIdentifier, answers, questionIdentifier, -1, timeoutDeadline);
+  }
+
+  /**
+   * Creates a new {@link StoredConversation}
+   *
+   * @param conversationPartner conversation partner unique id
+   * @param templateIdentifier identifier of the template the conversation was built from
+   * @param answers accepted inputs, in the order they were accepted
+   * @param questionIdentifier identifier of the question last asked. could be null
+   * @param questionIndex index of the question last asked into the question graph of the
+   *     template, or -1 if unknown
+   * @param timeoutDeadline the time, in milliseconds since the epoch, at which the question last
+   *     asked times out, or -1 if it doesn't
+   */
+  public StoredConversation(
+      UUID conversationPartner,
+      String templateIdentifier,
+      List<Answer<MessageType>> answers,
+      String questionIdentifier,
+      int questionIndex,
+      long timeoutDeadline) {
+    this.conversationPartner = Objects.requireNonNull(conversationPartner, "conversationPartner");
+    this.templateIdentifier = Objects.requireNonNull(templateIdentifier, "templateIdentifier");
+    this.answers = Collections.unmodifiableList(Objects.requireNonNull(answers, "answers"));
+    this.questionIdentifier = questionIdentifier;
+    this.questionIndex = questionIndex;
+    this.timeoutDeadline = timeoutDeadline;
+  }
+
+  /**
+   * Returns the unique id of the conversation partner.
+   *
+   * @return conversation partner unique id
+   */
+  public UUID getConversationPartner() {
+    return conversationPartner;
+  }
+
+  /**
+   * Returns the identifier of the {@link ConversationTemplate} the conversation was built from.
+   *
+   * @return template identifier
+   */
+  public String getTemplateIdentifier() {
+    return templateIdentifier;
+  }
+
+  /**
+   * Returns the accepted inputs, in the order they were accepted.
+   *
+   * @return answers
+   */
+  public List<Answer<MessageType>> getAnswers() {
+    return answers;
+  }
+
+  /**
+   * Returns the identifier of the question last asked. Could be null.
+   *
+   * @return question identifier
+   */
+  public String getQuestionIdentifier() {
+    return questionIdentifier;
+  }
+
+  /**
+   * Returns the index of the question last asked into the question graph of the template, or -1 if
+   * unknown. If known, the conversation is restored straight onto that question, rather than by
+   * walking the answers through the graph, hence the answers only need to hold the last input of
+   * every question.
+   *
+   * @return question index
+   */
+  public int getQuestionIndex() {
+    return questionIndex;
+  }
+
+  /**
+   * Returns the time, in milliseconds since the epoch, at which the question last asked times out,
+   * or -1 if it doesn't.
+   *
+   * @return timeout deadline
+   */
+  public long getTimeoutDeadline() {
+    return timeoutDeadline;
+  }
+
+  /**
+   * Represents an accepted input of a {@link StoredConversation}.
+   *
+   * @param <MessageType> message type generic
+   * @author MrIvanPlays
+   */
+  public static final class Answer<MessageType> {
+
+    private final String questionIdentifier;
+    private final MessageType input;
+
+    /**
+     * Creates a new {@link Answer}
+     *
+     * @param questionIdentifier identifier of the answered question
+     * @param input accepted input
+     */
+    public Answer(String questionIdentifier, MessageType input) {
+      this.questionIdentifier = Objects.requireNonNull(questionIdentifier, "questionIdentifier");
+      this.input = Objects.requireNonNull(input, "input");
+    }
+
+    /**
+     * Returns the identifier of the answered question.
+     *
+     * @return question identifier
+     */
+    public String getQuestionIdentifier() {
+      return questionIdentifier;
+    }
+
+    /**
+     * Returns the accepted input.
+     *
+     * @return input
+     */
+    public MessageType getInput() {
+      return input;
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package com.mrivanplays.conversations.base.timeout;
 
-import java.util.concurrent.Executors;
+import java.util.Objects;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 /**
  * Represents a {@link TimeoutScheduler} implementation using java's {@link
@@ -13,14 +16,32 @@ import java.util.concurrent.TimeUnit;
  */
 public class ExecutorServiceTimeoutScheduler implements TimeoutScheduler {
 
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_CALLED = 2;
+
   private final ScheduledExecutorService service;
+  private final LongSupplier nanoTime;
 
   public ExecutorServiceTimeoutScheduler() {
-    service = Executors.newScheduledThreadPool(3);
+    this(createExecutor());
   }
 
   public ExecutorServiceTimeoutScheduler(ScheduledExecutorService service) {
+    this(service, System::nanoTime);
+  }
+
+  // the clock deadlines are measured with, which tests move by hand along with the service
+  ExecutorServiceTimeoutScheduler(ScheduledExecutorService service, LongSupplier nanoTime) {
     this.service = service;
+    this.nanoTime = nanoTime;
+  }
+
+  private static ScheduledExecutorService createExecutor() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(3);
+    // otherwise cancelled timeouts stay into the delay queue until their deadline
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
   }
 
   /**
@@ -28,7 +49,14 @@ public class ExecutorServiceTimeoutScheduler implements TimeoutScheduler {
    */
   @Override
   public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
-    return new ExecutorServiceTimeoutTask(service.schedule(task, time, timeUnit));
+    Objects.requireNonNull(task, "task");
+    ExecutorServiceTimeoutTask timeoutTask = new ExecutorServiceTimeoutTask(task);
+    long delay = timeUnit.toNanos(time);
+    synchronized (timeoutTask) {
+      timeoutTask.deadline = nanoTime.getAsLong() + delay;
+      timeoutTask.arm(delay);
+    }
+    return timeoutTask;
   }
 
   /**
@@ -39,22 +67,77 @@ public class ExecutorServiceTimeoutScheduler implements TimeoutScheduler {
     service.shutdown();
   }
 
-  private static class ExecutorServiceTimeoutTask implements TimeoutTask {
+  // a single future is kept per timeout, armed for the earliest deadline it has had since it last
+  // fired. rescheduling to a later deadline only moves the deadline, and the future is armed again
+  // for the rest of the time once it fires
+  private class ExecutorServiceTimeoutTask implements TimeoutTask {
+
+    private final Runnable task;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
 
-    private final ScheduledFuture<?> parent;
+    // guarded by this
+    private long deadline;
+    private long armedAt;
+    private ScheduledFuture<?> future;
 
-    ExecutorServiceTimeoutTask(ScheduledFuture<?> parent) {
-      this.parent = parent;
+    ExecutorServiceTimeoutTask(Runnable task) {
+      this.task = task;
+    }
+
+    private void arm(long delay) {
+      long armedAt = nanoTime.getAsLong() + delay;
+      this.armedAt = armedAt;
+      future = service.schedule(() -> fire(armedAt), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void fire(long armedAt) {
+      synchronized (this) {
+        // a future which was replaced by an earlier one, but ran before it got cancelled
+        if (state.get() != STATE_PENDING || armedAt != this.armedAt) {
+          return;
+        }
+        long now = nanoTime.getAsLong();
+        if (now - deadline < 0) {
+          arm(deadline - now);
+          return;
+        }
+        // called whilst holding the lock, so that a reschedule can't slip in before the call
+        if (!state.compareAndSet(STATE_PENDING, STATE_CALLED)) {
+          return;
+        }
+      }
+      task.run();
     }
 
     @Override
     public boolean hasCalled() {
-      return parent.isDone();
+      return state.get() == STATE_CALLED;
     }
 
     @Override
     public void cancel() {
-      parent.cancel(false);
+      if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        synchronized (this) {
+          future.cancel(false);
+        }
+      }
+    }
+
+    @Override
+    public boolean reschedule(long time, TimeUnit timeUnit) {
+      long delay = timeUnit.toNanos(time);
+      synchronized (this) {
+        if (state.get() != STATE_PENDING) {
+          return false;
+        }
+        deadline = nanoTime.getAsLong() + delay;
+        if (deadline - armedAt < 0) {
+          ScheduledFuture<?> previous = future;
+          arm(delay);
+          previous.cancel(false);
+        }
+      }
+      return true;
     }
   }
 }
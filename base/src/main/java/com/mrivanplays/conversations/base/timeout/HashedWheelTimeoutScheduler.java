@@ -0,0 +1,289 @@
+package com.mrivanplays.conversations.base.timeout;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a {@link TimeoutScheduler} implementation using a hashed timing wheel.
+ *
+ * <p>Scheduling and cancelling a timeout are both O(1) and only enqueue the timeout for a single
+ * driver thread, which advances the wheel once per tick. Cancelled timeouts are unlinked from the
+ * wheel on the next tick, rather than staying around until their deadline, so this scheduler can
+ * hold millions of pending timeouts with a small footprint. The trade-off is precision: timeouts
+ * fire on the first tick after their deadline. Rescheduling a timeout is O(1) as well; the timeout
+ * is moved to its new bucket on the next tick.
+ *
+ * @author MrIvanPlays
+ */
+public class HashedWheelTimeoutScheduler implements TimeoutScheduler {
+
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_CALLED = 2;
+  private static final int STATE_RESCHEDULING = 3;
+
+  private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final int mask;
+  private final Executor taskExecutor;
+  private final Queue<WheelTimeoutTask> scheduledTasks = new ConcurrentLinkedQueue<>();
+  private final Queue<WheelTimeoutTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pendingTasks = new AtomicLong();
+  private final Thread driver;
+  private final long startTime;
+
+  private volatile boolean shutdown = false;
+  private long tick;
+
+  /** Creates a new timing wheel with 100 millisecond ticks and 512 ticks per wheel. */
+  public HashedWheelTimeoutScheduler() {
+    this(100, TimeUnit.MILLISECONDS, 512);
+  }
+
+  /**
+   * Creates a new timing wheel, running the timeout tasks on its driver thread.
+   *
+   * @param tickDuration the duration of a single tick
+   * @param tickUnit the time unit of the tick duration
+   * @param ticksPerWheel the amount of ticks per wheel (buckets). Rounded up to a power of two.
+   */
+  public HashedWheelTimeoutScheduler(long tickDuration, TimeUnit tickUnit, int ticksPerWheel) {
+    this(tickDuration, tickUnit, ticksPerWheel, Runnable::run);
+  }
+
+  /**
+   * Creates a new timing wheel.
+   *
+   * @param tickDuration the duration of a single tick
+   * @param tickUnit the time unit of the tick duration
+   * @param ticksPerWheel the amount of ticks per wheel (buckets). Rounded up to a power of two.
+   * @param taskExecutor the executor to run the timeout tasks on
+   */
+  public HashedWheelTimeoutScheduler(
+      long tickDuration, TimeUnit tickUnit, int ticksPerWheel, Executor taskExecutor) {
+    Objects.requireNonNull(tickUnit, "tickUnit");
+    if (tickDuration <= 0) {
+      throw new IllegalArgumentException("tickDuration must be positive");
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+      throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30");
+    }
+    this.tickNanos = Math.max(tickUnit.toNanos(tickDuration), 1);
+    int buckets = 1;
+    while (buckets < ticksPerWheel) {
+      buckets <<= 1;
+    }
+    this.wheel = new Bucket[buckets];
+    for (int i = 0; i < buckets; i++) {
+      this.wheel[i] = new Bucket();
+    }
+    this.mask = buckets - 1;
+    this.taskExecutor = Objects.requireNonNull(taskExecutor, "taskExecutor");
+    this.startTime = System.nanoTime();
+    this.driver = new Thread(this::drive, "Conversations Timeout Wheel");
+    this.driver.setDaemon(true);
+    this.driver.start();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
+    Objects.requireNonNull(task, "task");
+    Objects.requireNonNull(timeUnit, "timeUnit");
+    if (shutdown) {
+      throw new IllegalStateException("Scheduler is shut down");
+    }
+    WheelTimeoutTask timeoutTask =
+        new WheelTimeoutTask(task, System.nanoTime() - startTime + timeUnit.toNanos(time));
+    pendingTasks.incrementAndGet();
+    scheduledTasks.offer(timeoutTask);
+    return timeoutTask;
+  }
+
+  /**
+   * Returns the amount of timeouts which are neither called nor cancelled yet.
+   *
+   * @return pending timeout count
+   */
+  public long getPendingTimeouts() {
+    return pendingTasks.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    driver.interrupt();
+  }
+
+  private void drive() {
+    while (!shutdown) {
+      long deadline = tickNanos * (tick + 1);
+      long sleepNanos = deadline - (System.nanoTime() - startTime);
+      if (sleepNanos > 0) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(sleepNanos);
+        } catch (InterruptedException e) {
+          if (shutdown) {
+            break;
+          }
+          continue;
+        }
+        continue;
+      }
+      unlinkCancelled();
+      transferScheduled();
+      wheel[(int) (tick & mask)].expire(tick);
+      tick++;
+    }
+  }
+
+  private void unlinkCancelled() {
+    WheelTimeoutTask task;
+    while ((task = cancelledTasks.poll()) != null) {
+      if (task.bucket != null) {
+        task.bucket.remove(task);
+      }
+    }
+  }
+
+  private void transferScheduled() {
+    for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+      WheelTimeoutTask task = scheduledTasks.poll();
+      if (task == null) {
+        break;
+      }
+      if (task.state.get() != STATE_PENDING) {
+        continue;
+      }
+      if (task.bucket != null) {
+        // rescheduled
+        task.bucket.remove(task);
+      }
+      long ticks = task.deadline / tickNanos;
+      task.remainingRounds = (ticks - tick) / wheel.length;
+      // deadlines in the past are expired on the current tick
+      wheel[(int) (Math.max(ticks, tick) & mask)].add(task);
+    }
+  }
+
+  private void run(WheelTimeoutTask task) {
+    try {
+      taskExecutor.execute(task.task);
+    } catch (Throwable t) {
+      Thread current = Thread.currentThread();
+      current.getUncaughtExceptionHandler().uncaughtException(current, t);
+    }
+  }
+
+  private final class WheelTimeoutTask implements TimeoutTask {
+
+    private final Runnable task;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+    private volatile long deadline;
+
+    // only accessed by the driver thread
+    private long remainingRounds;
+    private Bucket bucket;
+    private WheelTimeoutTask next;
+    private WheelTimeoutTask prev;
+
+    WheelTimeoutTask(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    @Override
+    public boolean hasCalled() {
+      return state.get() == STATE_CALLED;
+    }
+
+    @Override
+    public void cancel() {
+      if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        pendingTasks.decrementAndGet();
+        cancelledTasks.offer(this);
+      }
+    }
+
+    @Override
+    public boolean reschedule(long time, TimeUnit timeUnit) {
+      if (!state.compareAndSet(STATE_PENDING, STATE_RESCHEDULING)) {
+        return false;
+      }
+      deadline = System.nanoTime() - startTime + timeUnit.toNanos(time);
+      state.set(STATE_PENDING);
+      scheduledTasks.offer(this);
+      return true;
+    }
+  }
+
+  private final class Bucket {
+
+    private WheelTimeoutTask head;
+    private WheelTimeoutTask tail;
+
+    void add(WheelTimeoutTask task) {
+      task.bucket = this;
+      if (head == null) {
+        head = tail = task;
+      } else {
+        tail.next = task;
+        task.prev = tail;
+        tail = task;
+      }
+    }
+
+    void remove(WheelTimeoutTask task) {
+      WheelTimeoutTask next = task.next;
+      if (task.prev != null) {
+        task.prev.next = next;
+      }
+      if (next != null) {
+        next.prev = task.prev;
+      }
+      if (task == head) {
+        head = next;
+      }
+      if (task == tail) {
+        tail = task.prev;
+      }
+      task.prev = null;
+      task.next = null;
+      task.bucket = null;
+    }
+
+    void expire(long tick) {
+      WheelTimeoutTask task = head;
+      while (task != null) {
+        WheelTimeoutTask next = task.next;
+        if (task.state.get() == STATE_CANCELLED) {
+          remove(task);
+        } else if (task.remainingRounds <= 0) {
+          remove(task);
+          // a task which was rescheduled since it got here is queued to be transferred again
+          if (task.deadline / tickNanos <= tick
+              && task.state.compareAndSet(STATE_PENDING, STATE_CALLED)) {
+            pendingTasks.decrementAndGet();
+            HashedWheelTimeoutScheduler.this.run(task);
+          }
+        } else {
+          task.remainingRounds--;
+        }
+        task = next;
+      }
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.mrivanplays.conversations.base.timeout;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents a basic timeout task.
  *
@@ -16,4 +18,19 @@ public interface TimeoutTask {
 
   /** Cancel this timeout task if not cancelled already. */
   void cancel();
+
+  /**
+   * Reschedules this timeout task to run after the specified {@code time} in the specified {@link
+   * TimeUnit} {@code timeUnit}, counted from now, reusing this task rather than cancelling it and
+   * scheduling a new one.
+   *
+   * @param time time to run after
+   * @param timeUnit time unit of the time
+   * @return whether the task was rescheduled. False if the task was already called or cancelled,
+   *     or if the implementation does not support rescheduling, in which case a new task shall be
+   *     scheduled instead.
+   */
+  default boolean reschedule(long time, TimeUnit timeUnit) {
+    return false;
+  }
 }
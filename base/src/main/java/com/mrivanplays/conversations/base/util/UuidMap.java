@@ -0,0 +1,430 @@
+package com.mrivanplays.conversations.base.util;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Represents a thread-safe map, keyed by {@link UUID UUIDs}.
+ *
+ * <p>The map stores the two {@code long} halves of each key directly into a flat array, using open
+ * addressing with linear probing, so there are no per entry objects. The map is split into
+ * segments, each guarded by its own {@link StampedLock}: lookups are optimistic and do not lock in
+ * the common case, whilst writes only lock the segment the key belongs to.
+ *
+ * <p>Null values are not permitted.
+ *
+ * @param <V> value type
+ * @author MrIvanPlays
+ */
+public final class UuidMap<V> {
+
+  private static final int DEFAULT_SEGMENTS = 16;
+  private static final int DEFAULT_SEGMENT_CAPACITY = 16;
+
+  private final Segment[] segments;
+  private final int segmentShift;
+  private final AtomicInteger size = new AtomicInteger();
+
+  /** Creates a new map with the default amount of segments. */
+  public UuidMap() {
+    this(DEFAULT_SEGMENTS);
+  }
+
+  /**
+   * Creates a new map with the specified {@code concurrencyLevel}. The concurrency level is the
+   * estimated amount of threads writing to the map at the same time.
+   *
+   * @param concurrencyLevel concurrency level
+   */
+  public UuidMap(int concurrencyLevel) {
+    if (concurrencyLevel <= 0) {
+      throw new IllegalArgumentException("concurrencyLevel must be positive");
+    }
+    int segmentCount = 1;
+    int bits = 0;
+    while (segmentCount < concurrencyLevel) {
+      segmentCount <<= 1;
+      bits++;
+    }
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      this.segments[i] = new Segment(DEFAULT_SEGMENT_CAPACITY);
+    }
+    this.segmentShift = 64 - bits;
+  }
+
+  private static long hash(long mostSigBits, long leastSigBits) {
+    // murmur3 fmix64
+    long h = mostSigBits ^ leastSigBits;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private Segment segmentFor(long hash) {
+    return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+  }
+
+  /**
+   * Returns the value mapped to the specified {@link UUID} {@code key}, or null if none.
+   *
+   * @param key key
+   * @return value or null
+   */
+  public V get(UUID key) {
+    Objects.requireNonNull(key, "key");
+    return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /**
+   * Returns the value mapped to the key with the specified {@code mostSigBits} and {@code
+   * leastSigBits}, or null if none.
+   *
+   * @param mostSigBits most significant bits of the key
+   * @param leastSigBits least significant bits of the key
+   * @return value or null
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long mostSigBits, long leastSigBits) {
+    long hash = hash(mostSigBits, leastSigBits);
+    Segment segment = segmentFor(hash);
+    long stamp = segment.lock.tryOptimisticRead();
+    if (stamp != 0) {
+      Object value = segment.find(mostSigBits, leastSigBits, hash);
+      if (segment.lock.validate(stamp)) {
+        return (V) value;
+      }
+    }
+    stamp = segment.lock.readLock();
+    try {
+      return (V) segment.find(mostSigBits, leastSigBits, hash);
+    } finally {
+      segment.lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * Returns whether there is a value mapped to the specified {@link UUID} {@code key}.
+   *
+   * @param key key
+   * @return whether contained
+   */
+  public boolean containsKey(UUID key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Maps the specified {@code value} to the specified {@link UUID} {@code key}.
+   *
+   * @param key key
+   * @param value value
+   * @return the previous value or null
+   */
+  public V put(UUID key, V value) {
+    return write(key, null, value, false);
+  }
+
+  /**
+   * Maps the specified {@code value} to the specified {@link UUID} {@code key}, only if there is no
+   * value mapped already.
+   *
+   * @param key key
+   * @param value value
+   * @return the value already mapped, or null if the specified value was mapped
+   */
+  public V putIfAbsent(UUID key, V value) {
+    return write(key, null, value, true);
+  }
+
+  /**
+   * Maps the specified {@code newValue} to the specified {@link UUID} {@code key}, only if the
+   * {@code key} is currently mapped to {@code expected}.
+   *
+   * @param key key
+   * @param expected expected current value
+   * @param newValue new value
+   * @return whether the value was replaced
+   */
+  public boolean replace(UUID key, V expected, V newValue) {
+    Objects.requireNonNull(expected, "expected");
+    return write(key, expected, newValue, false) == expected;
+  }
+
+  /**
+   * Returns the value mapped to the specified {@link UUID} {@code key}, or, if there is none, maps
+   * and returns the value computed by the {@code mappingFunction}. The function may be called even
+   * if another thread maps a value at the same time, in which case its result is discarded.
+   *
+   * @param key key
+   * @param mappingFunction value compute function
+   * @return current value
+   */
+  public V computeIfAbsent(UUID key, Function<UUID, ? extends V> mappingFunction) {
+    Objects.requireNonNull(mappingFunction, "mappingFunction");
+    V value = get(key);
+    if (value != null) {
+      return value;
+    }
+    V computed = Objects.requireNonNull(mappingFunction.apply(key), "computed value");
+    V existing = putIfAbsent(key, computed);
+    return existing != null ? existing : computed;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V write(UUID key, V expected, V value, boolean onlyIfAbsent) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(value, "value");
+    long mostSigBits = key.getMostSignificantBits();
+    long leastSigBits = key.getLeastSignificantBits();
+    long hash = hash(mostSigBits, leastSigBits);
+    Segment segment = segmentFor(hash);
+    long stamp = segment.lock.writeLock();
+    try {
+      int slot = segment.slotOf(mostSigBits, leastSigBits, hash);
+      Object current = slot >= 0 ? segment.values[slot] : null;
+      if (expected != null) {
+        if (current == expected) {
+          segment.values[slot] = value;
+        }
+        return (V) current;
+      }
+      if (current != null) {
+        if (!onlyIfAbsent) {
+          segment.values[slot] = value;
+        }
+        return (V) current;
+      }
+      segment.insert(mostSigBits, leastSigBits, hash, value);
+      size.incrementAndGet();
+      return null;
+    } finally {
+      segment.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Removes the value mapped to the specified {@link UUID} {@code key}.
+   *
+   * @param key key
+   * @return the removed value or null
+   */
+  public V remove(UUID key) {
+    return remove0(key, null);
+  }
+
+  /**
+   * Removes the mapping of the specified {@link UUID} {@code key}, only if it is mapped to the
+   * specified {@code value}.
+   *
+   * @param key key
+   * @param value expected value
+   * @return whether removed
+   */
+  public boolean remove(UUID key, V value) {
+    Objects.requireNonNull(value, "value");
+    return remove0(key, value) == value;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V remove0(UUID key, V expected) {
+    Objects.requireNonNull(key, "key");
+    long mostSigBits = key.getMostSignificantBits();
+    long leastSigBits = key.getLeastSignificantBits();
+    long hash = hash(mostSigBits, leastSigBits);
+    Segment segment = segmentFor(hash);
+    long stamp = segment.lock.writeLock();
+    try {
+      int slot = segment.slotOf(mostSigBits, leastSigBits, hash);
+      if (slot < 0) {
+        return null;
+      }
+      Object current = segment.values[slot];
+      if (expected != null && current != expected) {
+        return (V) current;
+      }
+      segment.delete(slot);
+      size.decrementAndGet();
+      return (V) current;
+    } finally {
+      segment.lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Returns the amount of mappings in this map.
+   *
+   * @return size
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Returns whether this map has no mappings. This is a single volatile read.
+   *
+   * @return whether empty
+   */
+  public boolean isEmpty() {
+    return size.get() == 0;
+  }
+
+  /**
+   * Runs the specified {@code action} for every mapping in this map. Each segment is locked for
+   * reading whilst its mappings are visited, hence the action shall not modify this map.
+   *
+   * @param action action
+   */
+  @SuppressWarnings("unchecked")
+  public void forEach(BiConsumer<UUID, ? super V> action) {
+    Objects.requireNonNull(action, "action");
+    for (Segment segment : segments) {
+      long stamp = segment.lock.readLock();
+      try {
+        long[] keys = segment.keys;
+        Object[] values = segment.values;
+        for (int i = 0; i < values.length; i++) {
+          if (values[i] != null) {
+            action.accept(new UUID(keys[i << 1], keys[(i << 1) + 1]), (V) values[i]);
+          }
+        }
+      } finally {
+        segment.lock.unlockRead(stamp);
+      }
+    }
+  }
+
+  /** Removes all mappings from this map. */
+  public void clear() {
+    for (Segment segment : segments) {
+      long stamp = segment.lock.writeLock();
+      try {
+        size.addAndGet(-segment.size);
+        segment.keys = new long[DEFAULT_SEGMENT_CAPACITY << 1];
+        segment.values = new Object[DEFAULT_SEGMENT_CAPACITY];
+        segment.size = 0;
+      } finally {
+        segment.lock.unlockWrite(stamp);
+      }
+    }
+  }
+
+  private static final class Segment {
+
+    final StampedLock lock = new StampedLock();
+    // keys[2 * slot] holds the most significant bits, keys[2 * slot + 1] the least significant ones
+    long[] keys;
+    Object[] values;
+    int size;
+
+    Segment(int capacity) {
+      this.keys = new long[capacity << 1];
+      this.values = new Object[capacity];
+    }
+
+    // may run without holding the lock, hence everything is read once into locals and the probe is
+    // bounded by the table length
+    Object find(long mostSigBits, long leastSigBits, long hash) {
+      long[] keys = this.keys;
+      Object[] values = this.values;
+      int length = values.length;
+      if (keys.length != length << 1) {
+        return null;
+      }
+      int mask = length - 1;
+      int slot = (int) hash & mask;
+      for (int probes = 0; probes < length; probes++) {
+        Object value = values[slot];
+        if (value == null) {
+          return null;
+        }
+        if (keys[slot << 1] == mostSigBits && keys[(slot << 1) + 1] == leastSigBits) {
+          return value;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    int slotOf(long mostSigBits, long leastSigBits, long hash) {
+      int mask = values.length - 1;
+      int slot = (int) hash & mask;
+      while (values[slot] != null) {
+        if (keys[slot << 1] == mostSigBits && keys[(slot << 1) + 1] == leastSigBits) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    void insert(long mostSigBits, long leastSigBits, long hash, Object value) {
+      if ((size + 1) * 4 > values.length * 3) {
+        resize();
+      }
+      int mask = values.length - 1;
+      int slot = (int) hash & mask;
+      while (values[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot << 1] = mostSigBits;
+      keys[(slot << 1) + 1] = leastSigBits;
+      values[slot] = value;
+      size++;
+    }
+
+    void delete(int slot) {
+      // backward shift deletion, so we don't need tombstones
+      int mask = values.length - 1;
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      while (values[next] != null) {
+        int home = (int) hash(keys[next << 1], keys[(next << 1) + 1]) & mask;
+        // move the entry into the hole, unless its home slot lies cyclically in (hole, next]
+        boolean stays = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+        if (!stays) {
+          keys[hole << 1] = keys[next << 1];
+          keys[(hole << 1) + 1] = keys[(next << 1) + 1];
+          values[hole] = values[next];
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      values[hole] = null;
+      size--;
+    }
+
+    private void resize() {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      int capacity = oldValues.length << 1;
+      long[] newKeys = new long[capacity << 1];
+      Object[] newValues = new Object[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] == null) {
+          continue;
+        }
+        long mostSigBits = oldKeys[i << 1];
+        long leastSigBits = oldKeys[(i << 1) + 1];
+        int slot = (int) hash(mostSigBits, leastSigBits) & mask;
+        while (newValues[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        newKeys[slot << 1] = mostSigBits;
+        newKeys[(slot << 1) + 1] = leastSigBits;
+        newValues[slot] = oldValues[i];
+      }
+      // a concurrent optimistic reader may see the new keys with the old values (or vice versa),
+      // find() bails out on the length mismatch and the reader then fails to validate its stamp
+      keys = newKeys;
+      values = newValues;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.metrics.LongAdderConversationMetrics;
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+class AllocationTest {
+
+  private static final ValidationResult<String> TRY_AGAIN =
+      ValidationResult.fail("Try again", true);
+
+  @Test
+  void testAcceptInputDoesNotAllocate() {
+    ConversationManager<String, CountingPartner> manager = new ConversationManager<>();
+    assertAcceptInputDoesNotAllocate(manager, graphConversation(manager), "good", "bad");
+  }
+
+  @Test
+  void testChainedAcceptInputDoesNotAllocate() {
+    // every computed question is the same, hence the chain only needs to outlast the inputs
+    Question<String, CountingPartner> next = validatedQuestion("next");
+    ChainedQuestion<String, CountingPartner> chained =
+        new ChainedQuestion<>(Question.of("first", "First?"));
+    for (int i = 0; i < 40_000; i++) {
+      chained.addQuestion(context -> next);
+    }
+    ConversationManager<String, CountingPartner> manager = new ConversationManager<>();
+    // an answered question gets a new compute context, hence only rejected inputs are measured
+    assertAcceptInputDoesNotAllocate(
+        manager,
+        Conversation.<String, CountingPartner>newBuilder().chainedQuestions(chained),
+        "bad");
+  }
+
+  @Test
+  void testObservedAcceptInputDoesNotAllocate() {
+    ConversationManager<String, CountingPartner> manager = new ConversationManager<>();
+    manager.setMetrics(new LongAdderConversationMetrics());
+    manager.addListener(new ConversationListener<String, CountingPartner>() {});
+    assertAcceptInputDoesNotAllocate(manager, graphConversation(manager), "good", "bad");
+  }
+
+  private static Question<String, CountingPartner> validatedQuestion(String identifier) {
+    return Question.<String, CountingPartner>newBuilder()
+        .withIdentifier(identifier)
+        .withMessage(identifier + "?")
+        .withInputValidator(input -> input.equals("bad") ? TRY_AGAIN : ValidationResult.success())
+        .build();
+  }
+
+  private static Conversation.Builder<String, CountingPartner> graphConversation(
+      ConversationManager<String, CountingPartner> manager) {
+    QuestionGraph<String, CountingPartner> graph =
+        QuestionGraph.<String, CountingPartner>newBuilder()
+            .withQuestion(validatedQuestion("first"))
+            .withQuestion(Question.of("second", "Second?"))
+            .withDefaultTransition("first", "second")
+            .withDefaultTransition("second", "first")
+            .build();
+    return Conversation.<String, CountingPartner>newBuilder().withQuestionGraph(graph);
+  }
+
+  private static void assertAcceptInputDoesNotAllocate(
+      ConversationManager<String, CountingPartner> manager,
+      Conversation.Builder<String, CountingPartner> conversation,
+      String... inputs) {
+    Assumptions.assumeTrue(
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    CountingPartner partner = new CountingPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    conversation
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .whenDone(context -> {})
+        .build()
+        .start();
+
+    // warm up, so that the inputs map has its entries and the code is compiled
+    for (int i = 0; i < 20_000; i++) {
+      manager.acceptInput(uuid, "good");
+      manager.acceptInput(uuid, "bad");
+    }
+    long thread = Thread.currentThread().getId();
+    threadBean.getThreadAllocatedBytes(thread);
+    int messages = partner.messages;
+    long before = threadBean.getThreadAllocatedBytes(thread);
+    for (int i = 0; i < 10_000; i++) {
+      for (String input : inputs) {
+        manager.acceptInput(uuid, input);
+      }
+    }
+    long allocated = threadBean.getThreadAllocatedBytes(thread) - before;
+
+    Assertions.assertTrue(manager.hasActiveConversation(uuid));
+    Assertions.assertTrue(partner.messages - messages >= 10_000 * inputs.length);
+    // 10k inputs at least; anything per input would show up as hundreds of kilobytes
+    Assertions.assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+  }
+
+  private static final class CountingPartner implements ConversationPartner<String> {
+
+    private final UUID uuid = UUID.randomUUID();
+    private int messages;
+
+    @Override
+    public UUID getUniqueIdentifier() {
+      return uuid;
+    }
+
+    @Override
+    public void sendMessage(String message) {
+      messages++;
+    }
+  }
+}
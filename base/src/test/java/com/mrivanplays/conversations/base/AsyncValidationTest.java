@@ -0,0 +1,133 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.AsyncInputValidator.PendingInputPolicy;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.timeout.ExecutorServiceTimeoutScheduler;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AsyncValidationTest {
+
+  private static final ConversationManager<String, DummyPartner> manager =
+      new ConversationManager<>();
+
+  @Test
+  void testPendingInputsAreQueued() {
+    DummyPartner partner = new DummyPartner();
+    List<String> validated = new ArrayList<>();
+    List<CompletableFuture<ValidationResult<String>>> validations = new ArrayList<>();
+    List<ConversationContext<String, DummyPartner>> done = new ArrayList<>();
+    Conversation<String, DummyPartner> convo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .withQuestion(
+                Question.<String, DummyPartner>newBuilder()
+                    .withIdentifier("name")
+                    .withMessage("Name?")
+                    .withAsyncInputValidator(
+                        input -> {
+                          validated.add(input);
+                          CompletableFuture<ValidationResult<String>> future =
+                              new CompletableFuture<>();
+                          validations.add(future);
+                          return future;
+                        })
+                    .build())
+            .withQuestion(Question.of("age", "Age?"))
+            .whenDone(done::add)
+            .build();
+
+    convo.start();
+    convo.acceptInput("taken");
+    convo.acceptInput("free");
+    convo.acceptInput("20");
+    // only the first input is being validated, the rest wait for it
+    Assertions.assertEquals(1, validated.size());
+
+    validations.get(0).complete(ValidationResult.fail("Name taken", true));
+    Assertions.assertEquals(2, validated.size());
+    Assertions.assertEquals("free", validated.get(1));
+
+    validations.get(1).complete(ValidationResult.success());
+    Assertions.assertEquals(1, done.size());
+    Assertions.assertEquals(EndState.SUCCESS, done.get(0).getEndState());
+    Assertions.assertEquals("free", done.get(0).getInput("name"));
+    Assertions.assertEquals("20", done.get(0).getInput("age"));
+    Assertions.assertEquals(
+        Arrays.asList("Name?", "Name taken", "Name?", "Age?"), partner.capturedMessages());
+  }
+
+  @Test
+  void testPendingInputsAreRejected() {
+    DummyPartner partner = new DummyPartner();
+    CompletableFuture<ValidationResult<String>> validation = new CompletableFuture<>();
+    List<ConversationContext<String, DummyPartner>> done = new ArrayList<>();
+    Conversation<String, DummyPartner> convo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .withQuestion(
+                Question.<String, DummyPartner>newBuilder()
+                    .withIdentifier("name")
+                    .withMessage("Name?")
+                    .withAsyncInputValidator(input -> validation, PendingInputPolicy.REJECT)
+                    .build())
+            .withQuestion(Question.of("age", "Age?"))
+            .whenDone(done::add)
+            .build();
+
+    convo.start();
+    convo.acceptInput("Ivan");
+    convo.acceptInput("dropped");
+    validation.complete(ValidationResult.success());
+    convo.acceptInput("20");
+
+    Assertions.assertEquals(1, done.size());
+    Assertions.assertEquals("Ivan", done.get(0).getInput("name"));
+    Assertions.assertEquals("20", done.get(0).getInput("age"));
+  }
+
+  @Test
+  void testTimeoutDuringValidation() throws InterruptedException {
+    DummyPartner partner = new DummyPartner();
+    ExecutorServiceTimeoutScheduler timeoutScheduler = new ExecutorServiceTimeoutScheduler();
+    CompletableFuture<ValidationResult<String>> validation = new CompletableFuture<>();
+    BlockingQueue<ConversationContext<String, DummyPartner>> done = new ArrayBlockingQueue<>(2);
+    Conversation<String, DummyPartner> convo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .withTimeoutScheduler(timeoutScheduler)
+            .withQuestion(
+                Question.<String, DummyPartner>newBuilder()
+                    .withIdentifier("name")
+                    .withMessage("Name?")
+                    .withTimeout(100, TimeUnit.MILLISECONDS)
+                    .withAsyncInputValidator(input -> validation)
+                    .build())
+            .whenDone(done::add)
+            .build();
+
+    convo.start();
+    convo.acceptInput("Ivan");
+    ConversationContext<String, DummyPartner> context = done.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(context);
+    Assertions.assertEquals(EndState.TIMEOUT, context.getEndState());
+
+    // the late result is ignored
+    validation.complete(ValidationResult.success());
+    Assertions.assertTrue(done.isEmpty());
+    Assertions.assertNull(context.getInput("name"));
+    timeoutScheduler.shutdown();
+  }
+}
@@ -0,0 +1,98 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentRegistryTest {
+
+  private static Conversation<String, DummyPartner> newConversation(
+      ConversationManager<String, DummyPartner> manager, DummyPartner partner) {
+    return Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(Question.of("first", "Foo"))
+        .whenDone(context -> {})
+        .build();
+  }
+
+  @Test
+  void testConcurrentRegistrations() throws Exception {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    int threads = 8;
+    int perThread = 500;
+    List<DummyPartner> partners = new ArrayList<>();
+    for (int i = 0; i < threads * perThread; i++) {
+      partners.add(new DummyPartner());
+    }
+
+    ExecutorService service = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      int offset = t * perThread;
+      futures.add(
+          service.submit(
+              () -> {
+                start.await();
+                for (int i = offset; i < offset + perThread; i++) {
+                  manager.registerConversation(newConversation(manager, partners.get(i)));
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    service.shutdown();
+
+    for (DummyPartner partner : partners) {
+      Assertions.assertTrue(manager.hasActiveConversation(partner.getUniqueIdentifier()));
+    }
+  }
+
+  @Test
+  void testSinglePartnerRegistrationRace() throws Exception {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    int threads = 8;
+
+    ExecutorService service = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger registered = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      futures.add(
+          service.submit(
+              () -> {
+                Conversation<String, DummyPartner> convo = newConversation(manager, partner);
+                start.await();
+                try {
+                  manager.registerConversation(convo);
+                  registered.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                  rejected.incrementAndGet();
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    service.shutdown();
+
+    Assertions.assertEquals(1, registered.get());
+    Assertions.assertEquals(threads - 1, rejected.get());
+  }
+}
@@ -0,0 +1,78 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.InputValidator;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConversationInputTest {
+
+  private final AtomicInteger parses = new AtomicInteger();
+  private final Function<String, String> parser =
+      raw -> {
+        parses.incrementAndGet();
+        return raw.toUpperCase();
+      };
+
+  @Test
+  void testParsedAtMostOnce() {
+    ConversationInput<String> input = ConversationInput.ofRaw("foo", parser);
+    Assertions.assertEquals("foo", input.getRaw());
+    Assertions.assertFalse(input.isParsed());
+    Assertions.assertEquals("FOO", input.getMessage());
+    Assertions.assertEquals("FOO", input.getMessage());
+    Assertions.assertTrue(input.isParsed());
+    Assertions.assertEquals(1, parses.get());
+
+    ConversationInput<String> built = ConversationInput.of("bar");
+    Assertions.assertNull(built.getRaw());
+    Assertions.assertEquals("bar", built.getMessage());
+  }
+
+  @Test
+  void testRawValidatorSkipsParsing() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    List<ConversationContext<String, DummyPartner>> results = new ArrayList<>();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(
+            Question.<String, DummyPartner>newBuilder()
+                .withIdentifier("name")
+                .withMessage("What's your name?")
+                .withInputValidator(
+                    InputValidator.ofInput(
+                        input ->
+                            input.getRaw().isEmpty()
+                                ? ValidationResult.fail("Empty")
+                                : ValidationResult.success()))
+                .build())
+        .withQuestion(Question.of("age", "How old are you?"))
+        .whenDone(results::add)
+        .build()
+        .start();
+
+    Assertions.assertTrue(manager.tryAcceptInput(uuid, "", parser));
+    Assertions.assertTrue(manager.tryAcceptInput(uuid, "ivan", parser));
+    Assertions.assertTrue(manager.tryAcceptInput(uuid, "20", parser));
+    Assertions.assertEquals(0, parses.get());
+    Assertions.assertFalse(manager.tryAcceptInput(uuid, "late", parser));
+
+    ConversationContext<String, DummyPartner> context = results.get(0);
+    Assertions.assertEquals("ivan", context.getConversationInput("name").getRaw());
+    Assertions.assertEquals(0, parses.get());
+    Assertions.assertEquals("IVAN", context.getInput("name"));
+    Assertions.assertEquals("IVAN", context.getInput("name"));
+    Assertions.assertEquals(1, parses.get());
+    Assertions.assertEquals("20", context.getInputs().get("age").toLowerCase());
+    Assertions.assertEquals(2, parses.get());
+  }
+}
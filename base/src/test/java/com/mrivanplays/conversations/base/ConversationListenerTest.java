@@ -0,0 +1,143 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConversationListenerTest {
+
+  @Test
+  void testLifecycleEvents() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    List<String> events = new ArrayList<>();
+    manager.addListener(
+        new ConversationListener<String, DummyPartner>() {
+          @Override
+          public void onStart(Conversation<String, DummyPartner> conversation) {
+            events.add("start");
+          }
+
+          @Override
+          public void onQuestionSent(
+              Conversation<String, DummyPartner> conversation,
+              Question<String, DummyPartner> question) {
+            events.add("sent " + question.getIdentifier());
+          }
+
+          @Override
+          public void onInputAccepted(
+              Conversation<String, DummyPartner> conversation,
+              Question<String, DummyPartner> question,
+              String input) {
+            events.add("accepted " + input);
+          }
+
+          @Override
+          public void onValidationFailed(
+              Conversation<String, DummyPartner> conversation,
+              Question<String, DummyPartner> question,
+              String input,
+              ValidationResult<String> result) {
+            events.add("failed " + input);
+          }
+
+          @Override
+          public void onReask(
+              Conversation<String, DummyPartner> conversation,
+              Question<String, DummyPartner> question) {
+            events.add("reask " + question.getIdentifier());
+          }
+
+          @Override
+          public void onEnd(Conversation<String, DummyPartner> conversation, EndState endState) {
+            events.add("end " + endState);
+          }
+        });
+    // a failing listener does not affect the conversation, nor the other listeners
+    manager.addListener(
+        new ConversationListener<String, DummyPartner>() {
+          @Override
+          public void onStart(Conversation<String, DummyPartner> conversation) {
+            throw new RuntimeException("Expected");
+          }
+        });
+
+    Conversation<String, DummyPartner> convo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(new DummyPartner())
+            .withQuestion(
+                Question.<String, DummyPartner>newBuilder()
+                    .withIdentifier("age")
+                    .withMessage("Age?")
+                    .withInputValidator(
+                        input ->
+                            input.equals("twenty")
+                                ? ValidationResult.fail("Not a number", true)
+                                : ValidationResult.success())
+                    .build())
+            .whenDone(context -> {})
+            .build();
+    convo.start();
+    convo.acceptInput("twenty");
+    convo.acceptInput("20");
+
+    Assertions.assertEquals(
+        Arrays.asList(
+            "start", "sent age", "failed twenty", "reask age", "accepted 20", "end SUCCESS"),
+        events);
+  }
+
+  @Test
+  void testSampling() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    AtomicInteger sampled = new AtomicInteger();
+    AtomicInteger all = new AtomicInteger();
+    ConversationListener<String, DummyPartner> sampledListener =
+        new ConversationListener<String, DummyPartner>() {
+          @Override
+          public void onStart(Conversation<String, DummyPartner> conversation) {
+            sampled.incrementAndGet();
+          }
+        };
+    manager.addListener(sampledListener, 0.25);
+    manager.addListener(
+        new ConversationListener<String, DummyPartner>() {
+          @Override
+          public void onStart(Conversation<String, DummyPartner> conversation) {
+            all.incrementAndGet();
+          }
+        });
+
+    for (int i = 0; i < 4000; i++) {
+      startConversation(manager);
+    }
+    Assertions.assertEquals(4000, all.get());
+    Assertions.assertTrue(sampled.get() > 700 && sampled.get() < 1300, "sampled " + sampled);
+
+    manager.removeListener(sampledListener);
+    sampled.set(0);
+    for (int i = 0; i < 100; i++) {
+      startConversation(manager);
+    }
+    Assertions.assertEquals(0, sampled.get());
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> manager.addListener(sampledListener, 0));
+  }
+
+  private static void startConversation(ConversationManager<String, DummyPartner> manager) {
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(new DummyPartner())
+        .withQuestion(Question.of("name", "Name?"))
+        .whenDone(context -> {})
+        .build()
+        .start();
+  }
+}
@@ -0,0 +1,100 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConversationTemplateTest {
+
+  private static final ConversationManager<String, DummyPartner> manager =
+      new ConversationManager<>();
+
+  @Test
+  void testTemplateIsReusable() {
+    List<String> results = new ArrayList<>();
+    ConversationTemplate<String, DummyPartner> template =
+        ConversationTemplate.<String, DummyPartner>newBuilder()
+            .withIdentifier("survey")
+            .withQuestion(Question.of("name", "What's your name?"))
+            .withQuestion(Question.of("age", "How old are you?"))
+            .whenDone(context -> results.add(context.getInput("name") + context.getInput("age")))
+            .build();
+
+    DummyPartner first = new DummyPartner();
+    DummyPartner second = new DummyPartner();
+    Conversation<String, DummyPartner> firstConvo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(first)
+            .fromTemplate(template)
+            .build();
+    Conversation<String, DummyPartner> secondConvo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(second)
+            .fromTemplate(template)
+            .build();
+
+    firstConvo.start();
+    secondConvo.start();
+    firstConvo.acceptInput("Foo");
+    secondConvo.acceptInput("Bar");
+    secondConvo.acceptInput("2");
+    firstConvo.acceptInput("1");
+
+    Conversation<String, DummyPartner> again = Conversation.newBuilder(firstConvo).build();
+    Assertions.assertSame(template, again.getTemplate());
+    again.start();
+    again.acceptInput("Baz");
+    again.acceptInput("3");
+
+    Assertions.assertEquals(3, results.size());
+    Assertions.assertEquals("Bar2", results.get(0));
+    Assertions.assertEquals("Foo1", results.get(1));
+    Assertions.assertEquals("Baz3", results.get(2));
+    Assertions.assertEquals(4, first.capturedMessages().size());
+    Assertions.assertThrows(
+        UnsupportedOperationException.class,
+        () -> template.getQuestions().addQuestion($ -> Question.of("foo", "bar")));
+  }
+
+  @Test
+  void testQuestionSourcesCannotBeCombined() {
+    QuestionGraph<String, DummyPartner> graph =
+        QuestionGraph.<String, DummyPartner>newBuilder()
+            .withQuestion(Question.of("name", "What's your name?"))
+            .build();
+    ChainedQuestion<String, DummyPartner> chained =
+        new ChainedQuestion<>(Question.of("name", "What's your name?"));
+
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ConversationTemplate.<String, DummyPartner>newBuilder()
+                .chainedQuestions(chained)
+                .withQuestion(Question.of("age", "How old are you?")));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Conversation.<String, DummyPartner>newBuilder()
+                .chainedQuestions(chained)
+                .withQuestion(Question.of("age", "How old are you?")));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            ConversationTemplate.<String, DummyPartner>newBuilder()
+                .withQuestionGraph(graph)
+                .withQuestion(Question.of("age", "How old are you?")));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Conversation.<String, DummyPartner>newBuilder()
+                .withQuestion(Question.of("age", "How old are you?"))
+                .withQuestionGraph(graph));
+    Assertions.assertEquals(1, chained.getQuestionCount());
+  }
+}
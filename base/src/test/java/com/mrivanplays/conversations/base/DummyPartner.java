@@ -6,9 +6,17 @@ import java.util.UUID;
 
 public class DummyPartner implements ConversationPartner<String> {
 
-  private final UUID uuid = UUID.randomUUID();
+  private final UUID uuid;
   private final List<String> messages = new LinkedList<>();
 
+  public DummyPartner() {
+    this(UUID.randomUUID());
+  }
+
+  public DummyPartner(UUID uuid) {
+    this.uuid = uuid;
+  }
+
   @Override
   public UUID getUniqueIdentifier() {
     return uuid;
@@ -0,0 +1,96 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class InputSlotsTest {
+
+  @Test
+  void testSlots() {
+    InputSlots<String> inputs = new InputSlots<>(3);
+    inputs.put(2, "third", "c");
+    inputs.put(0, "first", "a");
+    inputs.put(0, "first", "b");
+    Assertions.assertEquals(2, inputs.count());
+    Assertions.assertEquals("b", inputs.get("first"));
+    Assertions.assertEquals("c", inputs.get("third"));
+    Assertions.assertNull(inputs.get("second"));
+
+    List<String> identifiers = new ArrayList<>();
+    inputs.forEach((identifier, $) -> identifiers.add(identifier));
+    // answer order, rather than slot order
+    Assertions.assertEquals(Arrays.asList("third", "first"), identifiers);
+    String[] copiedIdentifiers = new String[2];
+    Object[] copiedValues = new Object[2];
+    inputs.copyInto(copiedIdentifiers, copiedValues);
+    Assertions.assertArrayEquals(new String[] {"third", "first"}, copiedIdentifiers);
+    Assertions.assertArrayEquals(new Object[] {"c", "b"}, copiedValues);
+
+    // slots without a definition, as scripts have them, grow on demand
+    InputSlots<String> scripted = new InputSlots<>(0);
+    for (int i = 0; i < 10; i++) {
+      scripted.put(-1, "question" + i, "answer" + i);
+    }
+    scripted.put(-1, "question3", "again");
+    Assertions.assertEquals(10, scripted.count());
+    Assertions.assertEquals("again", scripted.get("question3"));
+    Assertions.assertEquals("answer9", scripted.get("question9"));
+  }
+
+  @Test
+  void testContextIsSnapshot() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    List<ConversationContext<String, DummyPartner>> results = new ArrayList<>();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(Question.of("first", "Foo"))
+        .withQuestion(Question.of("second", "Bar"))
+        .whenDone(results::add)
+        .build()
+        .start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "a");
+    manager.acceptInput(partner.getUniqueIdentifier(), "b");
+
+    ConversationContext<String, DummyPartner> context = results.get(0);
+    Assertions.assertEquals(EndState.SUCCESS, context.getEndState());
+    Assertions.assertEquals("a", context.getInput("first"));
+    Assertions.assertEquals("b", context.getInput("second"));
+    Assertions.assertEquals(
+        Arrays.asList("first", "second"), new ArrayList<>(context.getInputs().keySet()));
+    Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> context.getInputs().put("third", "c"));
+  }
+
+  @Test
+  void testGraphInputsInAnswerOrder() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    List<ConversationContext<String, DummyPartner>> results = new ArrayList<>();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestionGraph(
+            QuestionGraph.<String, DummyPartner>newBuilder()
+                .withQuestion(Question.of("first", "Foo"))
+                .withQuestion(Question.of("second", "Bar"))
+                .withStart("second")
+                .withDefaultTransition("second", "first")
+                .build())
+        .whenDone(results::add)
+        .build()
+        .start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "b");
+    manager.acceptInput(partner.getUniqueIdentifier(), "a");
+
+    Assertions.assertEquals(
+        Arrays.asList("second", "first"), new ArrayList<>(results.get(0).getInputs().keySet()));
+  }
+}
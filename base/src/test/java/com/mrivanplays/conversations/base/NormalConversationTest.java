@@ -3,6 +3,10 @@ package com.mrivanplays.conversations.base;
 import com.mrivanplays.conversations.base.question.Question;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -43,4 +47,90 @@ class NormalConversationTest {
     Assertions.assertEquals("Bar", inputs.get(0));
     Assertions.assertEquals("Foo", inputs.get(1));
   }
+
+  @Test
+  void testTryAcceptInput() {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    List<String> inputs = new ArrayList<>();
+
+    Assertions.assertFalse(manager.hasActiveConversations());
+    Assertions.assertFalse(manager.tryAcceptInput(partner.getUniqueIdentifier(), "ignored"));
+
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(Question.of("first", "Foo"))
+        .whenDone(context -> inputs.add(context.getInput("first")))
+        .build()
+        .start();
+
+    Assertions.assertTrue(manager.hasActiveConversations());
+    Assertions.assertFalse(manager.tryAcceptInput(new DummyPartner().getUniqueIdentifier(), "x"));
+    Assertions.assertTrue(manager.tryAcceptInput(partner.getUniqueIdentifier(), () -> "Bar"));
+    Assertions.assertFalse(manager.tryAcceptInput(partner.getUniqueIdentifier(), "Baz"));
+    Assertions.assertFalse(manager.hasActiveConversations());
+    Assertions.assertEquals(1, inputs.size());
+    Assertions.assertEquals("Bar", inputs.get(0));
+  }
+
+  @Test
+  void testDoneHandlerExecutor() throws InterruptedException {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    ExecutorService defaultDoneExecutor =
+        Executors.newSingleThreadExecutor(task -> new Thread(task, "default-done"));
+    ExecutorService doneExecutor =
+        Executors.newSingleThreadExecutor(task -> new Thread(task, "done"));
+    manager.setDefaultDoneExecutor(defaultDoneExecutor);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    List<String> threads = new ArrayList<>();
+
+    DummyPartner first = new DummyPartner();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(first)
+        .withQuestion(Question.of("first", "Foo"))
+        .whenDone(
+            context -> {
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              synchronized (threads) {
+                threads.add(Thread.currentThread().getName());
+              }
+              done.countDown();
+            })
+        .whenDoneAsync(doneExecutor)
+        .build()
+        .start();
+    DummyPartner second = new DummyPartner();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(second)
+        .withQuestion(Question.of("first", "Foo"))
+        .whenDone(
+            context -> {
+              synchronized (threads) {
+                threads.add(Thread.currentThread().getName());
+              }
+              done.countDown();
+            })
+        .build()
+        .start();
+
+    manager.acceptInput(first.getUniqueIdentifier(), "Bar");
+    // unregistered straight away, whilst the done handler is still blocked
+    Assertions.assertFalse(manager.hasActiveConversation(first.getUniqueIdentifier()));
+    manager.acceptInput(second.getUniqueIdentifier(), "Bar");
+    release.countDown();
+
+    Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(threads.contains("done"));
+    Assertions.assertTrue(threads.contains("default-done"));
+    defaultDoneExecutor.shutdown();
+    doneExecutor.shutdown();
+  }
 }
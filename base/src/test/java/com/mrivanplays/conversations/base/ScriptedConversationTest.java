@@ -0,0 +1,160 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.timeout.ExecutorServiceTimeoutScheduler;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ScriptedConversationTest {
+
+  private static final ConversationManager<String, DummyPartner> manager =
+      new ConversationManager<>();
+
+  @Test
+  void testLinearScript() throws Exception {
+    QueuePartner partner = new QueuePartner();
+    BlockingQueue<ConversationContext<String, DummyPartner>> done = new ArrayBlockingQueue<>(1);
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withScript(
+            convo -> {
+              String name = convo.ask(Question.of("name", "What's your name?"));
+              String age =
+                  convo.ask(
+                      Question.<String, DummyPartner>newBuilder()
+                          .withIdentifier("age")
+                          .withMessage("How old are you, " + name + "?")
+                          .withInputValidator(
+                              input ->
+                                  input.chars().allMatch(Character::isDigit)
+                                      ? ValidationResult.success()
+                                      : ValidationResult.fail("Not a number", true))
+                          .build());
+              convo.getConversationPartner().sendMessage(name + " is " + age);
+            })
+        .whenDone(done::add)
+        .build()
+        .start();
+
+    Assertions.assertEquals("What's your name?", partner.next());
+    manager.acceptInput(partner.getUniqueIdentifier(), "Ivan");
+    Assertions.assertEquals("How old are you, Ivan?", partner.next());
+    manager.acceptInput(partner.getUniqueIdentifier(), "many");
+    Assertions.assertEquals("Not a number", partner.next());
+    Assertions.assertEquals("How old are you, Ivan?", partner.next());
+    manager.acceptInput(partner.getUniqueIdentifier(), "20");
+    Assertions.assertEquals("Ivan is 20", partner.next());
+
+    ConversationContext<String, DummyPartner> context = done.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(context);
+    Assertions.assertEquals(EndState.SUCCESS, context.getEndState());
+    Assertions.assertEquals("Ivan", context.getInput("name"));
+    Assertions.assertEquals("20", context.getInput("age"));
+    Assertions.assertFalse(manager.hasActiveConversation(partner.getUniqueIdentifier()));
+  }
+
+  @Test
+  void testTimeoutUnwindsScript() throws Exception {
+    QueuePartner partner = new QueuePartner();
+    ExecutorServiceTimeoutScheduler timeoutScheduler = new ExecutorServiceTimeoutScheduler();
+    CompletableFuture<Throwable> unwound = new CompletableFuture<>();
+    BlockingQueue<ConversationContext<String, DummyPartner>> done = new ArrayBlockingQueue<>(1);
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withTimeoutScheduler(timeoutScheduler)
+        .withScript(
+            convo -> {
+              try {
+                convo.ask(
+                    Question.<String, DummyPartner>newBuilder()
+                        .withIdentifier("name")
+                        .withMessage("What's your name?")
+                        .withTimeout(100, TimeUnit.MILLISECONDS)
+                        .build());
+                unwound.complete(null);
+              } catch (IllegalStateException e) {
+                unwound.complete(e);
+                throw e;
+              }
+            })
+        .whenDone(done::add)
+        .build()
+        .start();
+
+    Assertions.assertEquals("What's your name?", partner.next());
+    ConversationContext<String, DummyPartner> context = done.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(context);
+    Assertions.assertEquals(EndState.TIMEOUT, context.getEndState());
+    Assertions.assertEquals("name", context.getQuestionIdentifierEndedOn());
+    Assertions.assertNotNull(unwound.get(5, TimeUnit.SECONDS));
+    timeoutScheduler.shutdown();
+  }
+
+  @Test
+  void testInterruptUnwindsScript() throws Exception {
+    QueuePartner partner = new QueuePartner();
+    CompletableFuture<Thread> scriptThread = new CompletableFuture<>();
+    CompletableFuture<Boolean> unwound = new CompletableFuture<>();
+    BlockingQueue<ConversationContext<String, DummyPartner>> done = new ArrayBlockingQueue<>(1);
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withScript(
+            convo -> {
+              scriptThread.complete(Thread.currentThread());
+              try {
+                convo.ask(Question.of("name", "What's your name?"));
+                unwound.complete(null);
+              } catch (IllegalStateException e) {
+                unwound.complete(Thread.currentThread().isInterrupted());
+                throw e;
+              }
+            })
+        .whenDone(done::add)
+        .build()
+        .start();
+
+    Assertions.assertEquals("What's your name?", partner.next());
+    scriptThread.get(5, TimeUnit.SECONDS).interrupt();
+    ConversationContext<String, DummyPartner> context = done.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(context);
+    Assertions.assertEquals(EndState.UNKNOWN, context.getEndState());
+    Assertions.assertEquals("name", context.getQuestionIdentifierEndedOn());
+    // unwound with the interrupt status kept
+    Assertions.assertEquals(Boolean.TRUE, unwound.get(5, TimeUnit.SECONDS));
+    Assertions.assertFalse(manager.hasActiveConversation(partner.getUniqueIdentifier()));
+  }
+
+  @Test
+  void testScriptsCannotBeCombinedWithQuestions() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Conversation.<String, DummyPartner>newBuilder()
+                .withQuestion(Question.of("name", "What's your name?"))
+                .withScript(convo -> {}));
+  }
+
+  private static final class QueuePartner extends DummyPartner {
+
+    private final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+
+    @Override
+    public void sendMessage(String message) {
+      sent.add(message);
+    }
+
+    String next() throws InterruptedException {
+      return sent.poll(5, TimeUnit.SECONDS);
+    }
+  }
+}
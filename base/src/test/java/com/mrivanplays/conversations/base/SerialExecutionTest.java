@@ -0,0 +1,70 @@
+package com.mrivanplays.conversations.base;
+
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SerialExecutionTest {
+
+  @Test
+  void testInputsAreProcessedInOrder() throws InterruptedException {
+    ExecutorService workerPool = Executors.newFixedThreadPool(4);
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    manager.setWorkerPool(workerPool);
+
+    int conversations = 50;
+    int questions = 20;
+    CountDownLatch done = new CountDownLatch(conversations);
+    List<DummyPartner> partners = new ArrayList<>();
+    List<List<String>> results = new ArrayList<>();
+    for (int c = 0; c < conversations; c++) {
+      DummyPartner partner = new DummyPartner();
+      List<String> result = new ArrayList<>();
+      ChainedQuestion<String, DummyPartner> chain =
+          new ChainedQuestion<>(Question.of("q0", "Question 0"));
+      for (int q = 1; q < questions; q++) {
+        Question<String, DummyPartner> question = Question.of("q" + q, "Question " + q);
+        chain.addQuestion(context -> question);
+      }
+      Conversation.<String, DummyPartner>newBuilder()
+          .parentManager(manager)
+          .withConversationPartner(partner)
+          .chainedQuestions(chain)
+          .whenDone(
+              context -> {
+                for (int q = 0; q < questions; q++) {
+                  result.add(context.getInput("q" + q));
+                }
+                done.countDown();
+              })
+          .build()
+          .start();
+      partners.add(partner);
+      results.add(result);
+    }
+
+    for (int q = 0; q < questions; q++) {
+      for (DummyPartner partner : partners) {
+        manager.acceptInput(partner.getUniqueIdentifier(), "answer" + q);
+      }
+    }
+
+    Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+    workerPool.shutdown();
+    for (int c = 0; c < conversations; c++) {
+      Assertions.assertEquals(questions, results.get(c).size());
+      for (int q = 0; q < questions; q++) {
+        Assertions.assertEquals("answer" + q, results.get(c).get(q));
+      }
+      Assertions.assertEquals(questions, partners.get(c).capturedMessages().size());
+      Assertions.assertFalse(manager.hasActiveConversation(partners.get(c).getUniqueIdentifier()));
+    }
+  }
+}
@@ -0,0 +1,354 @@
+package com.mrivanplays.conversations.base.handoff;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationContext;
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.ConversationListener;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.ConversationTemplate;
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.metrics.ConversationMetrics;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import com.mrivanplays.conversations.base.store.ConversationStore;
+import com.mrivanplays.conversations.base.store.MessageCodec;
+import com.mrivanplays.conversations.base.store.StoredConversation;
+import com.mrivanplays.conversations.base.timeout.HashedWheelTimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConversationHandoffTest {
+
+  private static final TimeoutScheduler scheduler =
+      new HashedWheelTimeoutScheduler(10, TimeUnit.MILLISECONDS, 64);
+
+  private final List<ConversationContext<String, DummyPartner>> results =
+      new CopyOnWriteArrayList<>();
+  private final ConversationTemplate<String, DummyPartner> template =
+      ConversationTemplate.<String, DummyPartner>newBuilder()
+          .withIdentifier("application")
+          .withTimeoutScheduler(scheduler)
+          .withQuestion(Question.of("name", "What's your name?"))
+          .withQuestion(
+              Question.<String, DummyPartner>newBuilder()
+                  .withIdentifier("age")
+                  .withMessage("How old are you?")
+                  .withTimeout(1, TimeUnit.MINUTES)
+                  .build())
+          .whenDone(results::add)
+          .build();
+
+  @AfterAll
+  static void shutdown() {
+    scheduler.shutdown();
+  }
+
+  private ConversationManager<String, DummyPartner> newNode(
+      ConversationTransport transport, long graceMillis) {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    manager.setDisconnectGracePeriod(graceMillis, TimeUnit.MILLISECONDS);
+    if (transport != null) {
+      manager.setTransport(transport, MessageCodec.utf8());
+    }
+    return manager;
+  }
+
+  private Conversation.Builder<String, DummyPartner> newBuilder(DummyPartner partner) {
+    return Conversation.<String, DummyPartner>newBuilder()
+        .withConversationPartner(partner)
+        .fromTemplate(template);
+  }
+
+  @Test
+  void testHandoffToAnotherNode() {
+    LoopbackConversationTransport transport = new LoopbackConversationTransport();
+    ConversationManager<String, DummyPartner> first = newNode(transport, 60_000);
+    ConversationManager<String, DummyPartner> second = newNode(transport, 60_000);
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    newBuilder(partner).parentManager(first).build().start();
+    first.acceptInput(uuid, "Ivan");
+
+    first.partnerDisconnected(uuid);
+    Assertions.assertFalse(first.hasActiveConversation(uuid));
+    Assertions.assertTrue(transport.isOffered(uuid));
+
+    DummyPartner reconnected = new DummyPartner(uuid);
+    Assertions.assertTrue(
+        second.reclaimConversation(uuid, $ -> newBuilder(reconnected))
+            .toCompletableFuture()
+            .join());
+    Assertions.assertFalse(transport.isOffered(uuid));
+    Assertions.assertEquals(Arrays.asList("How old are you?"), reconnected.capturedMessages());
+
+    second.acceptInput(uuid, "20");
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.SUCCESS, results.get(0).getEndState());
+    Assertions.assertEquals("Ivan", results.get(0).getInput("name"));
+    Assertions.assertEquals("20", results.get(0).getInput("age"));
+  }
+
+  @Test
+  void testGraceWindowExpires() throws InterruptedException {
+    LoopbackConversationTransport transport = new LoopbackConversationTransport();
+    ConversationManager<String, DummyPartner> manager = newNode(transport, 50);
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    newBuilder(partner).parentManager(manager).build().start();
+
+    manager.partnerDisconnected(uuid);
+    Assertions.assertTrue(results.isEmpty());
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (results.isEmpty() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.PARTNER_DISCONNECT, results.get(0).getEndState());
+    Assertions.assertFalse(transport.isOffered(uuid));
+    Assertions.assertFalse(
+        manager.reclaimConversation(uuid, $ -> newBuilder(partner)).toCompletableFuture().join());
+  }
+
+  @Test
+  void testReconnectToSameNode() {
+    ConversationManager<String, DummyPartner> manager = newNode(null, 60_000);
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    newBuilder(partner).parentManager(manager).build().start();
+    manager.acceptInput(uuid, "Ivan");
+    manager.partnerDisconnected(uuid);
+
+    DummyPartner reconnected = new DummyPartner(uuid);
+    Assertions.assertTrue(
+        manager.reclaimConversation(uuid, $ -> newBuilder(reconnected))
+            .toCompletableFuture()
+            .join());
+    manager.acceptInput(uuid, "20");
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.SUCCESS, results.get(0).getEndState());
+    Assertions.assertEquals("Ivan", results.get(0).getInput("name"));
+  }
+
+  @Test
+  void testReconnectToSameNodeOnWorkerPool() throws InterruptedException {
+    ExecutorService workerPool = Executors.newFixedThreadPool(4);
+    ConversationManager<String, DummyPartner> manager = newNode(null, 60_000);
+    manager.setWorkerPool(workerPool);
+    RecordingStore store = new RecordingStore();
+    manager.setStore(store);
+    List<EndState> ended = new CopyOnWriteArrayList<>();
+    manager.setMetrics(
+        new ConversationMetrics() {
+          @Override
+          public void conversationEnded(EndState endState) {
+            ended.add(endState);
+          }
+        });
+    manager.addListener(
+        new ConversationListener<String, DummyPartner>() {
+          @Override
+          public void onEnd(Conversation<String, DummyPartner> conversation, EndState endState) {
+            ended.add(endState);
+          }
+        });
+    List<UUID> uuids = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      DummyPartner partner = new DummyPartner();
+      UUID uuid = partner.getUniqueIdentifier();
+      uuids.add(uuid);
+      newBuilder(partner).parentManager(manager).build().start();
+      manager.partnerDisconnected(uuid);
+      DummyPartner reconnected = new DummyPartner(uuid);
+      Assertions.assertTrue(
+          manager.reclaimConversation(uuid, $ -> newBuilder(reconnected))
+              .toCompletableFuture()
+              .join());
+    }
+    workerPool.shutdown();
+    Assertions.assertTrue(workerPool.awaitTermination(5, TimeUnit.SECONDS));
+
+    // the held conversations ended without touching the records of the reclaiming ones
+    Assertions.assertEquals(uuids.size(), store.started.size());
+    Assertions.assertTrue(store.started.containsAll(uuids));
+    Assertions.assertTrue(ended.isEmpty());
+    Assertions.assertTrue(results.isEmpty());
+  }
+
+  @Test
+  void testReconnectBeforeHeld() {
+    Queue<Runnable> tasks = new ArrayDeque<>();
+    ConversationManager<String, DummyPartner> manager = newNode(null, 60_000);
+    manager.setWorkerPool(tasks::add);
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    newBuilder(partner).parentManager(manager).build().start();
+    manager.acceptInput(uuid, "Ivan");
+    runAll(tasks);
+
+    // reconnects whilst the conversation is yet to be held
+    manager.partnerDisconnected(uuid);
+    DummyPartner reconnected = new DummyPartner(uuid);
+    CompletableFuture<Boolean> reclaimed =
+        manager.reclaimConversation(uuid, $ -> newBuilder(reconnected)).toCompletableFuture();
+    Assertions.assertFalse(reclaimed.isDone());
+    runAll(tasks);
+    Assertions.assertTrue(reclaimed.join());
+    Assertions.assertEquals(Arrays.asList("How old are you?"), reconnected.capturedMessages());
+
+    manager.acceptInput(uuid, "20");
+    runAll(tasks);
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.SUCCESS, results.get(0).getEndState());
+    Assertions.assertEquals("Ivan", results.get(0).getInput("name"));
+  }
+
+  private static void runAll(Queue<Runnable> tasks) {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      task.run();
+    }
+  }
+
+  @Test
+  void testNoGraceWindow() {
+    ConversationManager<String, DummyPartner> manager = newNode(null, 0);
+    DummyPartner partner = new DummyPartner();
+    newBuilder(partner).parentManager(manager).build().start();
+
+    manager.partnerDisconnected(partner.getUniqueIdentifier());
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.PARTNER_DISCONNECT, results.get(0).getEndState());
+  }
+
+  @Test
+  void testQuestionGraphCursor() {
+    ConversationTemplate<String, DummyPartner> template =
+        ConversationTemplate.<String, DummyPartner>newBuilder()
+            .withIdentifier("menu")
+            .withTimeoutScheduler(scheduler)
+            .withQuestionGraph(
+                QuestionGraph.<String, DummyPartner>newBuilder()
+                    .withQuestion(Question.of("menu", "Pick"))
+                    .withQuestion(Question.of("confirm", "Sure?"))
+                    .withStart("menu")
+                    .withDefaultTransition("menu", "confirm")
+                    .withTransition("confirm", "no"::equals, "menu")
+                    .withDefaultTransition("confirm", QuestionGraph.END)
+                    .build())
+            .whenDone(results::add)
+            .build();
+    LoopbackConversationTransport transport = new LoopbackConversationTransport();
+    ConversationManager<String, DummyPartner> first = newNode(transport, 60_000);
+    ConversationManager<String, DummyPartner> second = newNode(transport, 60_000);
+    DummyPartner partner = new DummyPartner();
+    UUID uuid = partner.getUniqueIdentifier();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(first)
+        .withConversationPartner(partner)
+        .fromTemplate(template)
+        .build()
+        .start();
+    first.acceptInput(uuid, "a");
+    first.acceptInput(uuid, "no");
+    first.acceptInput(uuid, "b");
+    first.partnerDisconnected(uuid);
+
+    DummyPartner reconnected = new DummyPartner(uuid);
+    second
+        .reclaimConversation(
+            uuid,
+            $ ->
+                Conversation.<String, DummyPartner>newBuilder()
+                    .withConversationPartner(reconnected)
+                    .fromTemplate(template))
+        .toCompletableFuture()
+        .join();
+    Assertions.assertEquals(Arrays.asList("Sure?"), reconnected.capturedMessages());
+    second.acceptInput(uuid, "yes");
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals("b", results.get(0).getInput("menu"));
+    Assertions.assertEquals("yes", results.get(0).getInput("confirm"));
+  }
+
+  @Test
+  void testStateCodec() {
+    ConversationStateCodec<String> codec = new ConversationStateCodec<>(MessageCodec.utf8());
+    UUID uuid = UUID.randomUUID();
+    StoredConversation<String> state =
+        new StoredConversation<>(
+            uuid,
+            "application",
+            Arrays.asList(new StoredConversation.Answer<>("name", "Ivan")),
+            "age",
+            3,
+            System.currentTimeMillis() + 30_000);
+
+    byte[] bytes = codec.encode(state);
+    StoredConversation<String> decoded = codec.decode(bytes);
+    Assertions.assertEquals(uuid, decoded.getConversationPartner());
+    Assertions.assertEquals("application", decoded.getTemplateIdentifier());
+    Assertions.assertEquals("age", decoded.getQuestionIdentifier());
+    Assertions.assertEquals(3, decoded.getQuestionIndex());
+    Assertions.assertEquals(1, decoded.getAnswers().size());
+    Assertions.assertEquals("Ivan", decoded.getAnswers().get(0).getInput());
+    long remaining = decoded.getTimeoutDeadline() - System.currentTimeMillis();
+    Assertions.assertTrue(remaining > 25_000 && remaining <= 30_000);
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> codec.decode(Arrays.copyOf(bytes, 10)));
+  }
+
+  // records which partners are into a conversation, as far as the store is concerned
+  private static final class RecordingStore implements ConversationStore<String> {
+
+    private final Set<UUID> started = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void conversationStarted(UUID conversationPartner, String templateIdentifier) {
+      started.add(conversationPartner);
+    }
+
+    @Override
+    public void questionAsked(
+        UUID conversationPartner, String questionIdentifier, long timeoutDeadline) {}
+
+    @Override
+    public void inputAccepted(UUID conversationPartner, String questionIdentifier, String input) {}
+
+    @Override
+    public void conversationEnded(UUID conversationPartner) {
+      started.remove(conversationPartner);
+    }
+
+    @Override
+    public Collection<StoredConversation<String>> getStoredConversations() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public StoredConversation<String> getStoredConversation(UUID conversationPartner) {
+      return null;
+    }
+
+    @Override
+    public StoredConversation<String> takeStoredConversation(UUID conversationPartner) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.mrivanplays.conversations.base.metrics;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.timeout.ExecutorServiceTimeoutScheduler;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConversationMetricsTest {
+
+  @Test
+  void testMetrics() throws InterruptedException {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    LongAdderConversationMetrics metrics = new LongAdderConversationMetrics();
+    manager.setMetrics(metrics);
+    ExecutorServiceTimeoutScheduler timeoutScheduler = new ExecutorServiceTimeoutScheduler();
+    CountDownLatch timedOut = new CountDownLatch(1);
+
+    Question<String, DummyPartner> age =
+        Question.<String, DummyPartner>newBuilder()
+            .withIdentifier("age")
+            .withMessage("Age?")
+            .withTimeout(100, TimeUnit.MILLISECONDS)
+            .withInputValidator(
+                input ->
+                    input.equals("twenty")
+                        ? ValidationResult.fail("Not a number", true)
+                        : ValidationResult.success())
+            .build();
+    Conversation<String, DummyPartner> answered = newConversation(manager, timeoutScheduler, age);
+    Conversation<String, DummyPartner> disconnecting =
+        newConversation(manager, Question.of("name", "Name?"));
+
+    answered.start();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(new DummyPartner())
+        .withTimeoutScheduler(timeoutScheduler)
+        .withQuestion(age)
+        .whenDone(context -> timedOut.countDown())
+        .build()
+        .start();
+    disconnecting.start();
+    Assertions.assertEquals(3, metrics.getActiveConversations());
+    Assertions.assertEquals(2, metrics.getPendingTimeouts());
+
+    answered.acceptInput("twenty");
+    answered.acceptInput("20");
+    manager.unregisterConversation(disconnecting.getConversationPartner().getUniqueIdentifier());
+    Assertions.assertTrue(timedOut.await(5, TimeUnit.SECONDS));
+    timeoutScheduler.shutdown();
+
+    Assertions.assertEquals(3, metrics.getStarted());
+    Assertions.assertEquals(0, metrics.getActiveConversations());
+    Assertions.assertEquals(0, metrics.getPendingTimeouts());
+    Assertions.assertEquals(1, metrics.getEnded(EndState.SUCCESS));
+    Assertions.assertEquals(1, metrics.getEnded(EndState.TIMEOUT));
+    Assertions.assertEquals(1, metrics.getEnded(EndState.UNKNOWN));
+    Assertions.assertEquals(1, metrics.getValidationFailures("age"));
+    Assertions.assertEquals(0, metrics.getValidationFailures("name"));
+    Assertions.assertEquals(2, metrics.getResponseTimes("age").getCount());
+    Assertions.assertEquals(2, metrics.getValidationTimes("age").getCount());
+    Assertions.assertNull(metrics.getResponseTimes("name"));
+  }
+
+  private static Conversation<String, DummyPartner> newConversation(
+      ConversationManager<String, DummyPartner> manager, Question<String, DummyPartner> question) {
+    return newConversation(manager, null, question);
+  }
+
+  private static Conversation<String, DummyPartner> newConversation(
+      ConversationManager<String, DummyPartner> manager,
+      ExecutorServiceTimeoutScheduler timeoutScheduler,
+      Question<String, DummyPartner> question) {
+    return Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(new DummyPartner())
+        .withTimeoutScheduler(timeoutScheduler)
+        .withQuestion(question)
+        .whenDone(context -> {})
+        .build();
+  }
+}
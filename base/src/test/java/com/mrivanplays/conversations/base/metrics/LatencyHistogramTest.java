@@ -0,0 +1,39 @@
+package com.mrivanplays.conversations.base.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  void testBucketsAreContiguous() {
+    long expectedLowest = 0;
+    for (int index = 0; index < LatencyHistogram.indexOf(Long.MAX_VALUE); index++) {
+      Assertions.assertEquals(index, LatencyHistogram.indexOf(expectedLowest));
+      long highest = LatencyHistogram.highestValueOf(index);
+      Assertions.assertEquals(index, LatencyHistogram.indexOf(highest));
+      expectedLowest = highest + 1;
+    }
+  }
+
+  @Test
+  void testPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Assertions.assertEquals(0, histogram.getP99());
+    for (int i = 1; i <= 1000; i++) {
+      histogram.record(i, TimeUnit.MILLISECONDS);
+    }
+
+    Assertions.assertEquals(1000, histogram.getCount());
+    assertWithinBucket(TimeUnit.MILLISECONDS.toNanos(500), histogram.getP50());
+    assertWithinBucket(TimeUnit.MILLISECONDS.toNanos(990), histogram.getP99());
+    assertWithinBucket(TimeUnit.MILLISECONDS.toNanos(999), histogram.getP999());
+    assertWithinBucket(TimeUnit.MILLISECONDS.toNanos(1000), histogram.getValueAtPercentile(100));
+  }
+
+  private static void assertWithinBucket(long expected, long actual) {
+    Assertions.assertTrue(
+        actual >= expected && actual <= expected * 1.125, expected + " vs " + actual);
+  }
+}
@@ -0,0 +1,89 @@
+package com.mrivanplays.conversations.base.question;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationContext;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.DummyPartner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class QuestionGraphTest {
+
+  private static final ConversationManager<String, DummyPartner> manager =
+      new ConversationManager<>();
+
+  private static final QuestionGraph<String, DummyPartner> clanGraph =
+      QuestionGraph.<String, DummyPartner>newBuilder()
+          .withQuestion(Question.of("clanName", "Clan name?"))
+          .withQuestion(Question.of("clanTag", "Clan tag?"))
+          .withDefaultTransition("clanName", "clanTag")
+          .build();
+
+  private static final QuestionGraph<String, DummyPartner> graph =
+      QuestionGraph.<String, DummyPartner>newBuilder()
+          .withQuestion(Question.of("role", "Role?"))
+          .withQuestion(Question.of("age", "Age?"))
+          .withQuestion(Question.of("confirm", "Confirm?"))
+          .withSubGraph(clanGraph, "confirm")
+          .withKeyFunction("role", String::toLowerCase)
+          .withKeyedTransition("role", "leader", "clanName")
+          .withKeyedTransition("role", "member", "age")
+          .withDefaultTransition("role", "role")
+          .withTransition("age", input -> Integer.parseInt(input) < 13, QuestionGraph.END)
+          .withDefaultTransition("age", "confirm")
+          .build();
+
+  private static List<ConversationContext<String, DummyPartner>> run(
+      DummyPartner partner, String... answers) {
+    List<ConversationContext<String, DummyPartner>> contexts = new ArrayList<>();
+    Conversation<String, DummyPartner> convo =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .withQuestionGraph(graph)
+            .whenDone(contexts::add)
+            .build();
+    convo.start();
+    for (String answer : answers) {
+      convo.acceptInput(answer);
+    }
+    return contexts;
+  }
+
+  @Test
+  void testKeyedTransitionsAndSubGraph() {
+    DummyPartner partner = new DummyPartner();
+    List<ConversationContext<String, DummyPartner>> contexts =
+        run(partner, "nobody", "LEADER", "Foo", "FOO", "yes");
+
+    Assertions.assertEquals(1, contexts.size());
+    Assertions.assertEquals("Foo", contexts.get(0).getInput("clanName"));
+    Assertions.assertEquals("FOO", contexts.get(0).getInput("clanTag"));
+    Assertions.assertNull(contexts.get(0).getInput("age"));
+    Assertions.assertEquals(
+        "[Role?, Role?, Clan name?, Clan tag?, Confirm?]", partner.capturedMessages().toString());
+  }
+
+  @Test
+  void testConditionalTransitions() {
+    DummyPartner partner = new DummyPartner();
+    List<ConversationContext<String, DummyPartner>> contexts = run(partner, "member", "12");
+
+    Assertions.assertEquals(1, contexts.size());
+    Assertions.assertEquals("12", contexts.get(0).getInput("age"));
+    Assertions.assertEquals("[Role?, Age?]", partner.capturedMessages().toString());
+  }
+
+  @Test
+  void testUnknownQuestion() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            QuestionGraph.<String, DummyPartner>newBuilder()
+                .withQuestion(Question.of("foo", "Foo"))
+                .withDefaultTransition("foo", "bar")
+                .build());
+  }
+}
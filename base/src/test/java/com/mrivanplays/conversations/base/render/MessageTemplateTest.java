@@ -0,0 +1,120 @@
+package com.mrivanplays.conversations.base.render;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class MessageTemplateTest {
+
+  @Test
+  void testCompiledOnce() {
+    AtomicInteger parses = new AtomicInteger();
+    TemplateFormat<String> format =
+        new TemplateFormat<String>() {
+          @Override
+          public String parse(String text) {
+            parses.incrementAndGet();
+            return text;
+          }
+
+          @Override
+          public String join(List<String> parts) {
+            return TemplateFormat.plain().join(parts);
+          }
+        };
+    DummyPartner partner = new DummyPartner();
+    MessageTemplate<String, DummyPartner> template =
+        MessageTemplate.<String, DummyPartner>newBuilder(format)
+            .withTemplate("Hi {player}, {{ is {age} {missing} {} {unclosed")
+            .withPlaceholder("player", $ -> "Ivan")
+            .build();
+    int compiled = parses.get();
+
+    Assertions.assertEquals(
+        "Hi Ivan, { is 20 {missing} {} {unclosed",
+        template.render(partner, id -> id.equals("age") ? "20" : null));
+    Assertions.assertEquals(
+        "Hi Ivan, { is 30 {missing} {} {unclosed",
+        template.render(partner, id -> id.equals("age") ? "30" : null));
+    Assertions.assertEquals(compiled, parses.get());
+    Assertions.assertEquals(
+        "Hi {player}, { is {age} {missing} {} {unclosed", template.getUnrenderedMessage());
+  }
+
+  @Test
+  void testQuestionWithTemplate() {
+    Question<String, DummyPartner> age =
+        Question.<String, DummyPartner>newBuilder()
+            .withIdentifier("age")
+            .withMessageTemplate(
+                MessageTemplate.<String, DummyPartner>newBuilder(TemplateFormat.plain())
+                    .withTemplate("How old are you, {name}?")
+                    .build())
+            .build();
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    DummyPartner partner = new DummyPartner();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(Question.of("name", "What's your name?"))
+        .withQuestion(age)
+        .whenDone($ -> {})
+        .build()
+        .start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "Ivan");
+
+    Assertions.assertEquals(
+        Arrays.asList("What's your name?", "How old are you, Ivan?"), partner.capturedMessages());
+    Assertions.assertEquals("How old are you, {name}?", age.getMessage());
+    Assertions.assertSame(
+        age.getMessageTemplate(), Question.newBuilder(age).build().getMessageTemplate());
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            Question.<String, DummyPartner>newBuilder()
+                .withIdentifier("both")
+                .withMessage("Foo")
+                .withMessageTemplate(
+                    MessageTemplate.<String, DummyPartner>newBuilder(TemplateFormat.plain())
+                        .withTemplate("Foo")
+                        .build())
+                .build());
+  }
+
+  @Test
+  void testArrayFormat() {
+    TemplateFormat<String[]> format =
+        TemplateFormat.ofArrays(text -> text.split(" "), String[]::new);
+    MessageTemplate<String[], ArrayPartner> template =
+        MessageTemplate.<String[], ArrayPartner>newBuilder(format)
+            .withTemplate("Hello there {name}!")
+            .build();
+
+    Assertions.assertArrayEquals(
+        new String[] {"Hello", "there", "Ivan", "!"},
+        template.render(new ArrayPartner(), id -> new String[] {"Ivan"}));
+    Assertions.assertArrayEquals(
+        new String[] {"Hello", "there", "{name}", "!"}, template.getUnrenderedMessage());
+  }
+
+  private static final class ArrayPartner implements ConversationPartner<String[]> {
+
+    private final UUID uuid = UUID.randomUUID();
+
+    @Override
+    public UUID getUniqueIdentifier() {
+      return uuid;
+    }
+
+    @Override
+    public void sendMessage(String[] message) {}
+  }
+}
@@ -0,0 +1,74 @@
+package com.mrivanplays.conversations.base.render;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class OutboundCoalescerTest {
+
+  @Test
+  void testCoalescing() {
+    OutboundCoalescer<String> coalescer = new OutboundCoalescer<>(TemplateFormat.plain());
+    List<String> sent = new ArrayList<>();
+    OutboundCoalescer.Buffer<String> buffer = new OutboundCoalescer.Buffer<>(sent::add);
+
+    coalescer.send(buffer, "Foo");
+    coalescer.sendAll(buffer, Arrays.asList("Bar", "Baz"));
+    Assertions.assertEquals(Arrays.asList("Foo", "Bar", "Baz"), sent);
+
+    sent.clear();
+    coalescer.setEnabled(true);
+    coalescer.send(buffer, "Foo");
+    coalescer.sendAll(buffer, Arrays.asList("Bar", "Baz"));
+    Assertions.assertTrue(sent.isEmpty());
+    coalescer.flush();
+    Assertions.assertEquals(Arrays.asList("Foo\nBar\nBaz"), sent);
+    coalescer.flush();
+    Assertions.assertEquals(1, sent.size());
+
+    coalescer.send(buffer, "Qux");
+    coalescer.setEnabled(false);
+    Assertions.assertEquals(Arrays.asList("Foo\nBar\nBaz", "Qux"), sent);
+  }
+
+  @Test
+  void testReaskIsBatched() {
+    List<List<String>> batches = new ArrayList<>();
+    DummyPartner partner =
+        new DummyPartner() {
+          @Override
+          public void sendMessages(List<String> messages) {
+            batches.add(new ArrayList<>(messages));
+          }
+        };
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    Conversation.<String, DummyPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestion(
+            Question.<String, DummyPartner>newBuilder()
+                .withIdentifier("age")
+                .withMessage("How old are you?")
+                .withInputValidator(
+                    input ->
+                        input.chars().allMatch(Character::isDigit)
+                            ? ValidationResult.success()
+                            : ValidationResult.fail("Not a number", true))
+                .build())
+        .whenDone($ -> {})
+        .build()
+        .start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "twenty");
+
+    Assertions.assertEquals(Arrays.asList("How old are you?"), partner.capturedMessages());
+    Assertions.assertEquals(
+        Arrays.asList(Arrays.asList("Not a number", "How old are you?")), batches);
+  }
+}
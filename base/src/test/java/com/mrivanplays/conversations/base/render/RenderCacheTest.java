@@ -0,0 +1,50 @@
+package com.mrivanplays.conversations.base.render;
+
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RenderCacheTest {
+
+  private final AtomicInteger renders = new AtomicInteger();
+
+  private String render(String message, Locale locale) {
+    renders.incrementAndGet();
+    return message + " [" + locale.getLanguage() + "]";
+  }
+
+  @Test
+  void testRenderedOncePerKey() {
+    RenderCache<String, Locale> cache = new RenderCache<>(this::render);
+    Question<String, DummyPartner> question = Question.of("name", "What's your name?");
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertEquals("What's your name? [en]", cache.render(question, Locale.ENGLISH));
+    }
+    Assertions.assertEquals("What's your name? [de]", cache.render(question, Locale.GERMAN));
+    Assertions.assertEquals(2, renders.get());
+
+    cache.invalidate(question);
+    cache.render(question, Locale.ENGLISH);
+    Assertions.assertEquals(3, renders.get());
+  }
+
+  @Test
+  void testFullCacheRendersEverySend() {
+    RenderCache<String, Locale> cache = new RenderCache<>(this::render, 1);
+    Question<String, DummyPartner> first = Question.of("first", "Foo");
+    Question<String, DummyPartner> second = Question.of("second", "Bar");
+    cache.render(first, Locale.ENGLISH);
+    cache.render(second, Locale.ENGLISH);
+    cache.render(second, Locale.ENGLISH);
+    Assertions.assertEquals(1, cache.size());
+    Assertions.assertEquals(3, renders.get());
+
+    cache.clear();
+    cache.render(second, Locale.ENGLISH);
+    cache.render(second, Locale.ENGLISH);
+    Assertions.assertEquals(4, renders.get());
+  }
+}
@@ -0,0 +1,209 @@
+package com.mrivanplays.conversations.base.store;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationContext;
+import com.mrivanplays.conversations.base.ConversationContext.EndState;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.ConversationTemplate;
+import com.mrivanplays.conversations.base.DummyPartner;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.timeout.HashedWheelTimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JournalConversationStoreTest {
+
+  private static final TimeoutScheduler scheduler = new HashedWheelTimeoutScheduler();
+
+  @TempDir Path directory;
+
+  private final List<ConversationContext<String, DummyPartner>> results = new ArrayList<>();
+  private final ConversationTemplate<String, DummyPartner> template =
+      ConversationTemplate.<String, DummyPartner>newBuilder()
+          .withIdentifier("application")
+          .withTimeoutScheduler(scheduler)
+          .withQuestion(
+              Question.<String, DummyPartner>newBuilder()
+                  .withIdentifier("name")
+                  .withMessage("What's your name?")
+                  .withTimeout(1, TimeUnit.MINUTES)
+                  .build())
+          .withQuestion(Question.of("age", "How old are you?"))
+          .withQuestion(
+              Question.<String, DummyPartner>newBuilder()
+                  .withIdentifier("reason")
+                  .withMessage("Why do you apply?")
+                  .withTimeout(1, TimeUnit.MINUTES)
+                  .build())
+          .whenDone(results::add)
+          .build();
+
+  @AfterAll
+  static void shutdown() {
+    scheduler.shutdown();
+  }
+
+  private ConversationManager<String, DummyPartner> newManager(
+      ConversationStore<String> store) {
+    ConversationManager<String, DummyPartner> manager = new ConversationManager<>();
+    manager.setStore(store);
+    return manager;
+  }
+
+  private Conversation.Builder<String, DummyPartner> newBuilder(DummyPartner partner) {
+    return Conversation.<String, DummyPartner>newBuilder()
+        .withConversationPartner(partner)
+        .fromTemplate(template);
+  }
+
+  @Test
+  void testRestore() throws IOException {
+    Path file = directory.resolve("conversations.journal");
+    JournalConversationStore<String> store =
+        new JournalConversationStore<>(file, MessageCodec.utf8());
+    ConversationManager<String, DummyPartner> manager = newManager(store);
+    DummyPartner partner = new DummyPartner();
+    newBuilder(partner).parentManager(manager).build().start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "Ivan");
+    manager.acceptInput(partner.getUniqueIdentifier(), "20");
+    store.shutdown();
+
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    StoredConversation<String> stored = store.getStoredConversation(partner.getUniqueIdentifier());
+    Assertions.assertNotNull(stored);
+    Assertions.assertEquals("application", stored.getTemplateIdentifier());
+    Assertions.assertEquals(2, stored.getAnswers().size());
+    Assertions.assertEquals("Ivan", stored.getAnswers().get(0).getInput());
+    Assertions.assertEquals("reason", stored.getQuestionIdentifier());
+    Assertions.assertTrue(stored.getTimeoutDeadline() > System.currentTimeMillis());
+
+    manager = newManager(store);
+    DummyPartner rejoined = new DummyPartner(partner.getUniqueIdentifier());
+    Assertions.assertEquals(1, manager.restoreConversations(($, id) -> newBuilder(rejoined)));
+    Assertions.assertTrue(store.getStoredConversations().isEmpty());
+    Assertions.assertEquals(1, rejoined.capturedMessages().size());
+    Assertions.assertEquals("Why do you apply?", rejoined.capturedMessages().get(0));
+
+    manager.acceptInput(rejoined.getUniqueIdentifier(), "Fun");
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.SUCCESS, results.get(0).getEndState());
+    Assertions.assertEquals("Ivan", results.get(0).getInput("name"));
+    Assertions.assertEquals("20", results.get(0).getInput("age"));
+    Assertions.assertEquals("Fun", results.get(0).getInput("reason"));
+    store.shutdown();
+
+    // the ended conversation gets compacted away
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    Assertions.assertTrue(store.getStoredConversations().isEmpty());
+    store.shutdown();
+  }
+
+  @Test
+  void testRejectedConversationKeepsRecords() throws IOException {
+    Path file = directory.resolve("conversations.journal");
+    JournalConversationStore<String> store =
+        new JournalConversationStore<>(file, MessageCodec.utf8());
+    ConversationManager<String, DummyPartner> manager = newManager(store);
+    DummyPartner partner = new DummyPartner();
+    newBuilder(partner).parentManager(manager).build().start();
+    manager.acceptInput(partner.getUniqueIdentifier(), "Ivan");
+    Conversation<String, DummyPartner> second = newBuilder(partner).parentManager(manager).build();
+    Assertions.assertThrows(IllegalArgumentException.class, second::start);
+    store.shutdown();
+
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    StoredConversation<String> stored = store.getStoredConversation(partner.getUniqueIdentifier());
+    Assertions.assertNotNull(stored);
+    Assertions.assertEquals(1, stored.getAnswers().size());
+    Assertions.assertEquals("Ivan", stored.getAnswers().get(0).getInput());
+    Assertions.assertEquals("age", stored.getQuestionIdentifier());
+    store.shutdown();
+  }
+
+  @Test
+  void testBusyPartnerKeepsStoredConversation() throws IOException {
+    Path file = directory.resolve("conversations.journal");
+    UUID uuid = UUID.randomUUID();
+    JournalConversationStore<String> store =
+        new JournalConversationStore<>(file, MessageCodec.utf8());
+    store.conversationStarted(uuid, "application");
+    store.inputAccepted(uuid, "name", "Ivan");
+    store.questionAsked(uuid, "age", -1);
+    store.shutdown();
+
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    // the partner got into another conversation before the store was specified
+    ConversationManager<String, DummyPartner> manager = newManager(null);
+    DummyPartner partner = new DummyPartner(uuid);
+    Conversation.<String, DummyPartner>newBuilder()
+        .withConversationPartner(partner)
+        .withQuestion(Question.of("other", "Other?"))
+        .whenDone(results::add)
+        .parentManager(manager)
+        .build()
+        .start();
+    manager.setStore(store);
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> manager.restoreConversation(uuid, $ -> newBuilder(partner)));
+    Assertions.assertNotNull(store.getStoredConversation(uuid));
+
+    manager.acceptInput(uuid, "done");
+    Assertions.assertTrue(manager.restoreConversation(uuid, $ -> newBuilder(partner)));
+    Assertions.assertEquals("How old are you?", partner.capturedMessages().get(1));
+    store.shutdown();
+  }
+
+  @Test
+  void testElapsedTimeout() throws IOException {
+    Path file = directory.resolve("conversations.journal");
+    UUID uuid = UUID.randomUUID();
+    JournalConversationStore<String> store =
+        new JournalConversationStore<>(file, MessageCodec.utf8());
+    store.conversationStarted(uuid, "application");
+    store.questionAsked(uuid, "name", System.currentTimeMillis() - 1000);
+    store.shutdown();
+
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    ConversationManager<String, DummyPartner> manager = newManager(store);
+    DummyPartner partner = new DummyPartner(uuid);
+    Assertions.assertFalse(manager.restoreConversation(UUID.randomUUID(), $ -> null));
+    Assertions.assertTrue(manager.restoreConversation(uuid, $ -> newBuilder(partner)));
+
+    Assertions.assertTrue(partner.capturedMessages().isEmpty());
+    Assertions.assertFalse(manager.hasActiveConversation(uuid));
+    Assertions.assertEquals(1, results.size());
+    Assertions.assertEquals(EndState.TIMEOUT, results.get(0).getEndState());
+    Assertions.assertEquals("name", results.get(0).getQuestionIdentifierEndedOn());
+    store.shutdown();
+  }
+
+  @Test
+  void testChangedTemplateStartsOver() throws IOException {
+    Path file = directory.resolve("conversations.journal");
+    UUID uuid = UUID.randomUUID();
+    JournalConversationStore<String> store =
+        new JournalConversationStore<>(file, MessageCodec.utf8());
+    store.conversationStarted(uuid, "application");
+    store.inputAccepted(uuid, "nickname", "Ivan");
+    store.questionAsked(uuid, "age", -1);
+    store.shutdown();
+
+    store = new JournalConversationStore<>(file, MessageCodec.utf8());
+    ConversationManager<String, DummyPartner> manager = newManager(store);
+    DummyPartner partner = new DummyPartner(uuid);
+    Assertions.assertEquals(1, manager.restoreConversations(($, id) -> newBuilder(partner)));
+    Assertions.assertEquals(1, partner.capturedMessages().size());
+    Assertions.assertEquals("What's your name?", partner.capturedMessages().get(0));
+    store.shutdown();
+  }
+}
@@ -0,0 +1,66 @@
+package com.mrivanplays.conversations.base.timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HashedWheelTimeoutSchedulerTest {
+
+  @Test
+  void testScheduleAndCancel() throws InterruptedException {
+    HashedWheelTimeoutScheduler scheduler =
+        new HashedWheelTimeoutScheduler(5, TimeUnit.MILLISECONDS, 8);
+    int tasks = 10_000;
+    AtomicInteger called = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(tasks / 2);
+    List<TimeoutTask> timeoutTasks = new ArrayList<>();
+    for (int i = 0; i < tasks; i++) {
+      // spread the deadlines over several rounds of the wheel
+      timeoutTasks.add(
+          scheduler.schedule(
+              () -> {
+                called.incrementAndGet();
+                latch.countDown();
+              },
+              100 + i % 150,
+              TimeUnit.MILLISECONDS));
+    }
+    for (int i = 0; i < tasks; i += 2) {
+      timeoutTasks.get(i).cancel();
+    }
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    scheduler.shutdown();
+
+    Assertions.assertEquals(tasks / 2, called.get());
+    Assertions.assertEquals(0, scheduler.getPendingTimeouts());
+    for (int i = 0; i < tasks; i++) {
+      Assertions.assertEquals(i % 2 != 0, timeoutTasks.get(i).hasCalled());
+    }
+  }
+
+  @Test
+  void testReschedule() throws InterruptedException {
+    HashedWheelTimeoutScheduler scheduler =
+        new HashedWheelTimeoutScheduler(5, TimeUnit.MILLISECONDS, 8);
+    AtomicInteger called = new AtomicInteger();
+    TimeoutTask task = scheduler.schedule(called::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+    // pushing the deadline out repeatedly keeps the task from firing
+    for (int i = 0; i < 5; i++) {
+      Thread.sleep(50);
+      Assertions.assertTrue(task.reschedule(100, TimeUnit.MILLISECONDS));
+    }
+    Assertions.assertEquals(0, called.get());
+
+    Thread.sleep(200);
+    Assertions.assertEquals(1, called.get());
+    Assertions.assertFalse(task.reschedule(100, TimeUnit.MILLISECONDS));
+    Assertions.assertEquals(0, scheduler.getPendingTimeouts());
+    scheduler.shutdown();
+  }
+}
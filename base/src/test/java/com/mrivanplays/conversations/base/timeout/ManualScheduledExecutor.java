@@ -0,0 +1,142 @@
+package com.mrivanplays.conversations.base.timeout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// a scheduled executor whose clock only moves when advanced, running what is due on the caller
+final class ManualScheduledExecutor extends AbstractExecutorService
+    implements ScheduledExecutorService {
+
+  private final PriorityQueue<ManualFuture<?>> queue =
+      new PriorityQueue<>(
+          Comparator.<ManualFuture<?>>comparingLong(future -> future.at)
+              .thenComparingLong(future -> future.sequence));
+  private long now;
+  private long sequence;
+  private boolean shutdown;
+
+  long nanoTime() {
+    return now;
+  }
+
+  int getQueueSize() {
+    return queue.size();
+  }
+
+  void advance(long time, TimeUnit timeUnit) {
+    long until = now + timeUnit.toNanos(time);
+    ManualFuture<?> next;
+    while ((next = queue.peek()) != null && next.at - until <= 0) {
+      queue.poll();
+      now = Math.max(now, next.at);
+      next.run();
+    }
+    now = until;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(new ManualFuture<>(command, now + unit.toNanos(delay)));
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return schedule(new ManualFuture<>(callable, now + unit.toNanos(delay)));
+  }
+
+  private <V> ScheduledFuture<V> schedule(ManualFuture<V> future) {
+    if (shutdown) {
+      throw new IllegalStateException("Shut down");
+    }
+    queue.add(future);
+    return future;
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(
+      Runnable command, long initialDelay, long period, TimeUnit unit) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(
+      Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    schedule(command, 0, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown = true;
+    List<Runnable> pending = new ArrayList<>(queue);
+    queue.clear();
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) {
+    return shutdown;
+  }
+
+  private final class ManualFuture<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+    private final long at;
+    private final long sequence = ManualScheduledExecutor.this.sequence++;
+
+    ManualFuture(Runnable runnable, long at) {
+      super(runnable, null);
+      this.at = at;
+    }
+
+    ManualFuture(Callable<V> callable, long at) {
+      super(callable);
+      this.at = at;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(at - now, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      // removed straight away, like a ScheduledThreadPoolExecutor with the remove on cancel policy
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      queue.remove(this);
+      return cancelled;
+    }
+  }
+}
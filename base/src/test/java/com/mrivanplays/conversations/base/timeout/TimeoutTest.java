@@ -8,6 +8,7 @@ import com.mrivanplays.conversations.base.question.Question;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -47,4 +48,101 @@ class TimeoutTest {
     Assertions.assertEquals(2, partner.capturedMessages().size());
     Assertions.assertEquals("foo", partner.capturedMessages().get(1));
   }
+
+  @Test
+  void testTimeoutHandleIsReused() {
+    DummyPartner partner = new DummyPartner();
+    ManualScheduledExecutor executor = new ManualScheduledExecutor();
+    ExecutorServiceTimeoutScheduler delegate =
+        new ExecutorServiceTimeoutScheduler(executor, executor::nanoTime);
+    AtomicInteger scheduled = new AtomicInteger();
+    TimeoutScheduler timeoutScheduler =
+        new TimeoutScheduler() {
+          @Override
+          public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
+            scheduled.incrementAndGet();
+            return delegate.schedule(task, time, timeUnit);
+          }
+
+          @Override
+          public void shutdown() {
+            delegate.shutdown();
+          }
+        };
+    List<EndState> endStates = new ArrayList<>();
+    Conversation.Builder<String, DummyPartner> builder =
+        Conversation.<String, DummyPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .withTimeoutScheduler(timeoutScheduler)
+            .whenDone(context -> endStates.add(context.getEndState()));
+    for (int i = 0; i < 3; i++) {
+      builder.withQuestion(
+          Question.<String, DummyPartner>newBuilder()
+              .withIdentifier("question" + i)
+              .withMessage("Question " + i)
+              .withTimeout(300, TimeUnit.MILLISECONDS)
+              .build());
+    }
+    Conversation<String, DummyPartner> convo = builder.build();
+
+    convo.start();
+    // each answer comes in before the previous deadline, but after the first one
+    executor.advance(200, TimeUnit.MILLISECONDS);
+    convo.acceptInput("a");
+    executor.advance(200, TimeUnit.MILLISECONDS);
+    convo.acceptInput("b");
+    executor.advance(299, TimeUnit.MILLISECONDS);
+    Assertions.assertTrue(endStates.isEmpty());
+
+    executor.advance(1, TimeUnit.MILLISECONDS);
+    Assertions.assertEquals(1, scheduled.get());
+    Assertions.assertEquals(EndState.TIMEOUT, endStates.get(0));
+    Assertions.assertEquals(1, endStates.size());
+    delegate.shutdown();
+  }
+
+  @Test
+  void testRescheduleAfterCall() {
+    ManualScheduledExecutor executor = new ManualScheduledExecutor();
+    ExecutorServiceTimeoutScheduler timeoutScheduler =
+        new ExecutorServiceTimeoutScheduler(executor, executor::nanoTime);
+    AtomicInteger calls = new AtomicInteger();
+    TimeoutTask task = timeoutScheduler.schedule(calls::incrementAndGet, 10, TimeUnit.MILLISECONDS);
+    executor.advance(10, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(task.hasCalled());
+    Assertions.assertFalse(task.reschedule(10, TimeUnit.MILLISECONDS));
+    task.cancel();
+    Assertions.assertFalse(task.reschedule(10, TimeUnit.MILLISECONDS));
+    Assertions.assertEquals(1, calls.get());
+    timeoutScheduler.shutdown();
+  }
+
+  @Test
+  void testRescheduleKeepsSingleFuture() {
+    ManualScheduledExecutor executor = new ManualScheduledExecutor();
+    ExecutorServiceTimeoutScheduler timeoutScheduler =
+        new ExecutorServiceTimeoutScheduler(executor, executor::nanoTime);
+    AtomicInteger calls = new AtomicInteger();
+    TimeoutTask task = timeoutScheduler.schedule(calls::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+    for (int i = 0; i < 100; i++) {
+      Assertions.assertTrue(task.reschedule(200, TimeUnit.MILLISECONDS));
+    }
+    Assertions.assertEquals(1, executor.getQueueSize());
+
+    // fires at the old deadline, and is armed again for the new one
+    executor.advance(50, TimeUnit.MILLISECONDS);
+    Assertions.assertEquals(0, calls.get());
+    Assertions.assertEquals(1, executor.getQueueSize());
+
+    Assertions.assertTrue(task.reschedule(10, TimeUnit.MILLISECONDS));
+    Assertions.assertEquals(1, executor.getQueueSize());
+    executor.advance(9, TimeUnit.MILLISECONDS);
+    Assertions.assertEquals(0, calls.get());
+    executor.advance(1, TimeUnit.MILLISECONDS);
+    Assertions.assertEquals(1, calls.get());
+    Assertions.assertEquals(0, executor.getQueueSize());
+    timeoutScheduler.shutdown();
+  }
 }
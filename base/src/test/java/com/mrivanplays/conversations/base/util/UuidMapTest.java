@@ -0,0 +1,66 @@
+package com.mrivanplays.conversations.base.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class UuidMapTest {
+
+  @Test
+  void testMatchesHashMap() {
+    Random random = new Random(42);
+    UuidMap<Integer> map = new UuidMap<>(4);
+    Map<UUID, Integer> expected = new HashMap<>();
+    List<UUID> keys = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      keys.add(new UUID(random.nextLong(), random.nextLong()));
+    }
+
+    for (int i = 0; i < 100_000; i++) {
+      UUID key = keys.get(random.nextInt(keys.size()));
+      switch (random.nextInt(4)) {
+        case 0:
+          Assertions.assertEquals(expected.put(key, i), map.put(key, i));
+          break;
+        case 1:
+          Assertions.assertEquals(expected.putIfAbsent(key, i), map.putIfAbsent(key, i));
+          break;
+        case 2:
+          Assertions.assertEquals(expected.remove(key), map.remove(key));
+          break;
+        default:
+          Assertions.assertEquals(expected.get(key), map.get(key));
+          break;
+      }
+      Assertions.assertEquals(expected.size(), map.size());
+    }
+
+    for (UUID key : keys) {
+      Assertions.assertEquals(expected.get(key), map.get(key));
+    }
+    Map<UUID, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    Assertions.assertEquals(expected, visited);
+  }
+
+  @Test
+  void testConditionalOperations() {
+    UuidMap<String> map = new UuidMap<>();
+    UUID key = UUID.randomUUID();
+    String first = "first";
+    String second = "second";
+
+    Assertions.assertNull(map.putIfAbsent(key, first));
+    Assertions.assertFalse(map.replace(key, second, second));
+    Assertions.assertTrue(map.replace(key, first, second));
+    Assertions.assertFalse(map.remove(key, first));
+    Assertions.assertSame(second, map.computeIfAbsent(key, $ -> first));
+    Assertions.assertTrue(map.remove(key, second));
+    Assertions.assertTrue(map.isEmpty());
+  }
+}
@@ -0,0 +1,25 @@
+package com.mrivanplays.conversations.benchmarks;
+
+import com.mrivanplays.conversations.base.ConversationPartner;
+import java.util.UUID;
+
+/** A conversation partner which only counts the messages it is sent. */
+public final class BenchPartner implements ConversationPartner<String> {
+
+  private final UUID uuid = UUID.randomUUID();
+  private int messages;
+
+  @Override
+  public UUID getUniqueIdentifier() {
+    return uuid;
+  }
+
+  @Override
+  public void sendMessage(String message) {
+    messages++;
+  }
+
+  public int getMessages() {
+    return messages;
+  }
+}
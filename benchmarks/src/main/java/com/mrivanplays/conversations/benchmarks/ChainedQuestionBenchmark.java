@@ -0,0 +1,82 @@
+package com.mrivanplays.conversations.benchmarks;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.ConversationTemplate;
+import com.mrivanplays.conversations.base.question.ChainedQuestion;
+import com.mrivanplays.conversations.base.question.ChainedQuestion.ComputeContext;
+import com.mrivanplays.conversations.base.question.Question;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks walking a {@link ChainedQuestion}, on its own and through a whole conversation. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChainedQuestionBenchmark {
+
+  @Param({"2", "10", "50"})
+  public int questions;
+
+  private ChainedQuestion<String, BenchPartner> chain;
+  private ConversationTemplate<String, BenchPartner> template;
+  private ConversationManager<String, BenchPartner> manager;
+  private BenchPartner partner;
+
+  @Setup
+  public void setup() {
+    ChainedQuestion<String, BenchPartner> chain =
+        new ChainedQuestion<>(Question.of("question0", "Question 0"));
+    for (int i = 1; i < questions; i++) {
+      Question<String, BenchPartner> question = Question.of("question" + i, "Question " + i);
+      chain.addQuestion(context -> question);
+    }
+    this.chain = chain.immutableCopy();
+    this.template =
+        ConversationTemplate.<String, BenchPartner>newBuilder()
+            .withIdentifier("chain")
+            .chainedQuestions(this.chain)
+            .whenDone(context -> {})
+            .build();
+    this.manager = new ConversationManager<>();
+    this.partner = new BenchPartner();
+  }
+
+  @Benchmark
+  public void traverse(Blackhole blackhole) {
+    Question<String, BenchPartner> question = chain.getFirstQuestion();
+    for (int i = 1; i < questions; i++) {
+      question = chain.getQuestion(i, new ComputeContext<>(question, "answer", partner));
+      blackhole.consume(question);
+    }
+  }
+
+  @Benchmark
+  public Conversation<String, BenchPartner> walkConversation() {
+    Conversation<String, BenchPartner> conversation =
+        Conversation.<String, BenchPartner>newBuilder()
+            .parentManager(manager)
+            .withConversationPartner(partner)
+            .fromTemplate(template)
+            .build();
+    conversation.start();
+    for (int i = 0; i < questions; i++) {
+      conversation.acceptInput("answer");
+    }
+    return conversation;
+  }
+}
@@ -0,0 +1,112 @@
+package com.mrivanplays.conversations.benchmarks;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link ConversationManager} lookups with a varying amount of active
+ * conversations. The conversations loop over two questions, so that they never end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversationManagerBenchmark {
+
+  static final QuestionGraph<String, BenchPartner> LOOP =
+      QuestionGraph.<String, BenchPartner>newBuilder()
+          .withQuestion(Question.of("first", "First?"))
+          .withQuestion(Question.of("second", "Second?"))
+          .withDefaultTransition("first", "second")
+          .withDefaultTransition("second", "first")
+          .build();
+
+  @Param({"10", "1000", "100000"})
+  public int activeConversations;
+
+  private ConversationManager<String, BenchPartner> manager;
+  private UUID[] partners;
+  private UUID absent;
+  private Conversation<String, BenchPartner> extra;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    manager = new ConversationManager<>();
+    partners = new UUID[activeConversations];
+    for (int i = 0; i < activeConversations; i++) {
+      BenchPartner partner = new BenchPartner();
+      newConversation(partner).start();
+      partners[i] = partner.getUniqueIdentifier();
+    }
+    absent = UUID.randomUUID();
+    extra = newConversation(new BenchPartner());
+  }
+
+  private Conversation<String, BenchPartner> newConversation(BenchPartner partner) {
+    return Conversation.<String, BenchPartner>newBuilder()
+        .parentManager(manager)
+        .withConversationPartner(partner)
+        .withQuestionGraph(LOOP)
+        .whenDone(context -> {})
+        .build();
+  }
+
+  /** Per thread cursor over the partners, so that lookups don't always hit the same slot. */
+  @State(Scope.Thread)
+  public static class Cursor {
+
+    private int index;
+
+    int next(int bound) {
+      int next = index++;
+      if (index == bound) {
+        index = 0;
+      }
+      return next;
+    }
+  }
+
+  @Benchmark
+  public boolean hasActiveConversation(Cursor cursor) {
+    return manager.hasActiveConversation(partners[cursor.next(partners.length)]);
+  }
+
+  @Benchmark
+  public boolean hasActiveConversationMiss() {
+    return manager.hasActiveConversation(absent);
+  }
+
+  @Benchmark
+  public boolean acceptInput(Cursor cursor) {
+    return manager.tryAcceptInput(partners[cursor.next(partners.length)], "answer");
+  }
+
+  @Benchmark
+  public boolean acceptInputMiss() {
+    return manager.tryAcceptInput(absent, "answer");
+  }
+
+  @Benchmark
+  public void registerAndUnregisterConversation() {
+    manager.registerConversation(extra);
+    manager.unregisterConversation(extra.getConversationPartner().getUniqueIdentifier());
+  }
+}
@@ -0,0 +1,97 @@
+package com.mrivanplays.conversations.benchmarks;
+
+import com.mrivanplays.conversations.base.Conversation;
+import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.question.InputValidator;
+import com.mrivanplays.conversations.base.question.InputValidator.ValidationResult;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.question.QuestionGraph;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks {@link InputValidator} throughput, both called directly and through a conversation,
+ * which re-asks the question if the input is invalid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputValidatorBenchmark {
+
+  private static final ValidationResult<String> NOT_A_NUMBER =
+      ValidationResult.fail("Not a number", true);
+
+  private static final InputValidator<String> NUMERIC =
+      input -> {
+        for (int i = 0; i < input.length(); i++) {
+          if (!Character.isDigit(input.charAt(i))) {
+            return NOT_A_NUMBER;
+          }
+        }
+        return ValidationResult.success();
+      };
+
+  private static final InputValidator<String> FAILING =
+      input -> ValidationResult.fail("Invalid input: " + input, true);
+
+  private Conversation<String, BenchPartner> conversation;
+
+  @Setup
+  public void setup() {
+    QuestionGraph<String, BenchPartner> graph =
+        QuestionGraph.<String, BenchPartner>newBuilder()
+            .withQuestion(
+                Question.<String, BenchPartner>newBuilder()
+                    .withIdentifier("age")
+                    .withMessage("Age?")
+                    .withInputValidator(NUMERIC)
+                    .build())
+            .withDefaultTransition("age", "age")
+            .build();
+    conversation =
+        Conversation.<String, BenchPartner>newBuilder()
+            .parentManager(new ConversationManager<>())
+            .withConversationPartner(new BenchPartner())
+            .withQuestionGraph(graph)
+            .whenDone(context -> {})
+            .build();
+    conversation.start();
+  }
+
+  @Benchmark
+  public ValidationResult<String> validateSuccess() {
+    return NUMERIC.validate("20");
+  }
+
+  @Benchmark
+  public ValidationResult<String> validateSharedFailure() {
+    return NUMERIC.validate("twenty");
+  }
+
+  @Benchmark
+  public ValidationResult<String> validateAllocatedFailure() {
+    return FAILING.validate("twenty");
+  }
+
+  @Benchmark
+  public void acceptValidInput() {
+    conversation.acceptInput("20");
+  }
+
+  @Benchmark
+  public void acceptInvalidInput() {
+    conversation.acceptInput("twenty");
+  }
+}
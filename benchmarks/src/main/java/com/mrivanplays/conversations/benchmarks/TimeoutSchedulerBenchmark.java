@@ -0,0 +1,74 @@
+package com.mrivanplays.conversations.benchmarks;
+
+import com.mrivanplays.conversations.base.timeout.ExecutorServiceTimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.HashedWheelTimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import com.mrivanplays.conversations.base.timeout.TimeoutTask;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the schedule and cancel throughput of the {@link TimeoutScheduler} implementations
+ * which don't need a running server. The bungee scheduler is a {@link HashedWheelTimeoutScheduler}.
+ * The timeouts are far into the future, so that none of them fire during the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeoutSchedulerBenchmark {
+
+  private static final Runnable NOOP = () -> {};
+
+  @Param({"executor", "wheel"})
+  public String scheduler;
+
+  private TimeoutScheduler timeoutScheduler;
+
+  @Setup
+  public void setup() {
+    switch (scheduler) {
+      case "executor":
+        timeoutScheduler = new ExecutorServiceTimeoutScheduler();
+        break;
+      case "wheel":
+        timeoutScheduler = new HashedWheelTimeoutScheduler();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown scheduler " + scheduler);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    timeoutScheduler.shutdown();
+  }
+
+  @Benchmark
+  public TimeoutTask scheduleAndCancel() {
+    TimeoutTask task = timeoutScheduler.schedule(NOOP, 10, TimeUnit.MINUTES);
+    task.cancel();
+    return task;
+  }
+
+  @Benchmark
+  public TimeoutTask scheduleRescheduleAndCancel() {
+    TimeoutTask task = timeoutScheduler.schedule(NOOP, 10, TimeUnit.MINUTES);
+    task.reschedule(10, TimeUnit.MINUTES);
+    task.cancel();
+    return task;
+  }
+}
@@ -3,14 +3,19 @@ package com.mrivanplays.conversations.bungee;
 import com.mrivanplays.conversations.base.Conversation;
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.TemplateFormat;
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
-import java.util.HashMap;
-import java.util.Map;
+import com.mrivanplays.conversations.base.util.UuidMap;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.scheduler.ScheduledTask;
 
 /**
  * Represents a conversation manager for the bungeecord proxy.
@@ -20,11 +25,19 @@ import net.md_5.bungee.api.plugin.Plugin;
 public class BungeeConversationManager
     extends ConversationManager<BaseComponent[], BungeeConversationPartner> {
 
-  private final Map<UUID, BungeeConversationPartner> partners = new HashMap<>();
+  // legacy color codes
+  private static final TemplateFormat<BaseComponent[]> FORMAT =
+      TemplateFormat.ofArrays(TextComponent::fromLegacyText, BaseComponent[]::new);
+
+  private final UuidMap<BungeeConversationPartner> partners = new UuidMap<>();
   private final TimeoutScheduler timeoutScheduler;
+  private final Plugin plugin;
+  private final OutboundCoalescer<BaseComponent[]> outbound = new OutboundCoalescer<>(FORMAT);
+  private ScheduledTask flushTask;
 
   public BungeeConversationManager(Plugin plugin) {
     Objects.requireNonNull(plugin, "plugin");
+    this.plugin = plugin;
     plugin.getProxy().getPluginManager().registerListener(plugin, new BungeeConvoListener(this));
     timeoutScheduler = new BungeeTimeoutScheduler(plugin);
   }
@@ -33,6 +46,32 @@ public class BungeeConversationManager
     partners.remove(uuid);
   }
 
+  /**
+   * Specify whether the messages sent to each conversation partner of this manager within a tick
+   * (50 milliseconds, as the proxy has no ticks of its own) shall be joined into a single message,
+   * one per line, and sent at the end of the tick, so that they go out as a single packet. Disabled
+   * by default.
+   *
+   * @param enabled whether to coalesce outbound messages
+   */
+  public synchronized void setOutboundCoalescing(boolean enabled) {
+    if (enabled && flushTask == null) {
+      flushTask =
+          plugin
+              .getProxy()
+              .getScheduler()
+              .schedule(plugin, outbound::flush, 50, 50, TimeUnit.MILLISECONDS);
+    } else if (!enabled && flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    outbound.setEnabled(enabled);
+  }
+
+  OutboundCoalescer<BaseComponent[]> getOutboundCoalescer() {
+    return outbound;
+  }
+
   /**
    * Returns the {@link TimeoutScheduler} for this conversation manager.
    *
@@ -42,6 +81,17 @@ public class BungeeConversationManager
     return timeoutScheduler;
   }
 
+  /**
+   * Returns a new {@link MessageTemplate.Builder}, which compiles templates into {@link
+   * BaseComponent} arrays, parsing the text of templates with legacy color codes.
+   *
+   * @return message template builder
+   */
+  public MessageTemplate.Builder<BaseComponent[], BungeeConversationPartner>
+      newMessageTemplateBuilder() {
+    return MessageTemplate.newBuilder(FORMAT);
+  }
+
   /**
    * Returns a new {@link Conversation.Builder} populated with the specified {@link ProxiedPlayer}
    * {@code player} as a conversation partner, with this manager as a parent manager and with this
@@ -58,7 +108,7 @@ public class BungeeConversationManager
         .withTimeoutScheduler(timeoutScheduler)
         .withConversationPartner(
             partners.computeIfAbsent(
-                player.getUniqueId(), $ -> new BungeeConversationPartner(player)));
+                player.getUniqueId(), $ -> new BungeeConversationPartner(player, this)));
   }
 
   @Override
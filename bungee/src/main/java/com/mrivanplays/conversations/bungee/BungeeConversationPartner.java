@@ -1,6 +1,8 @@
 package com.mrivanplays.conversations.bungee;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import java.util.List;
 import java.util.UUID;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
@@ -13,9 +15,13 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 public class BungeeConversationPartner implements ConversationPartner<BaseComponent[]> {
 
   private final ProxiedPlayer player;
+  private final BungeeConversationManager manager;
+  private final OutboundCoalescer.Buffer<BaseComponent[]> outbound;
 
-  BungeeConversationPartner(ProxiedPlayer player) {
+  BungeeConversationPartner(ProxiedPlayer player, BungeeConversationManager manager) {
     this.player = player;
+    this.manager = manager;
+    this.outbound = new OutboundCoalescer.Buffer<>(player::sendMessage);
   }
 
   /**
@@ -31,7 +37,15 @@ public class BungeeConversationPartner implements ConversationPartner<BaseCompon
    */
   @Override
   public void sendMessage(BaseComponent... message) {
-    player.sendMessage(message);
+    manager.getOutboundCoalescer().send(outbound, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendMessages(List<BaseComponent[]> messages) {
+    manager.getOutboundCoalescer().sendAll(outbound, messages);
   }
 
   /**
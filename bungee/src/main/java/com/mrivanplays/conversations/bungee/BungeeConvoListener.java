@@ -1,6 +1,5 @@
 package com.mrivanplays.conversations.bungee;
 
-import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.event.ChatEvent;
@@ -24,18 +23,16 @@ class BungeeConvoListener implements Listener {
     }
 
     ProxiedPlayer player = (ProxiedPlayer) event.getSender();
-    if (!convoManager.hasActiveConversation(player.getUniqueId())) {
-      return;
+    // the components are only built if the conversation asks for them
+    if (convoManager.tryAcceptInput(
+        player.getUniqueId(), event.getMessage(), TextComponent::fromLegacyText)) {
+      event.setCancelled(true);
     }
-    event.setCancelled(true);
-    convoManager.acceptInput(
-        player.getUniqueId(), TextComponent.fromLegacyText(event.getMessage()));
   }
 
   @EventHandler(priority = EventPriority.LOWEST)
   public void onDisconnect(PlayerDisconnectEvent event) {
     convoManager.removePartner(event.getPlayer().getUniqueId());
-    convoManager.unregisterConversation(
-        event.getPlayer().getUniqueId(), EndState.PARTNER_DISCONNECT);
+    convoManager.partnerDisconnected(event.getPlayer().getUniqueId());
   }
 }
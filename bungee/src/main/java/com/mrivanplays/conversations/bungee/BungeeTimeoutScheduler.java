@@ -1,50 +1,21 @@
 package com.mrivanplays.conversations.bungee;
 
-import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
-import com.mrivanplays.conversations.base.timeout.TimeoutTask;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import com.mrivanplays.conversations.base.timeout.HashedWheelTimeoutScheduler;
 import java.util.concurrent.TimeUnit;
 import net.md_5.bungee.api.plugin.Plugin;
 
-class BungeeTimeoutScheduler implements TimeoutScheduler {
-
-  private final ExecutorService service;
+/**
+ * Bungee's own delayed tasks sleep on a pooled thread until their delay passes, so instead the
+ * timeouts are kept on a timing wheel with a single driver thread, and only handed to the plugin's
+ * executor once they fire.
+ */
+class BungeeTimeoutScheduler extends HashedWheelTimeoutScheduler {
 
   BungeeTimeoutScheduler(Plugin plugin) {
-    this.service = plugin.getProxy().getScheduler().unsafe().getExecutorService(plugin);
-  }
-
-  @Override
-  public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
-    return new BungeeTimeoutTask(
-        service.submit(
-            () -> {
-              try {
-                Thread.sleep(timeUnit.toMillis(time));
-              } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-              }
-              task.run();
-            }));
-  }
-
-  static class BungeeTimeoutTask implements TimeoutTask {
-
-    private final Future<?> task;
-
-    public BungeeTimeoutTask(Future<?> task) {
-      this.task = task;
-    }
-
-    @Override
-    public boolean hasCalled() {
-      return task.isDone();
-    }
-
-    @Override
-    public void cancel() {
-      task.cancel(true);
-    }
+    super(
+        50,
+        TimeUnit.MILLISECONDS,
+        512,
+        plugin.getProxy().getScheduler().unsafe().getExecutorService(plugin));
   }
 }
@@ -3,15 +3,22 @@ package com.mrivanplays.conversations.paper;
 import com.mrivanplays.conversations.base.Conversation;
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.RenderCache;
+import com.mrivanplays.conversations.base.render.TemplateFormat;
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
+import com.mrivanplays.conversations.base.util.UuidMap;
 import com.mrivanplays.conversations.spigot.BukkitTimeoutScheduler;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 /**
  * Represents a conversation manager for the paper minecraft server software.
@@ -21,11 +28,22 @@ import org.bukkit.plugin.Plugin;
 public class PaperConversationManager
     extends ConversationManager<Component, PaperConversationPartner> {
 
-  private final Map<UUID, PaperConversationPartner> partners = new HashMap<>();
+  // legacy color codes, prefixed with &
+  private static final TemplateFormat<Component> FORMAT =
+      TemplateFormat.of(
+          LegacyComponentSerializer.legacyAmpersand()::deserialize,
+          parts -> Component.text().append(parts).build());
+
+  private final UuidMap<PaperConversationPartner> partners = new UuidMap<>();
   private final TimeoutScheduler timeoutScheduler;
+  private final Plugin plugin;
+  private final OutboundCoalescer<Component> outbound = new OutboundCoalescer<>(FORMAT);
+  private BukkitTask flushTask;
+  private volatile RenderCache<Component, Locale> renderCache;
 
   public PaperConversationManager(Plugin plugin) {
     Objects.requireNonNull(plugin, "plugin");
+    this.plugin = plugin;
     plugin.getServer().getPluginManager().registerEvents(new PaperConvoListener(this), plugin);
     timeoutScheduler = new BukkitTimeoutScheduler(plugin);
   }
@@ -34,6 +52,51 @@ public class PaperConversationManager
     partners.remove(uuid);
   }
 
+  /**
+   * Specify whether the partners of this manager shall cache question messages, rendered through
+   * the {@link GlobalTranslator} for the locale of the partner. With caching enabled, a question
+   * asked to any amount of players is rendered once per locale, rather than once per player. Only
+   * enable this if the messages of questions don't depend on anything but the locale. Disabled by
+   * default.
+   *
+   * @param enabled whether to cache rendered question messages
+   */
+  public void setRenderCaching(boolean enabled) {
+    this.renderCache = enabled ? new RenderCache<>(GlobalTranslator::render) : null;
+  }
+
+  /**
+   * Returns the {@link RenderCache} of this manager, which shall be {@link RenderCache#clear()
+   * cleared} when translations change. Null if render caching is disabled.
+   *
+   * @return render cache or null
+   * @see #setRenderCaching(boolean)
+   */
+  public RenderCache<Component, Locale> getRenderCache() {
+    return renderCache;
+  }
+
+  /**
+   * Specify whether the messages sent to each conversation partner of this manager within a tick
+   * shall be joined into a single message, one per line, and sent at the end of the tick, so that
+   * they go out as a single packet. Disabled by default.
+   *
+   * @param enabled whether to coalesce outbound messages
+   */
+  public synchronized void setOutboundCoalescing(boolean enabled) {
+    if (enabled && flushTask == null) {
+      flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, outbound::flush, 1, 1);
+    } else if (!enabled && flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    outbound.setEnabled(enabled);
+  }
+
+  OutboundCoalescer<Component> getOutboundCoalescer() {
+    return outbound;
+  }
+
   /**
    * Returns the {@link TimeoutScheduler} for this conversation manager.
    *
@@ -43,6 +106,16 @@ public class PaperConversationManager
     return timeoutScheduler;
   }
 
+  /**
+   * Returns a new {@link MessageTemplate.Builder}, which compiles templates into {@link Component
+   * components}, parsing the text of templates with legacy color codes, prefixed with {@code &}.
+   *
+   * @return message template builder
+   */
+  public MessageTemplate.Builder<Component, PaperConversationPartner> newMessageTemplateBuilder() {
+    return MessageTemplate.newBuilder(FORMAT);
+  }
+
   /**
    * Returns a new {@link Conversation.Builder} populated with the specified {@link Player} {@code
    * player} as a conversation partner, with this manager as a parent manager and with this
@@ -59,7 +132,7 @@ public class PaperConversationManager
         .withTimeoutScheduler(timeoutScheduler)
         .withConversationPartner(
             partners.computeIfAbsent(
-                player.getUniqueId(), $ -> new PaperConversationPartner(player)));
+                player.getUniqueId(), $ -> new PaperConversationPartner(player, this)));
   }
 
   @Override
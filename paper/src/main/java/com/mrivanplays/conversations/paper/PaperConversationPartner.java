@@ -1,6 +1,11 @@
 package com.mrivanplays.conversations.paper;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.RenderCache;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
@@ -13,9 +18,13 @@ import org.bukkit.entity.Player;
 public class PaperConversationPartner implements ConversationPartner<Component> {
 
   private final Player player;
+  private final PaperConversationManager manager;
+  private final OutboundCoalescer.Buffer<Component> outbound;
 
-  PaperConversationPartner(Player player) {
+  PaperConversationPartner(Player player, PaperConversationManager manager) {
     this.player = player;
+    this.manager = manager;
+    this.outbound = new OutboundCoalescer.Buffer<>(player::sendMessage);
   }
 
   /**
@@ -31,7 +40,27 @@ public class PaperConversationPartner implements ConversationPartner<Component>
    */
   @Override
   public void sendMessage(Component message) {
-    player.sendMessage(message);
+    manager.getOutboundCoalescer().send(outbound, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendMessages(List<Component> messages) {
+    manager.getOutboundCoalescer().sendAll(outbound, messages);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Component renderQuestion(Question<Component, ?> question) {
+    RenderCache<Component, Locale> renderCache = manager.getRenderCache();
+    if (renderCache == null) {
+      return question.getMessage();
+    }
+    return renderCache.render(question, player.locale());
   }
 
   /**
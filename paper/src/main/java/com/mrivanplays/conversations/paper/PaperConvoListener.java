@@ -19,11 +19,9 @@ class PaperConvoListener implements Listener {
   @EventHandler(priority = EventPriority.LOWEST)
   public void onChat(AsyncChatEvent event) {
     Player player = event.getPlayer();
-    if (!convoManager.hasActiveConversation(player.getUniqueId())) {
-      return;
+    if (convoManager.tryAcceptInput(player.getUniqueId(), event.message())) {
+      event.setCancelled(true);
     }
-    event.setCancelled(true);
-    convoManager.acceptInput(player.getUniqueId(), event.message());
   }
 
   @EventHandler(priority = EventPriority.LOWEST)
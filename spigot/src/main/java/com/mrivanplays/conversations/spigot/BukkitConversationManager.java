@@ -3,13 +3,16 @@ package com.mrivanplays.conversations.spigot;
 import com.mrivanplays.conversations.base.Conversation;
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.TemplateFormat;
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
-import java.util.HashMap;
-import java.util.Map;
+import com.mrivanplays.conversations.base.util.UuidMap;
 import java.util.Objects;
 import java.util.UUID;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 /**
  * Represents a conversation manager for the bukkit server software.
@@ -19,11 +22,16 @@ import org.bukkit.plugin.Plugin;
 public class BukkitConversationManager
     extends ConversationManager<String, BukkitConversationPartner> {
 
-  private final Map<UUID, BukkitConversationPartner> partners = new HashMap<>();
+  private final UuidMap<BukkitConversationPartner> partners = new UuidMap<>();
   private final TimeoutScheduler timeoutScheduler;
+  private final Plugin plugin;
+  private final OutboundCoalescer<String> outbound =
+      new OutboundCoalescer<>(TemplateFormat.plain());
+  private BukkitTask flushTask;
 
   public BukkitConversationManager(Plugin plugin) {
     Objects.requireNonNull(plugin, "plugin");
+    this.plugin = plugin;
     plugin.getServer().getPluginManager().registerEvents(new BukkitConvoListener(this), plugin);
     timeoutScheduler = new BukkitTimeoutScheduler(plugin);
   }
@@ -32,6 +40,27 @@ public class BukkitConversationManager
     partners.remove(uuid);
   }
 
+  /**
+   * Specify whether the messages sent to each conversation partner of this manager within a tick
+   * shall be joined into a single message, one per line, and sent at the end of the tick. Note that
+   * some server versions split plain messages into a packet per line anyway. Disabled by default.
+   *
+   * @param enabled whether to coalesce outbound messages
+   */
+  public synchronized void setOutboundCoalescing(boolean enabled) {
+    if (enabled && flushTask == null) {
+      flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, outbound::flush, 1, 1);
+    } else if (!enabled && flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    outbound.setEnabled(enabled);
+  }
+
+  OutboundCoalescer<String> getOutboundCoalescer() {
+    return outbound;
+  }
+
   /**
    * Returns the {@link TimeoutScheduler} for this conversation manager.
    *
@@ -41,6 +70,15 @@ public class BukkitConversationManager
     return timeoutScheduler;
   }
 
+  /**
+   * Returns a new {@link MessageTemplate.Builder}, which compiles templates into plain strings.
+   *
+   * @return message template builder
+   */
+  public MessageTemplate.Builder<String, BukkitConversationPartner> newMessageTemplateBuilder() {
+    return MessageTemplate.newBuilder(TemplateFormat.plain());
+  }
+
   /**
    * Returns a new {@link Conversation.Builder} populated with the specified {@link Player} {@code
    * player} as a conversation partner, with this manager as a parent manager and with this
@@ -57,7 +95,7 @@ public class BukkitConversationManager
         .withTimeoutScheduler(timeoutScheduler)
         .withConversationPartner(
             partners.computeIfAbsent(
-                player.getUniqueId(), $ -> new BukkitConversationPartner(player)));
+                player.getUniqueId(), $ -> new BukkitConversationPartner(player, this)));
   }
 
   @Override
@@ -1,6 +1,8 @@
 package com.mrivanplays.conversations.spigot;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import java.util.List;
 import java.util.UUID;
 import org.bukkit.entity.Player;
 
@@ -12,9 +14,13 @@ import org.bukkit.entity.Player;
 public class BukkitConversationPartner implements ConversationPartner<String> {
 
   private final Player player;
+  private final BukkitConversationManager manager;
+  private final OutboundCoalescer.Buffer<String> outbound;
 
-  BukkitConversationPartner(Player player) {
+  BukkitConversationPartner(Player player, BukkitConversationManager manager) {
     this.player = player;
+    this.manager = manager;
+    this.outbound = new OutboundCoalescer.Buffer<>(player::sendMessage);
   }
 
   /**
@@ -30,7 +36,15 @@ public class BukkitConversationPartner implements ConversationPartner<String> {
    */
   @Override
   public void sendMessage(String message) {
-    player.sendMessage(message);
+    manager.getOutboundCoalescer().send(outbound, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendMessages(List<String> messages) {
+    manager.getOutboundCoalescer().sendAll(outbound, messages);
   }
 
   /**
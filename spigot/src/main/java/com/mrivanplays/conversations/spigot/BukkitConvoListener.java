@@ -19,11 +19,9 @@ class BukkitConvoListener implements Listener {
   @EventHandler(priority = EventPriority.LOWEST)
   public void onChat(AsyncPlayerChatEvent event) {
     Player player = event.getPlayer();
-    if (!convoManager.hasActiveConversation(player.getUniqueId())) {
-      return;
+    if (convoManager.tryAcceptInput(player.getUniqueId(), event.getMessage())) {
+      event.setCancelled(true);
     }
-    event.setCancelled(true);
-    convoManager.acceptInput(player.getUniqueId(), event.getMessage());
   }
 
   @EventHandler(priority = EventPriority.LOWEST)
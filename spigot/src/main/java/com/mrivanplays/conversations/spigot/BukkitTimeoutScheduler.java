@@ -2,20 +2,71 @@ package com.mrivanplays.conversations.spigot;
 
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
 import com.mrivanplays.conversations.base.timeout.TimeoutTask;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
-import org.bukkit.Bukkit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.scheduler.BukkitTask;
 
 /**
- * {@inheritDoc}
+ * Represents a {@link TimeoutScheduler} for the bukkit server software.
+ *
+ * <p>Rather than scheduling a {@link BukkitTask} per timeout, a single repeating task sweeps the
+ * due timeouts once per tick. Timeouts are rounded up to the next whole tick (50 milliseconds).
+ * Rescheduling a timeout to a later deadline leaves it where it is in the queue, and it is moved
+ * once its old deadline is reached. Rescheduling to an earlier deadline queues it again, and its
+ * old place in the queue is skipped once reached.
  */
 public class BukkitTimeoutScheduler implements TimeoutScheduler {
 
-  private final Plugin plugin;
+  private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
 
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_CALLED = 2;
+  private static final int STATE_RESCHEDULING = 3;
+
+  private final Queue<BukkitTimeoutTask> scheduledTasks = new ConcurrentLinkedQueue<>();
+  private final PriorityQueue<QueuedDeadline> deadlines =
+      new PriorityQueue<>(Comparator.comparingLong(deadline -> deadline.tick));
+  private final AtomicLong pendingTasks = new AtomicLong();
+  private final AtomicInteger cancelledSinceLastSweep = new AtomicInteger();
+  private final AtomicBoolean sweeping = new AtomicBoolean(false);
+  private final BukkitTask sweeper;
+
+  private volatile long currentTick;
+  // cancelled timeouts and stale deadlines still in the queue
+  private int deadInQueue;
+
+  /**
+   * Creates a new timeout scheduler, running the timeouts on the main server thread.
+   *
+   * @param plugin plugin to register the sweeper task with
+   */
   public BukkitTimeoutScheduler(Plugin plugin) {
-    this.plugin = plugin;
+    this(plugin, false);
+  }
+
+  /**
+   * Creates a new timeout scheduler.
+   *
+   * @param plugin plugin to register the sweeper task with
+   * @param async whether to run the timeouts asynchronously, off the main server thread
+   */
+  public BukkitTimeoutScheduler(Plugin plugin, boolean async) {
+    Objects.requireNonNull(plugin, "plugin");
+    if (async) {
+      this.sweeper =
+          plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::sweep, 1, 1);
+    } else {
+      this.sweeper = plugin.getServer().getScheduler().runTaskTimer(plugin, this::sweep, 1, 1);
+    }
   }
 
   /**
@@ -23,30 +74,166 @@ public class BukkitTimeoutScheduler implements TimeoutScheduler {
    */
   @Override
   public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
-    return new BukkitTimeoutTask(
-        plugin
-            .getServer()
-            .getScheduler()
-            .runTaskLater(plugin, task, timeUnit.toSeconds(time) * 20));
+    Objects.requireNonNull(task, "task");
+    Objects.requireNonNull(timeUnit, "timeUnit");
+    BukkitTimeoutTask timeoutTask =
+        new BukkitTimeoutTask(task, currentTick + toTicks(time, timeUnit));
+    pendingTasks.incrementAndGet();
+    scheduledTasks.offer(timeoutTask);
+    return timeoutTask;
+  }
+
+  private static long toTicks(long time, TimeUnit timeUnit) {
+    long nanos = timeUnit.toNanos(time);
+    return Math.max(1, (nanos + NANOS_PER_TICK - 1) / NANOS_PER_TICK);
+  }
+
+  /**
+   * Returns the amount of timeouts which are neither called nor cancelled yet.
+   *
+   * @return pending timeout count
+   */
+  public long getPendingTimeouts() {
+    return pendingTasks.get();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void shutdown() {
+    sweeper.cancel();
+  }
+
+  private void sweep() {
+    // async repeating tasks may overlap if a sweep takes longer than a tick
+    if (!sweeping.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long tick = ++currentTick;
+      BukkitTimeoutTask task;
+      while ((task = scheduledTasks.poll()) != null) {
+        if (task.state.get() != STATE_PENDING) {
+          continue;
+        }
+        long deadlineTick = task.deadlineTick;
+        if (task.queued) {
+          if (deadlineTick >= task.deadline.tick) {
+            // rescheduled to a later deadline, requeued when the earlier one is reached
+            continue;
+          }
+          // rescheduled to an earlier deadline. rather than looking the queued deadline up, it is
+          // left to go stale and skipped once reached
+          task.deadline = new QueuedDeadline(task);
+          deadInQueue++;
+        }
+        enqueue(task, deadlineTick);
+      }
+      QueuedDeadline deadline;
+      while ((deadline = deadlines.peek()) != null && deadline.tick <= tick) {
+        deadlines.poll();
+        task = deadline.task;
+        if (task.deadline != deadline) {
+          if (deadInQueue > 0) {
+            deadInQueue--;
+          }
+          continue;
+        }
+        task.queued = false;
+        long deadlineTick = task.deadlineTick;
+        if (deadlineTick > tick && task.state.get() != STATE_CANCELLED) {
+          enqueue(task, deadlineTick);
+          continue;
+        }
+        if (task.state.compareAndSet(STATE_PENDING, STATE_CALLED)) {
+          pendingTasks.decrementAndGet();
+          try {
+            task.task.run();
+          } catch (Throwable t) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, t);
+          }
+        } else if (deadInQueue > 0) {
+          deadInQueue--;
+        }
+      }
+      purgeCancelled();
+    } finally {
+      sweeping.set(false);
+    }
+  }
+
+  private void enqueue(BukkitTimeoutTask task, long deadlineTick) {
+    // the deadline is never in the queue at this point, hence it can be reused
+    task.deadline.tick = deadlineTick;
+    task.queued = true;
+    deadlines.offer(task.deadline);
+  }
+
+  private void purgeCancelled() {
+    deadInQueue += cancelledSinceLastSweep.getAndSet(0);
+    // cancelled timeouts and stale deadlines stay in the queue until reached, unless they pile up.
+    // the count is an estimate, as it also includes timeouts cancelled before they made it into
+    // the queue
+    if (deadInQueue > 64 && deadInQueue > deadlines.size() / 2) {
+      deadlines.removeIf(
+          deadline ->
+              deadline.task.deadline != deadline
+                  || deadline.task.state.get() == STATE_CANCELLED);
+      deadInQueue = 0;
+    }
+  }
+
+  // a place in the deadline queue. its tick doesn't change whilst queued, as that would break the
+  // ordering of the queue
+  private static final class QueuedDeadline {
+
+    private final BukkitTimeoutTask task;
+    private long tick;
+
+    QueuedDeadline(BukkitTimeoutTask task) {
+      this.task = task;
+    }
   }
 
-  private static class BukkitTimeoutTask implements TimeoutTask {
+  private final class BukkitTimeoutTask implements TimeoutTask {
+
+    private final Runnable task;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+    private volatile long deadlineTick;
 
-    private final BukkitTask bukkitTask;
+    // only accessed by the sweeper
+    private QueuedDeadline deadline = new QueuedDeadline(this);
+    private boolean queued;
 
-    public BukkitTimeoutTask(BukkitTask bukkitTask) {
-      this.bukkitTask = bukkitTask;
+    BukkitTimeoutTask(Runnable task, long deadlineTick) {
+      this.task = task;
+      this.deadlineTick = deadlineTick;
     }
 
     @Override
     public boolean hasCalled() {
-      return !Bukkit.getScheduler().isCurrentlyRunning(bukkitTask.getTaskId())
-          && !Bukkit.getScheduler().isQueued(bukkitTask.getTaskId());
+      return state.get() == STATE_CALLED;
     }
 
     @Override
     public void cancel() {
-      bukkitTask.cancel();
+      if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        pendingTasks.decrementAndGet();
+        cancelledSinceLastSweep.incrementAndGet();
+      }
+    }
+
+    @Override
+    public boolean reschedule(long time, TimeUnit timeUnit) {
+      if (!state.compareAndSet(STATE_PENDING, STATE_RESCHEDULING)) {
+        return false;
+      }
+      deadlineTick = currentTick + toTicks(time, timeUnit);
+      state.set(STATE_PENDING);
+      scheduledTasks.offer(this);
+      return true;
     }
   }
 }
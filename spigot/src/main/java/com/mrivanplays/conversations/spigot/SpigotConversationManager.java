@@ -3,14 +3,18 @@ package com.mrivanplays.conversations.spigot;
 import com.mrivanplays.conversations.base.Conversation;
 import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import com.mrivanplays.conversations.base.ConversationManager;
+import com.mrivanplays.conversations.base.render.MessageTemplate;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.TemplateFormat;
 import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
-import java.util.HashMap;
-import java.util.Map;
+import com.mrivanplays.conversations.base.util.UuidMap;
 import java.util.Objects;
 import java.util.UUID;
 import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 /**
  * Represents a conversation manager for the spigot server software.
@@ -20,11 +24,19 @@ import org.bukkit.plugin.Plugin;
 public class SpigotConversationManager
     extends ConversationManager<BaseComponent[], SpigotConversationPartner> {
 
-  private final Map<UUID, SpigotConversationPartner> partners = new HashMap<>();
+  // legacy color codes
+  private static final TemplateFormat<BaseComponent[]> FORMAT =
+      TemplateFormat.ofArrays(TextComponent::fromLegacyText, BaseComponent[]::new);
+
+  private final UuidMap<SpigotConversationPartner> partners = new UuidMap<>();
   private final TimeoutScheduler timeoutScheduler;
+  private final Plugin plugin;
+  private final OutboundCoalescer<BaseComponent[]> outbound = new OutboundCoalescer<>(FORMAT);
+  private BukkitTask flushTask;
 
   public SpigotConversationManager(Plugin plugin) {
     Objects.requireNonNull(plugin, "plugin");
+    this.plugin = plugin;
     plugin.getServer().getPluginManager().registerEvents(new SpigotConvoListener(this), plugin);
     timeoutScheduler = new BukkitTimeoutScheduler(plugin);
   }
@@ -33,6 +45,27 @@ public class SpigotConversationManager
     partners.remove(uuid);
   }
 
+  /**
+   * Specify whether the messages sent to each conversation partner of this manager within a tick
+   * shall be joined into a single message, one per line, and sent at the end of the tick, so that
+   * they go out as a single packet. Disabled by default.
+   *
+   * @param enabled whether to coalesce outbound messages
+   */
+  public synchronized void setOutboundCoalescing(boolean enabled) {
+    if (enabled && flushTask == null) {
+      flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, outbound::flush, 1, 1);
+    } else if (!enabled && flushTask != null) {
+      flushTask.cancel();
+      flushTask = null;
+    }
+    outbound.setEnabled(enabled);
+  }
+
+  OutboundCoalescer<BaseComponent[]> getOutboundCoalescer() {
+    return outbound;
+  }
+
   /**
    * Returns the {@link TimeoutScheduler} for this conversation manager.
    *
@@ -42,6 +75,17 @@ public class SpigotConversationManager
     return timeoutScheduler;
   }
 
+  /**
+   * Returns a new {@link MessageTemplate.Builder}, which compiles templates into {@link
+   * BaseComponent} arrays, parsing the text of templates with legacy color codes.
+   *
+   * @return message template builder
+   */
+  public MessageTemplate.Builder<BaseComponent[], SpigotConversationPartner>
+      newMessageTemplateBuilder() {
+    return MessageTemplate.newBuilder(FORMAT);
+  }
+
   /**
    * Returns a new {@link Conversation.Builder} populated with the specified {@link Player} {@code
    * player} as a conversation partner, with this manager as a parent manager and with this
@@ -58,7 +102,7 @@ public class SpigotConversationManager
         .withTimeoutScheduler(timeoutScheduler)
         .withConversationPartner(
             partners.computeIfAbsent(
-                player.getUniqueId(), $ -> new SpigotConversationPartner(player)));
+                player.getUniqueId(), $ -> new SpigotConversationPartner(player, this)));
   }
 
   @Override
@@ -1,6 +1,8 @@
 package com.mrivanplays.conversations.spigot;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import java.util.List;
 import java.util.UUID;
 import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.entity.Player;
@@ -13,9 +15,13 @@ import org.bukkit.entity.Player;
 public class SpigotConversationPartner implements ConversationPartner<BaseComponent[]> {
 
   private final Player player;
+  private final SpigotConversationManager manager;
+  private final OutboundCoalescer.Buffer<BaseComponent[]> outbound;
 
-  SpigotConversationPartner(Player player) {
+  SpigotConversationPartner(Player player, SpigotConversationManager manager) {
     this.player = player;
+    this.manager = manager;
+    this.outbound = new OutboundCoalescer.Buffer<>(message -> player.spigot().sendMessage(message));
   }
 
   /**
@@ -31,7 +37,15 @@ public class SpigotConversationPartner implements ConversationPartner<BaseCompon
    */
   @Override
   public void sendMessage(BaseComponent... message) {
-    player.spigot().sendMessage(message);
+    manager.getOutboundCoalescer().send(outbound, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendMessages(List<BaseComponent[]> messages) {
+    manager.getOutboundCoalescer().sendAll(outbound, messages);
   }
 
   /**
@@ -20,12 +20,11 @@ class SpigotConvoListener implements Listener {
   @EventHandler(priority = EventPriority.LOWEST)
   public void onChat(AsyncPlayerChatEvent event) {
     Player player = event.getPlayer();
-    if (!convoManager.hasActiveConversation(player.getUniqueId())) {
-      return;
+    // the components are only built if the conversation asks for them
+    if (convoManager.tryAcceptInput(
+        player.getUniqueId(), event.getMessage(), TextComponent::fromLegacyText)) {
+      event.setCancelled(true);
     }
-    event.setCancelled(true);
-    convoManager.acceptInput(
-        player.getUniqueId(), TextComponent.fromLegacyText(event.getMessage()));
   }
 
   @EventHandler(priority = EventPriority.LOWEST)
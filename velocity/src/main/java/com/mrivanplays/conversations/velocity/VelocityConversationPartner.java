@@ -1,7 +1,12 @@
 package com.mrivanplays.conversations.velocity;
 
 import com.mrivanplays.conversations.base.ConversationPartner;
+import com.mrivanplays.conversations.base.question.Question;
+import com.mrivanplays.conversations.base.render.OutboundCoalescer;
+import com.mrivanplays.conversations.base.render.RenderCache;
 import com.velocitypowered.api.proxy.Player;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 import net.kyori.adventure.text.Component;
 
@@ -13,9 +18,13 @@ import net.kyori.adventure.text.Component;
 public class VelocityConversationPartner implements ConversationPartner<Component> {
 
   private final Player player;
+  private final VelocityConversationManager manager;
+  private final OutboundCoalescer.Buffer<Component> outbound;
 
-  VelocityConversationPartner(Player player) {
+  VelocityConversationPartner(Player player, VelocityConversationManager manager) {
     this.player = player;
+    this.manager = manager;
+    this.outbound = new OutboundCoalescer.Buffer<>(player::sendMessage);
   }
 
   /**
@@ -31,7 +40,29 @@ public class VelocityConversationPartner implements ConversationPartner<Componen
    */
   @Override
   public void sendMessage(Component message) {
-    player.sendMessage(message);
+    manager.getOutboundCoalescer().send(outbound, message);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendMessages(List<Component> messages) {
+    manager.getOutboundCoalescer().sendAll(outbound, messages);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Component renderQuestion(Question<Component, ?> question) {
+    RenderCache<Component, Locale> renderCache = manager.getRenderCache();
+    if (renderCache == null) {
+      return question.getMessage();
+    }
+    Locale locale = player.getEffectiveLocale();
+    // not known until the client sends its settings
+    return renderCache.render(question, locale != null ? locale : Locale.US);
   }
 
   /**
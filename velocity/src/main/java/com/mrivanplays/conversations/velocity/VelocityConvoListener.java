@@ -1,16 +1,20 @@
 package com.mrivanplays.conversations.velocity;
 
-import com.mrivanplays.conversations.base.ConversationContext.EndState;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.event.player.PlayerChatEvent.ChatResult;
 import com.velocitypowered.api.proxy.Player;
+import java.util.function.Function;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
 class VelocityConvoListener {
 
+  private static final Function<String, Component> PARSER =
+      LegacyComponentSerializer.legacyAmpersand()::deserialize;
+
   private final VelocityConversationManager convoManager;
 
   VelocityConvoListener(VelocityConversationManager convoManager) {
@@ -20,19 +24,15 @@ class VelocityConvoListener {
   @Subscribe(order = PostOrder.FIRST)
   public void onChat(PlayerChatEvent event) {
     Player player = event.getPlayer();
-    if (!convoManager.hasActiveConversation(player.getUniqueId())) {
-      return;
+    // the component is only built if the conversation asks for it
+    if (convoManager.tryAcceptInput(player.getUniqueId(), event.getMessage(), PARSER)) {
+      event.setResult(ChatResult.denied());
     }
-    event.setResult(ChatResult.denied());
-    convoManager.acceptInput(
-        player.getUniqueId(),
-        LegacyComponentSerializer.legacyAmpersand().deserialize(event.getMessage()));
   }
 
   @Subscribe(order = PostOrder.FIRST)
   public void onDisconnect(DisconnectEvent event) {
     convoManager.removePartner(event.getPlayer().getUniqueId());
-    convoManager.unregisterConversation(
-        event.getPlayer().getUniqueId(), EndState.PARTNER_DISCONNECT);
+    convoManager.partnerDisconnected(event.getPlayer().getUniqueId());
   }
 }
@@ -4,11 +4,17 @@ import com.mrivanplays.conversations.base.timeout.TimeoutScheduler;
 import com.mrivanplays.conversations.base.timeout.TimeoutTask;
 import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.scheduler.ScheduledTask;
-import com.velocitypowered.api.scheduler.TaskStatus;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class VelocityTimeoutScheduler implements TimeoutScheduler {
 
+  private static final int STATE_PENDING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_CALLED = 2;
+
+  private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
   private final ProxyServer proxy;
   private final Object plugin;
 
@@ -19,26 +25,93 @@ class VelocityTimeoutScheduler implements TimeoutScheduler {
 
   @Override
   public TimeoutTask schedule(Runnable task, long time, TimeUnit timeUnit) {
-    return new VelocityTimeoutTask(
-        proxy.getScheduler().buildTask(plugin, task).delay(time, timeUnit).schedule());
+    VelocityTimeoutTask timeoutTask = new VelocityTimeoutTask(task);
+    long delay = timeUnit.toNanos(time);
+    synchronized (timeoutTask) {
+      timeoutTask.deadline = System.nanoTime() + delay;
+      timeoutTask.arm(delay);
+    }
+    return timeoutTask;
   }
 
-  static class VelocityTimeoutTask implements TimeoutTask {
+  // velocity tasks cannot be delayed once scheduled, hence a single task is kept per timeout, armed
+  // for the earliest deadline it has had since it last fired. rescheduling to a later deadline only
+  // moves the deadline, and the task is armed again for the rest of the time once it fires
+  class VelocityTimeoutTask implements TimeoutTask {
 
-    private final ScheduledTask task;
+    private final Runnable runnable;
+    private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+    // guarded by this
+    private long deadline;
+    private long armedAt;
+    private ScheduledTask task;
+
+    VelocityTimeoutTask(Runnable runnable) {
+      this.runnable = runnable;
+    }
 
-    public VelocityTimeoutTask(ScheduledTask task) {
-      this.task = task;
+    private void arm(long delay) {
+      // rounded up, as the scheduler works in milliseconds and would otherwise fire too early
+      long delayMillis = (delay + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+      long armedAt = System.nanoTime() + delay;
+      this.armedAt = armedAt;
+      this.task =
+          proxy
+              .getScheduler()
+              .buildTask(plugin, () -> fire(armedAt))
+              .delay(delayMillis, TimeUnit.MILLISECONDS)
+              .schedule();
+    }
+
+    private void fire(long armedAt) {
+      synchronized (this) {
+        // a task which was replaced by an earlier one, but ran before it got cancelled
+        if (state.get() != STATE_PENDING || armedAt != this.armedAt) {
+          return;
+        }
+        long now = System.nanoTime();
+        if (now - deadline < 0) {
+          arm(deadline - now);
+          return;
+        }
+        // called whilst holding the lock, so that a reschedule can't slip in before the call
+        if (!state.compareAndSet(STATE_PENDING, STATE_CALLED)) {
+          return;
+        }
+      }
+      runnable.run();
     }
 
     @Override
     public boolean hasCalled() {
-      return task.status() == TaskStatus.FINISHED;
+      return state.get() == STATE_CALLED;
     }
 
     @Override
     public void cancel() {
-      task.cancel();
+      if (state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+        synchronized (this) {
+          task.cancel();
+        }
+      }
+    }
+
+    @Override
+    public boolean reschedule(long time, TimeUnit timeUnit) {
+      long delay = timeUnit.toNanos(time);
+      synchronized (this) {
+        if (state.get() != STATE_PENDING) {
+          return false;
+        }
+        deadline = System.nanoTime() + delay;
+        if (deadline - armedAt < 0) {
+          ScheduledTask previous = task;
+          arm(delay);
+          previous.cancel();
+        }
+      }
+      return true;
     }
   }
 }